@@ -0,0 +1,17 @@
+package com.exemple.patient_reactive_service;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+
+@SpringBootApplication
+@EnableDiscoveryClient
+@ConfigurationPropertiesScan
+public class PatientReactiveServiceApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(PatientReactiveServiceApplication.class, args);
+    }
+
+}
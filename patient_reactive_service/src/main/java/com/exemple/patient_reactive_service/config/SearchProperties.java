@@ -0,0 +1,22 @@
+package com.exemple.patient_reactive_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Paramètres de la recherche par nom ou prénom (préfixe {@code patient.search}), comme dans patient-service
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.search")
+public class SearchProperties {
+
+    /**
+     * Nombre de résultats renvoyés quand le client n'en précise pas
+     */
+    private int defaultLimit = 20;
+
+    /**
+     * Nombre maximal de résultats renvoyés
+     */
+    private int maxLimit = 100;
+}
@@ -0,0 +1,18 @@
+package com.exemple.patient_reactive_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Lecture en flux des listes de patients (préfixe {@code patient.stream})
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.stream")
+public class StreamProperties {
+
+    /**
+     * Nombre de lignes lues par requête : la requête suivante n'est émise que lorsque le client
+     * a consommé les lignes de la précédente, et la connexion est rendue au pool entre deux requêtes
+     */
+    private int chunkSize = 500;
+}
@@ -0,0 +1,252 @@
+package com.exemple.patient_reactive_service.controller;
+
+import com.exemple.patient_reactive_service.dto.PatientDTO;
+import com.exemple.patient_reactive_service.service.PatientService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Variante réactive de l'API /patients de patient-service, avec les mêmes DTO.
+ * <p>
+ * Les listes sont renvoyées en flux : en tableau JSON, ou en NDJSON (un patient par ligne) quand le client
+ * accepte {@code application/x-ndjson}. Elles sont lues dans la base au rythme où le client les consomme.
+ */
+@RestController
+@RequestMapping("/patients")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Patient", description = "API réactive de gestion des patients")
+public class PatientController {
+
+    private final PatientService patientService;
+
+    /**
+     * Créer un nouveau patient
+     * @param patientDTO les données du patient
+     * @return le patient créé
+     */
+    @PostMapping
+    @Operation(summary = "Créer un nouveau patient", description = "Crée un nouveau patient avec les informations fournies")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Patient créé avec succès",
+                    content = @Content(schema = @Schema(implementation = PatientDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Données invalides ou numéro de sécurité sociale déjà existant")
+    })
+    public Mono<ResponseEntity<PatientDTO>> createPatient(
+            @Parameter(description = "Données du patient à créer", required = true)
+            @Valid @RequestBody PatientDTO patientDTO) {
+        log.info("REST request pour créer un nouveau patient");
+        return patientService.createPatient(patientDTO)
+                .map(created -> new ResponseEntity<>(created, HttpStatus.CREATED));
+    }
+
+    /**
+     * Obtenir un patient par son ID
+     * @param id l'identifiant du patient
+     * @return le patient trouvé
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtenir un patient par ID", description = "Récupère les informations d'un patient par son identifiant")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Patient trouvé",
+                    content = @Content(schema = @Schema(implementation = PatientDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Patient non trouvé")
+    })
+    public Mono<PatientDTO> getPatientById(
+            @Parameter(description = "ID du patient", required = true, example = "1")
+            @PathVariable Long id) {
+        log.info("REST request pour obtenir le patient avec l'ID: {}", id);
+        return patientService.getPatientById(id);
+    }
+
+    /**
+     * Obtenir les patients en flux, par ID croissant
+     * @param afterId l'ID après lequel reprendre
+     * @param limit le nombre maximal de patients
+     * @return le flux des patients
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Obtenir les patients (flux)",
+            description = "Renvoie les patients par ID croissant, lus dans la base au rythme de la consommation du client. "
+                    + "Transmettre l'ID du dernier patient reçu dans afterId pour reprendre un flux interrompu")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Flux des patients",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = PatientDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Nombre de patients invalide")
+    })
+    public Flux<PatientDTO> getAllPatients(
+            @Parameter(description = "ID après lequel reprendre", example = "0")
+            @RequestParam(required = false) Long afterId,
+            @Parameter(description = "Nombre maximal de patients (tous par défaut)", example = "1000")
+            @RequestParam(required = false) Long limit) {
+        log.info("REST request pour obtenir les patients en flux");
+        return patientService.streamPatients(afterId, limit);
+    }
+
+    /**
+     * Exporter toute la table des patients au format NDJSON
+     * @return le flux NDJSON, écrit au fil de la lecture de la base
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exporter tous les patients (NDJSON)",
+            description = "Exporte toute la table des patients en flux NDJSON (un patient par ligne), avec une mémoire constante côté serveur")
+    @ApiResponse(responseCode = "200", description = "Flux NDJSON des patients",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = PatientDTO.class)))
+    public Flux<PatientDTO> exportPatients() {
+        log.info("REST request pour exporter tous les patients");
+        return patientService.streamPatients(null, null);
+    }
+
+    /**
+     * Mettre à jour un patient
+     * @param id l'identifiant du patient
+     * @param patientDTO les nouvelles données du patient
+     * @return le patient mis à jour
+     */
+    @PutMapping("/{id}")
+    @Operation(summary = "Mettre à jour un patient", description = "Met à jour les informations d'un patient existant")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Patient mis à jour avec succès",
+                    content = @Content(schema = @Schema(implementation = PatientDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Données invalides ou numéro de sécurité sociale déjà existant"),
+            @ApiResponse(responseCode = "404", description = "Patient non trouvé")
+    })
+    public Mono<PatientDTO> updatePatient(
+            @Parameter(description = "ID du patient", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Nouvelles données du patient", required = true)
+            @Valid @RequestBody PatientDTO patientDTO) {
+        log.info("REST request pour mettre à jour le patient avec l'ID: {}", id);
+        return patientService.updatePatient(id, patientDTO);
+    }
+
+    /**
+     * Supprimer un patient
+     * @param id l'identifiant du patient
+     * @return réponse vide avec statut 204
+     */
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Supprimer un patient", description = "Supprime un patient de la base de données")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Patient supprimé avec succès"),
+            @ApiResponse(responseCode = "404", description = "Patient non trouvé")
+    })
+    public Mono<ResponseEntity<Void>> deletePatient(
+            @Parameter(description = "ID du patient", required = true, example = "1")
+            @PathVariable Long id) {
+        log.info("REST request pour supprimer le patient avec l'ID: {}", id);
+        return patientService.deletePatient(id)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().<Void>build()));
+    }
+
+    /**
+     * Rechercher un patient par numéro de sécurité sociale
+     * @param nss le numéro de sécurité sociale
+     * @return le patient trouvé
+     */
+    @GetMapping("/search/nss/{nss}")
+    @Operation(summary = "Rechercher par numéro de sécurité sociale", description = "Trouve un patient par son numéro de sécurité sociale")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Patient trouvé",
+                    content = @Content(schema = @Schema(implementation = PatientDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Patient non trouvé")
+    })
+    public Mono<PatientDTO> getPatientByNumeroSecuriteSociale(
+            @Parameter(description = "Numéro de sécurité sociale", required = true, example = "123456789012345")
+            @PathVariable String nss) {
+        log.info("REST request pour obtenir le patient avec le NSS: {}", nss);
+        return patientService.findByNumeroSecuriteSociale(nss);
+    }
+
+    /**
+     * Rechercher des patients par nom ou prénom
+     * @param query le terme de recherche
+     * @param limit le nombre maximal de résultats
+     * @return le flux des patients correspondants
+     */
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Rechercher par nom ou prénom",
+            description = "Recherche des patients dont le nom ou le prénom contient le terme (insensible à la casse), classés par similarité")
+    @ApiResponse(responseCode = "200", description = "Patients trouvés",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = PatientDTO.class))))
+    public Flux<PatientDTO> searchPatients(
+            @Parameter(description = "Terme de recherche", required = true, example = "Ahmed")
+            @RequestParam String query,
+            @Parameter(description = "Nombre maximal de résultats (borné par patient.search.max-limit)", example = "20")
+            @RequestParam(required = false) Integer limit) {
+        log.info("REST request pour rechercher des patients avec le terme: {}", query);
+        return patientService.searchPatientsByNameOrFirstname(query, limit);
+    }
+
+    /**
+     * Rechercher des patients nés entre deux dates
+     * @param debut la date de début
+     * @param fin la date de fin
+     * @return le flux des patients correspondants
+     */
+    @GetMapping(value = "/search/birthdate", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Rechercher par période de naissance", description = "Trouve les patients nés entre deux dates, par date de naissance")
+    @ApiResponse(responseCode = "200", description = "Patients trouvés",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = PatientDTO.class))))
+    public Flux<PatientDTO> searchPatientsByBirthDateRange(
+            @Parameter(description = "Date de début (format: YYYY-MM-DD)", required = true, example = "1980-01-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate debut,
+            @Parameter(description = "Date de fin (format: YYYY-MM-DD)", required = true, example = "1990-12-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fin) {
+        log.info("REST request pour rechercher des patients nés entre {} et {}", debut, fin);
+        return patientService.findPatientsByBirthDateRange(debut, fin);
+    }
+
+    /**
+     * Compter les patients nés entre deux dates
+     * @param debut la date de début
+     * @param fin la date de fin
+     * @return le nombre de patients
+     */
+    @GetMapping("/search/birthdate/count")
+    @Operation(summary = "Compter par période de naissance", description = "Compte les patients nés entre deux dates, sans les charger")
+    @ApiResponse(responseCode = "200", description = "Nombre de patients",
+            content = @Content(schema = @Schema(implementation = Long.class)))
+    public Mono<Long> countPatientsByBirthDateRange(
+            @Parameter(description = "Date de début (format: YYYY-MM-DD)", required = true, example = "1980-01-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate debut,
+            @Parameter(description = "Date de fin (format: YYYY-MM-DD)", required = true, example = "1990-12-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fin) {
+        log.info("REST request pour compter les patients nés entre {} et {}", debut, fin);
+        return patientService.countPatientsByBirthDateRange(debut, fin);
+    }
+
+    /**
+     * Rechercher des patients par groupe sanguin
+     * @param groupe le groupe sanguin
+     * @return le flux des patients correspondants
+     */
+    @GetMapping(value = "/search/bloodgroup/{groupe}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Rechercher par groupe sanguin", description = "Trouve les patients ayant un groupe sanguin spécifique")
+    @ApiResponse(responseCode = "200", description = "Patients trouvés",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = PatientDTO.class))))
+    public Flux<PatientDTO> searchPatientsByBloodGroup(
+            @Parameter(description = "Groupe sanguin", required = true, example = "A+")
+            @PathVariable String groupe) {
+        log.info("REST request pour rechercher des patients avec le groupe sanguin: {}", groupe);
+        return patientService.findPatientsByGroupeSanguin(groupe);
+    }
+}
@@ -0,0 +1,57 @@
+package com.exemple.patient_reactive_service.entity;
+
+import com.exemple.patient_reactive_service.enums.GenreSexe;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Ligne de la table des patients, lue et écrite par R2DBC.
+ * <p>
+ * Le schéma appartient à patient-service (création par Hibernate, séquence patients_seq, index) :
+ * un identifiant absent est attribué par la valeur par défaut de la colonne, {@code nextval('patients_seq')},
+ * qui réserve un bloc entier de la séquence et ne peut donc pas entrer en collision avec les blocs d'Hibernate.
+ */
+@Table("patients")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Patient {
+
+    @Id
+    private Long id;
+
+    private String nom;
+
+    private String prenom;
+
+    private LocalDate dateNaissance;
+
+    private String telephone;
+
+    private String adresse;
+
+    private String email;
+
+    private GenreSexe genre;
+
+    private String antecedentsMedicaux;
+
+    private String numeroSecuriteSociale;
+
+    private String groupeSanguin;
+
+    private Instant createdAt;
+
+    private Instant updatedAt;
+
+    // Verrou optimiste partagé avec patient-service : une mise à jour concurrente fait échouer l'écriture
+    @Version
+    private Long version;
+}
@@ -0,0 +1,11 @@
+package com.exemple.patient_reactive_service.enums;
+
+/**
+ * Énumération représentant le genre/sexe des patients
+ */
+public enum GenreSexe {
+    HOMME,
+    FEMME,
+    AUTRE,
+    NON_SPECIFIE
+} 
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.exemple.patient_reactive_service.exception;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ErrorResponse {
+    private int status;
+    private String message;
+    private String path;
+    private LocalDateTime timestamp;
+} 
\ No newline at end of file
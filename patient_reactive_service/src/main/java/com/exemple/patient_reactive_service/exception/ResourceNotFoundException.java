@@ -0,0 +1,18 @@
+package com.exemple.patient_reactive_service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ResourceNotFoundException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+    
+    public ResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
+        super(String.format("%s non trouvé avec %s : '%s'", resourceName, fieldName, fieldValue));
+    }
+} 
\ No newline at end of file
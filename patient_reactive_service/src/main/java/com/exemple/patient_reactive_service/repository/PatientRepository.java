@@ -0,0 +1,56 @@
+package com.exemple.patient_reactive_service.repository;
+
+import com.exemple.patient_reactive_service.entity.Patient;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Les listes sont lues par tranches bornées en pagination par clé ({@code id > :afterId order by id limit :limit}) :
+ * chaque tranche est une requête courte, qui rend sa connexion au pool dès ses lignes lues.
+ */
+@Repository
+public interface PatientRepository extends R2dbcRepository<Patient, Long> {
+
+    // Trouver un patient par numéro de sécurité sociale
+    Mono<Patient> findByNumeroSecuriteSociale(String numeroSecuriteSociale);
+
+    // Vérifier si un numéro de sécurité sociale existe déjà
+    Mono<Boolean> existsByNumeroSecuriteSociale(String numeroSecuriteSociale);
+
+    // Tranche de patients par ID croissant, après l'ID donné
+    @Query("select * from patients where id > :afterId order by id limit :limit")
+    Flux<Patient> findChunkAfterId(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    // Tranche de patients nés entre deux dates, par (date de naissance, ID) : index idx_patients_date_naissance_id
+    @Query("select * from patients where (date_naissance, id) > (:afterDate, :afterId) and date_naissance <= :fin"
+            + " order by date_naissance, id limit :limit")
+    Flux<Patient> findChunkByDateNaissanceAfter(@Param("afterDate") LocalDate afterDate, @Param("afterId") long afterId,
+                                                @Param("fin") LocalDate fin, @Param("limit") int limit);
+
+    // Comptage des patients nés entre deux dates
+    Mono<Long> countByDateNaissanceBetween(LocalDate debut, LocalDate fin);
+
+    // Tranche de patients d'un groupe sanguin, par ID croissant
+    @Query("select * from patients where groupe_sanguin = :groupeSanguin and id > :afterId order by id limit :limit")
+    Flux<Patient> findChunkByGroupeSanguin(@Param("groupeSanguin") String groupeSanguin, @Param("afterId") long afterId,
+                                           @Param("limit") int limit);
+
+    // Recherche par nom ou prénom servie par les index GIN pg_trgm, classée par similarité
+    @Query("select * from patients where lower(nom) like :pattern or lower(prenom) like :pattern"
+            + " order by greatest(similarity(lower(nom), :query), similarity(lower(prenom), :query)) desc, id limit :limit")
+    Flux<Patient> searchByNameTrigram(@Param("query") String query, @Param("pattern") String pattern, @Param("limit") int limit);
+
+    // Recherche de patients par nom ou prénom (insensible à la casse, motif LIKE échappé), sans index dédié
+    @Query("select * from patients where lower(nom) like :pattern or lower(prenom) like :pattern order by id limit :limit")
+    Flux<Patient> findByNameContaining(@Param("pattern") String pattern, @Param("limit") int limit);
+
+    // Extension pg_trgm installée par patient-service
+    @Query("select exists(select 1 from pg_extension where extname = 'pg_trgm')")
+    Mono<Boolean> isTrigramAvailable();
+}
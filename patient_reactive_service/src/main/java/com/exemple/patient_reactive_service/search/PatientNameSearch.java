@@ -0,0 +1,98 @@
+package com.exemple.patient_reactive_service.search;
+
+import com.exemple.patient_reactive_service.config.SearchProperties;
+import com.exemple.patient_reactive_service.entity.Patient;
+import com.exemple.patient_reactive_service.exception.BadRequestException;
+import com.exemple.patient_reactive_service.repository.PatientRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Recherche de patients par sous-chaîne du nom ou du prénom, comme dans patient-service.
+ * <p>
+ * Quand l'extension pg_trgm est installée (par patient-service, avec ses index GIN), les termes d'au moins
+ * trois caractères sont classés par similarité dans la base ; sinon, requête LIKE bornée par ID croissant.
+ */
+@Component
+@Slf4j
+public class PatientNameSearch {
+
+    /**
+     * Longueur minimale d'un terme pour qu'un index trigramme puisse le servir
+     */
+    static final int MIN_QUERY_LENGTH = 3;
+
+    private final PatientRepository patientRepository;
+    private final SearchProperties searchProperties;
+    private final Mono<Boolean> trigramAvailable;
+
+    public PatientNameSearch(PatientRepository patientRepository, SearchProperties searchProperties) {
+        this.patientRepository = patientRepository;
+        this.searchProperties = searchProperties;
+        // Vérifiée une fois ; un échec (base indisponible) n'est pas retenu et sera retenté
+        this.trigramAvailable = patientRepository.isTrigramAvailable()
+                .cache(available -> Duration.ofMillis(Long.MAX_VALUE), error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    /**
+     * @param query le terme de recherche
+     * @param limit le nombre maximal de résultats (null pour la valeur par défaut)
+     * @return les patients correspondants, du plus similaire au moins similaire quand pg_trgm est disponible
+     */
+    public Flux<Patient> search(String query, Integer limit) {
+        String term = normalize(query);
+        if (term.isEmpty()) {
+            return Flux.error(new BadRequestException("Le terme de recherche est obligatoire"));
+        }
+        int maxResults;
+        try {
+            maxResults = resolveLimit(limit);
+        } catch (BadRequestException e) {
+            return Flux.error(e);
+        }
+
+        String pattern = likePattern(term);
+        if (term.length() < MIN_QUERY_LENGTH) {
+            return patientRepository.findByNameContaining(pattern, maxResults);
+        }
+        return trigramAvailable.flatMapMany(available -> {
+            if (available) {
+                return patientRepository.searchByNameTrigram(term, pattern, maxResults);
+            }
+            log.debug("Extension pg_trgm absente, recherche par nom sans classement par similarité");
+            return patientRepository.findByNameContaining(pattern, maxResults);
+        });
+    }
+
+    /**
+     * Motif LIKE d'une sous-chaîne, caractères spéciaux échappés
+     * @param query le terme de recherche
+     * @return le motif, en minuscules
+     */
+    public static String likePattern(String query) {
+        return "%" + escapeLike(normalize(query)) + "%";
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return searchProperties.getDefaultLimit();
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Le nombre de résultats doit être strictement positif");
+        }
+        return Math.min(limit, searchProperties.getMaxLimit());
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
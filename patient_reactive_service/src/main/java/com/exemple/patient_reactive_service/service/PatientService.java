@@ -0,0 +1,90 @@
+package com.exemple.patient_reactive_service.service;
+
+import com.exemple.patient_reactive_service.dto.PatientDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Service réactif pour la gestion des patients.
+ * <p>
+ * Les listes sont des flux : elles sont lues dans la base au rythme de la demande du client.
+ */
+public interface PatientService {
+
+    /**
+     * Créer un nouveau patient
+     * @param patientDTO les données du patient à créer
+     * @return le patient créé
+     */
+    Mono<PatientDTO> createPatient(PatientDTO patientDTO);
+
+    /**
+     * Obtenir un patient par son ID
+     * @param id l'identifiant du patient
+     * @return le patient trouvé
+     */
+    Mono<PatientDTO> getPatientById(Long id);
+
+    /**
+     * Obtenir les patients par ID croissant
+     * @param afterId l'ID après lequel reprendre (null pour le début de la table)
+     * @param limit le nombre maximal de patients (null pour tous)
+     * @return le flux des patients
+     */
+    Flux<PatientDTO> streamPatients(Long afterId, Long limit);
+
+    /**
+     * Mettre à jour un patient existant
+     * @param id l'identifiant du patient
+     * @param patientDTO les nouvelles données du patient
+     * @return le patient mis à jour
+     */
+    Mono<PatientDTO> updatePatient(Long id, PatientDTO patientDTO);
+
+    /**
+     * Supprimer un patient
+     * @param id l'identifiant du patient à supprimer
+     * @return la fin de la suppression
+     */
+    Mono<Void> deletePatient(Long id);
+
+    /**
+     * Rechercher un patient par numéro de sécurité sociale
+     * @param numeroSecuriteSociale le numéro de sécurité sociale
+     * @return le patient trouvé
+     */
+    Mono<PatientDTO> findByNumeroSecuriteSociale(String numeroSecuriteSociale);
+
+    /**
+     * Rechercher les patients par nom ou prénom
+     * @param query le terme de recherche (sous-chaîne, insensible à la casse)
+     * @param limit le nombre maximal de résultats (null pour la valeur par défaut)
+     * @return les patients correspondants
+     */
+    Flux<PatientDTO> searchPatientsByNameOrFirstname(String query, Integer limit);
+
+    /**
+     * Rechercher les patients nés entre deux dates
+     * @param debut la date de début
+     * @param fin la date de fin
+     * @return les patients correspondants, par date de naissance puis ID
+     */
+    Flux<PatientDTO> findPatientsByBirthDateRange(LocalDate debut, LocalDate fin);
+
+    /**
+     * Compter les patients nés entre deux dates
+     * @param debut la date de début
+     * @param fin la date de fin
+     * @return le nombre de patients
+     */
+    Mono<Long> countPatientsByBirthDateRange(LocalDate debut, LocalDate fin);
+
+    /**
+     * Rechercher les patients par groupe sanguin
+     * @param groupeSanguin le groupe sanguin
+     * @return les patients correspondants, par ID croissant
+     */
+    Flux<PatientDTO> findPatientsByGroupeSanguin(String groupeSanguin);
+}
@@ -0,0 +1,186 @@
+package com.exemple.patient_reactive_service.service.impl;
+
+import com.exemple.patient_reactive_service.config.StreamProperties;
+import com.exemple.patient_reactive_service.dto.PatientDTO;
+import com.exemple.patient_reactive_service.entity.Patient;
+import com.exemple.patient_reactive_service.exception.BadRequestException;
+import com.exemple.patient_reactive_service.exception.ResourceNotFoundException;
+import com.exemple.patient_reactive_service.mapper.PatientMapper;
+import com.exemple.patient_reactive_service.repository.PatientRepository;
+import com.exemple.patient_reactive_service.search.PatientNameSearch;
+import com.exemple.patient_reactive_service.service.PatientService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PatientServiceImpl implements PatientService {
+
+    private final PatientRepository patientRepository;
+    private final PatientMapper patientMapper;
+    private final PatientNameSearch patientNameSearch;
+    private final StreamProperties streamProperties;
+
+    @Override
+    @Transactional
+    public Mono<PatientDTO> createPatient(PatientDTO patientDTO) {
+        log.info("Création d'un nouveau patient");
+
+        Patient patient = patientMapper.toEntity(patientDTO);
+        patient.setId(null);
+        Instant now = Instant.now();
+        patient.setCreatedAt(now);
+        patient.setUpdatedAt(now);
+        return checkNumeroSecuriteSocialeAvailable(patientDTO.getNumeroSecuriteSociale())
+                .then(Mono.defer(() -> patientRepository.save(patient)))
+                .map(patientMapper::toDto)
+                .doOnNext(created -> log.info("Patient créé avec l'ID: {}", created.getId()));
+    }
+
+    @Override
+    public Mono<PatientDTO> getPatientById(Long id) {
+        log.info("Recherche du patient avec l'ID: {}", id);
+
+        return patientRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Patient", "id", id)))
+                .map(patientMapper::toDto);
+    }
+
+    @Override
+    public Flux<PatientDTO> streamPatients(Long afterId, Long limit) {
+        if (limit != null && limit < 1) {
+            return Flux.error(new BadRequestException("Le nombre de patients doit être strictement positif"));
+        }
+        long start = afterId == null ? 0 : afterId;
+        return streamInChunks(limit, (last, size) -> patientRepository
+                .findChunkAfterId(last == null ? start : last.getId(), size));
+    }
+
+    @Override
+    @Transactional
+    public Mono<PatientDTO> updatePatient(Long id, PatientDTO patientDTO) {
+        log.info("Mise à jour du patient avec l'ID: {}", id);
+
+        return patientRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Patient", "id", id)))
+                .flatMap(existingPatient -> {
+                    // Vérifier si le numéro de sécurité sociale a changé et existe déjà
+                    String numero = patientDTO.getNumeroSecuriteSociale();
+                    Mono<Void> check = numero != null && !numero.equals(existingPatient.getNumeroSecuriteSociale())
+                            ? checkNumeroSecuriteSocialeAvailable(numero)
+                            : Mono.empty();
+                    return check.then(Mono.defer(() -> {
+                        patientMapper.updateEntityFromDto(existingPatient, patientDTO);
+                        existingPatient.setUpdatedAt(Instant.now());
+                        return patientRepository.save(existingPatient);
+                    }));
+                })
+                .map(patientMapper::toDto)
+                .doOnNext(updated -> log.info("Patient mis à jour avec succès: {}", id));
+    }
+
+    @Override
+    @Transactional
+    public Mono<Void> deletePatient(Long id) {
+        log.info("Suppression du patient avec l'ID: {}", id);
+
+        return patientRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Patient", "id", id)))
+                .flatMap(patientRepository::delete)
+                .doOnSuccess(done -> log.info("Patient supprimé avec succès: {}", id));
+    }
+
+    @Override
+    public Mono<PatientDTO> findByNumeroSecuriteSociale(String numeroSecuriteSociale) {
+        log.info("Recherche du patient avec le numéro de sécurité sociale: {}", numeroSecuriteSociale);
+
+        return patientRepository.findByNumeroSecuriteSociale(numeroSecuriteSociale)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(
+                        "Patient", "numéro de sécurité sociale", numeroSecuriteSociale)))
+                .map(patientMapper::toDto);
+    }
+
+    @Override
+    public Flux<PatientDTO> searchPatientsByNameOrFirstname(String query, Integer limit) {
+        log.info("Recherche de patients par nom ou prénom: {}", query);
+
+        return patientNameSearch.search(query, limit).map(patientMapper::toDto);
+    }
+
+    @Override
+    public Flux<PatientDTO> findPatientsByBirthDateRange(LocalDate debut, LocalDate fin) {
+        log.info("Recherche de patients nés entre {} et {}", debut, fin);
+
+        return streamInChunks(null, (last, size) -> last == null
+                ? patientRepository.findChunkByDateNaissanceAfter(debut, -1, fin, size)
+                : patientRepository.findChunkByDateNaissanceAfter(last.getDateNaissance(), last.getId(), fin, size));
+    }
+
+    @Override
+    public Mono<Long> countPatientsByBirthDateRange(LocalDate debut, LocalDate fin) {
+        log.info("Comptage des patients nés entre {} et {}", debut, fin);
+
+        return patientRepository.countByDateNaissanceBetween(debut, fin);
+    }
+
+    @Override
+    public Flux<PatientDTO> findPatientsByGroupeSanguin(String groupeSanguin) {
+        log.info("Recherche de patients avec le groupe sanguin: {}", groupeSanguin);
+
+        return streamInChunks(null, (last, size) -> patientRepository.findChunkByGroupeSanguin(
+                groupeSanguin, last == null ? 0 : last.getId(), size));
+    }
+
+    /**
+     * Lire une liste par tranches successives en pagination par clé, au rythme de la demande du client.
+     * <p>
+     * Chaque tranche est lue entièrement puis sa connexion rendue au pool : un client lent ne garde pas
+     * de curseur ouvert dans la base. La tranche suivante n'est demandée qu'au début de l'émission de
+     * la précédente ; au plus deux tranches sont donc en mémoire par client.
+     * @param limit le nombre maximal de lignes à lire (null pour toutes)
+     * @param chunkAfter la requête d'une tranche de la taille donnée, après le dernier patient de la précédente
+     *                   (null pour la première)
+     * @return le flux des patients
+     */
+    private Flux<PatientDTO> streamInChunks(Long limit, BiFunction<Patient, Integer, Flux<Patient>> chunkAfter) {
+        int chunkSize = streamProperties.getChunkSize();
+        return Flux.defer(() -> {
+            // État propre à chaque abonnement ; les tranches sont lues l'une après l'autre
+            long[] remaining = {limit == null ? Long.MAX_VALUE : limit};
+            int[] requested = {0};
+            Function<Patient, Mono<List<Patient>>> next = last -> {
+                requested[0] = (int) Math.min(chunkSize, remaining[0]);
+                return chunkAfter.apply(last, requested[0]).collectList()
+                        .doOnNext(chunk -> remaining[0] -= chunk.size());
+            };
+            return next.apply(null)
+                    // Tranche incomplète : fin de la liste ; nombre maximal atteint : fin du flux
+                    .expand(chunk -> chunk.size() < requested[0] || remaining[0] == 0
+                            ? Mono.empty()
+                            : next.apply(chunk.get(chunk.size() - 1)))
+                    .flatMapIterable(Function.<List<Patient>>identity(), 1)
+                    .map(patientMapper::toDto);
+        });
+    }
+
+    private Mono<Void> checkNumeroSecuriteSocialeAvailable(String numeroSecuriteSociale) {
+        if (numeroSecuriteSociale == null) {
+            return Mono.empty();
+        }
+        return patientRepository.existsByNumeroSecuriteSociale(numeroSecuriteSociale)
+                .flatMap(exists -> exists
+                        ? Mono.error(new BadRequestException("Un patient avec ce numéro de sécurité sociale existe déjà"))
+                        : Mono.<Void>empty());
+    }
+}
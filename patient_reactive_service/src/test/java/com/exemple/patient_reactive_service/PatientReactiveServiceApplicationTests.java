@@ -0,0 +1,13 @@
+package com.exemple.patient_reactive_service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class PatientReactiveServiceApplicationTests {
+
+    @Test
+    void contextLoads() {
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.exemple.patient_reactive_service.controller;
+
+import com.exemple.patient_reactive_service.dto.PatientDTO;
+import com.exemple.patient_reactive_service.enums.GenreSexe;
+import com.exemple.patient_reactive_service.exception.BadRequestException;
+import com.exemple.patient_reactive_service.exception.ResourceNotFoundException;
+import com.exemple.patient_reactive_service.service.PatientService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@WebFluxTest(controllers = PatientController.class)
+class PatientControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private PatientService patientService;
+
+    private PatientDTO patientDTO;
+
+    @BeforeEach
+    void setUp() {
+        patientDTO = PatientDTO.builder()
+                .id(1L)
+                .nom("Alaoui")
+                .prenom("Ahmed")
+                .dateNaissance(LocalDate.of(1985, 6, 15))
+                .telephone("0612345678")
+                .adresse("123 Rue Mohammed V, Casablanca")
+                .email("ahmed.alaoui@gmail.com")
+                .genre(GenreSexe.HOMME)
+                .numeroSecuriteSociale("123456789012345")
+                .groupeSanguin("A+")
+                .build();
+    }
+
+    @Test
+    void createPatient_ShouldReturnCreated() {
+        when(patientService.createPatient(any(PatientDTO.class))).thenReturn(Mono.just(patientDTO));
+
+        webTestClient.post().uri("/patients")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(patientDTO)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.nom").isEqualTo("Alaoui");
+    }
+
+    @Test
+    void createPatient_ShouldReturnValidationErrors_WhenInvalid() {
+        patientDTO.setNom("");
+
+        webTestClient.post().uri("/patients")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(patientDTO)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.validationErrors.nom").isEqualTo("Le nom est obligatoire");
+        verify(patientService, never()).createPatient(any());
+    }
+
+    @Test
+    void getPatientById_ShouldReturnNotFound_WhenMissing() {
+        when(patientService.getPatientById(99L))
+                .thenReturn(Mono.error(new ResourceNotFoundException("Patient", "id", 99L)));
+
+        webTestClient.get().uri("/patients/99")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.path").isEqualTo("uri=/patients/99");
+    }
+
+    @Test
+    void getAllPatients_ShouldReturnJsonArray() {
+        PatientDTO second = PatientDTO.builder().id(2L).nom("Bennani").build();
+        when(patientService.streamPatients(null, null)).thenReturn(Flux.just(patientDTO, second));
+
+        webTestClient.get().uri("/patients")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].nom").isEqualTo("Bennani");
+    }
+
+    @Test
+    void getAllPatients_ShouldStreamNdjson_WithResumeParameters() {
+        when(patientService.streamPatients(10L, 1L)).thenReturn(Flux.just(patientDTO));
+
+        String body = webTestClient.get().uri("/patients?afterId=10&limit=1")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        assertThat(body).isNotNull();
+        assertThat(body.lines()).hasSize(1);
+        assertThat(body).contains("\"nom\":\"Alaoui\"");
+    }
+
+    @Test
+    void getAllPatients_ShouldReturnServiceUnavailable_WhenNoConnectionAvailable() {
+        when(patientService.streamPatients(null, null))
+                .thenReturn(Flux.error(new DataAccessResourceFailureException("Failed to obtain R2DBC Connection")));
+
+        webTestClient.get().uri("/patients")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "1");
+    }
+
+    @Test
+    void searchPatients_ShouldReturnBadRequest_WhenTermEmpty() {
+        when(patientService.searchPatientsByNameOrFirstname(" ", null))
+                .thenReturn(Flux.error(new BadRequestException("Le terme de recherche est obligatoire")));
+
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path("/patients/search").queryParam("query", " ").build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Le terme de recherche est obligatoire");
+    }
+
+    @Test
+    void countPatientsByBirthDateRange_ShouldReturnCount() {
+        when(patientService.countPatientsByBirthDateRange(LocalDate.of(1980, 1, 1), LocalDate.of(1989, 12, 31)))
+                .thenReturn(Mono.just(12L));
+
+        webTestClient.get().uri("/patients/search/birthdate/count?debut=1980-01-01&fin=1989-12-31")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Long.class).isEqualTo(12L);
+    }
+
+    @Test
+    void deletePatient_ShouldReturnNoContent() {
+        when(patientService.deletePatient(1L)).thenReturn(Mono.empty());
+
+        webTestClient.delete().uri("/patients/1")
+                .exchange()
+                .expectStatus().isNoContent();
+        verify(patientService).deletePatient(1L);
+    }
+}
@@ -0,0 +1,230 @@
+package com.exemple.patient_reactive_service.service.impl;
+
+import com.exemple.patient_reactive_service.config.StreamProperties;
+import com.exemple.patient_reactive_service.dto.PatientDTO;
+import com.exemple.patient_reactive_service.entity.Patient;
+import com.exemple.patient_reactive_service.enums.GenreSexe;
+import com.exemple.patient_reactive_service.exception.BadRequestException;
+import com.exemple.patient_reactive_service.exception.ResourceNotFoundException;
+import com.exemple.patient_reactive_service.mapper.PatientMapper;
+import com.exemple.patient_reactive_service.repository.PatientRepository;
+import com.exemple.patient_reactive_service.search.PatientNameSearch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PatientServiceImplTest {
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Spy
+    private PatientMapper patientMapper = new PatientMapper();
+
+    @Mock
+    private PatientNameSearch patientNameSearch;
+
+    @Spy
+    private StreamProperties streamProperties = new StreamProperties();
+
+    @InjectMocks
+    private PatientServiceImpl patientService;
+
+    private PatientDTO patientDTO;
+
+    @BeforeEach
+    void setUp() {
+        streamProperties.setChunkSize(2);
+        patientDTO = PatientDTO.builder()
+                .nom("Alaoui")
+                .prenom("Ahmed")
+                .dateNaissance(LocalDate.of(1985, 6, 15))
+                .adresse("123 Rue Mohammed V, Casablanca")
+                .genre(GenreSexe.HOMME)
+                .numeroSecuriteSociale("123456789012345")
+                .groupeSanguin("A+")
+                .build();
+    }
+
+    @Test
+    void createPatient_ShouldSaveWithDates() {
+        // Given
+        when(patientRepository.existsByNumeroSecuriteSociale("123456789012345")).thenReturn(Mono.just(false));
+        when(patientRepository.save(any(Patient.class))).thenAnswer(invocation -> {
+            Patient saved = invocation.getArgument(0);
+            saved.setId(51L);
+            return Mono.just(saved);
+        });
+
+        Instant before = Instant.now();
+
+        // When / Then
+        StepVerifier.create(patientService.createPatient(patientDTO))
+                .assertNext(created -> {
+                    assertThat(created.getId()).isEqualTo(51L);
+                    assertThat(created.getCreatedAt()).isBetween(before, Instant.now());
+                    assertThat(created.getUpdatedAt()).isEqualTo(created.getCreatedAt());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void createPatient_ShouldFail_WhenNumeroSecuriteSocialeExists() {
+        // Given
+        when(patientRepository.existsByNumeroSecuriteSociale("123456789012345")).thenReturn(Mono.just(true));
+
+        // When / Then
+        StepVerifier.create(patientService.createPatient(patientDTO))
+                .expectError(BadRequestException.class)
+                .verify();
+        verify(patientRepository, never()).save(any());
+    }
+
+    @Test
+    void getPatientById_ShouldFail_WhenNotFound() {
+        // Given
+        when(patientRepository.findById(99L)).thenReturn(Mono.empty());
+
+        // When / Then
+        StepVerifier.create(patientService.getPatientById(99L))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void updatePatient_ShouldNotCheckNumeroSecuriteSociale_WhenUnchanged() {
+        // Given
+        Patient existing = patient(1L);
+        existing.setNumeroSecuriteSociale("123456789012345");
+        when(patientRepository.findById(1L)).thenReturn(Mono.just(existing));
+        when(patientRepository.save(existing)).thenReturn(Mono.just(existing));
+        patientDTO.setNom("Bennani");
+
+        // When / Then
+        StepVerifier.create(patientService.updatePatient(1L, patientDTO))
+                .assertNext(updated -> assertThat(updated.getNom()).isEqualTo("Bennani"))
+                .verifyComplete();
+        verify(patientRepository, never()).existsByNumeroSecuriteSociale(any());
+    }
+
+    @Test
+    void deletePatient_ShouldFail_WhenNotFound() {
+        // Given
+        when(patientRepository.findById(99L)).thenReturn(Mono.empty());
+
+        // When / Then
+        StepVerifier.create(patientService.deletePatient(99L))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+        verify(patientRepository, never()).delete(any(Patient.class));
+    }
+
+    @Test
+    void streamPatients_ShouldReadChunksAfterLastId() {
+        // Given : tranches de 2, la dernière incomplète
+        when(patientRepository.findChunkAfterId(0, 2)).thenReturn(Flux.just(patient(1L), patient(2L)));
+        when(patientRepository.findChunkAfterId(2, 2)).thenReturn(Flux.just(patient(3L), patient(4L)));
+        when(patientRepository.findChunkAfterId(4, 2)).thenReturn(Flux.just(patient(5L)));
+
+        // When / Then
+        StepVerifier.create(patientService.streamPatients(null, null).map(PatientDTO::getId))
+                .expectNext(1L, 2L, 3L, 4L, 5L)
+                .verifyComplete();
+        verify(patientRepository, times(3)).findChunkAfterId(anyLong(), anyInt());
+    }
+
+    @Test
+    void streamPatients_ShouldQueryNextChunkOnlyOnDemand() {
+        // Given
+        when(patientRepository.findChunkAfterId(0, 2)).thenReturn(Flux.just(patient(1L), patient(2L)));
+        when(patientRepository.findChunkAfterId(2, 2)).thenReturn(Flux.just(patient(3L), patient(4L)));
+
+        // When / Then : une tranche d'avance au plus sur la consommation du client
+        StepVerifier.create(patientService.streamPatients(null, null).map(PatientDTO::getId), 1)
+                .expectNext(1L)
+                .then(() -> verify(patientRepository, never()).findChunkAfterId(eq(4L), anyInt()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void streamPatients_ShouldResumeAfterIdAndStopAtLimit() {
+        // Given
+        when(patientRepository.findChunkAfterId(10, 2)).thenReturn(Flux.just(patient(11L), patient(12L)));
+
+        // When / Then
+        StepVerifier.create(patientService.streamPatients(10L, 2L).map(PatientDTO::getId))
+                .expectNext(11L, 12L)
+                .verifyComplete();
+        verify(patientRepository, never()).findChunkAfterId(eq(12L), anyInt());
+    }
+
+    @Test
+    void streamPatients_ShouldRejectNonPositiveLimit() {
+        StepVerifier.create(patientService.streamPatients(null, 0L))
+                .expectError(BadRequestException.class)
+                .verify();
+    }
+
+    @Test
+    void findPatientsByBirthDateRange_ShouldContinueAfterLastDateAndId() {
+        // Given
+        LocalDate debut = LocalDate.of(1980, 1, 1);
+        LocalDate fin = LocalDate.of(1989, 12, 31);
+        Patient first = patient(7L);
+        first.setDateNaissance(LocalDate.of(1981, 3, 1));
+        Patient second = patient(3L);
+        second.setDateNaissance(LocalDate.of(1984, 5, 2));
+        when(patientRepository.findChunkByDateNaissanceAfter(debut, -1, fin, 2)).thenReturn(Flux.just(first, second));
+        when(patientRepository.findChunkByDateNaissanceAfter(LocalDate.of(1984, 5, 2), 3L, fin, 2)).thenReturn(Flux.empty());
+
+        // When / Then
+        StepVerifier.create(patientService.findPatientsByBirthDateRange(debut, fin).map(PatientDTO::getId))
+                .expectNext(7L, 3L)
+                .verifyComplete();
+    }
+
+    @Test
+    void findPatientsByGroupeSanguin_ShouldStreamMatchingPatients() {
+        // Given
+        when(patientRepository.findChunkByGroupeSanguin("O-", 0, 2)).thenReturn(Flux.just(patient(4L)));
+
+        // When / Then
+        StepVerifier.create(patientService.findPatientsByGroupeSanguin("O-").map(PatientDTO::getId))
+                .expectNext(4L)
+                .verifyComplete();
+        ArgumentCaptor<Long> afterId = ArgumentCaptor.forClass(Long.class);
+        verify(patientRepository).findChunkByGroupeSanguin(eq("O-"), afterId.capture(), anyInt());
+        assertThat(afterId.getValue()).isZero();
+    }
+
+    private static Patient patient(Long id) {
+        return Patient.builder()
+                .id(id)
+                .nom("Nom" + id)
+                .prenom("Prenom" + id)
+                .dateNaissance(LocalDate.of(1980, 1, 1))
+                .adresse("Casablanca")
+                .genre(GenreSexe.FEMME)
+                .build();
+    }
+}
@@ -0,0 +1,204 @@
+package com.exemple.patient_service.cache;
+
+import com.exemple.patient_service.config.PatientCacheProperties;
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.event.PatientChangedEvent;
+import com.exemple.patient_service.event.PatientsReloadedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache de lecture borné (taille et durée de vie, admission W-TinyLFU) devant les lectures
+ * de patients par ID et par numéro de sécurité sociale.
+ * <p>
+ * Les deux clés désignent le même DTO : le cache par NSS ne stocke que l'identifiant du patient,
+ * si bien qu'invalider un patient par son ID invalide aussi sa lecture par NSS.
+ * Les DTO renvoyés sont partagés et ne doivent pas être modifiés par les appelants.
+ */
+@Component
+@Slf4j
+public class PatientCache {
+
+    private final boolean enabled;
+    private final Cache<Long, PatientDTO> byId;
+    private final Cache<String, Long> idByNss;
+
+    /**
+     * Incrémenté à chaque invalidation : un chargement commencé avant une invalidation
+     * n'est pas mis en cache, car il a pu lire l'état précédant la modification
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public PatientCache(PatientCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        this.idByNss = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, byId, "patients.byId");
+            CaffeineCacheMetrics.monitor(meterRegistry, idByNss, "patients.byNss");
+        }
+    }
+
+    /**
+     * Lire un patient par ID, en le chargeant si besoin
+     * @param id l'identifiant du patient
+     * @param loader le chargement depuis la base (peut lever une exception, rien n'est alors mis en cache)
+     * @return le patient
+     */
+    public PatientDTO getById(Long id, Function<Long, PatientDTO> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        PatientDTO cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Chargement hors de Cache.get(key, loader) : Caffeine exécuterait la requête dans le compute() de sa
+        // ConcurrentHashMap, sous un moniteur qui épingle le thread virtuel à son thread porteur le temps
+        // de l'aller-retour JDBC. Deux lectures simultanées d'un même patient absent chargent donc chacune.
+        long generation = invalidations.get();
+        PatientDTO loaded = loader.apply(id);
+        if (loaded != null) {
+            cacheLoaded(id, loaded, generation);
+        }
+        return loaded;
+    }
+
+    /**
+     * Lire un patient par numéro de sécurité sociale, en le chargeant si besoin
+     * @param numeroSecuriteSociale le numéro de sécurité sociale
+     * @param loader le chargement depuis la base (peut lever une exception, rien n'est alors mis en cache)
+     * @return le patient
+     */
+    public PatientDTO getByNumeroSecuriteSociale(String numeroSecuriteSociale, Function<String, PatientDTO> loader) {
+        if (!enabled) {
+            return loader.apply(numeroSecuriteSociale);
+        }
+
+        Long id = idByNss.getIfPresent(numeroSecuriteSociale);
+        if (id != null) {
+            PatientDTO cached = byId.getIfPresent(id);
+            if (cached != null && numeroSecuriteSociale.equals(cached.getNumeroSecuriteSociale())) {
+                return cached;
+            }
+        }
+
+        long generation = invalidations.get();
+        PatientDTO loaded = loader.apply(numeroSecuriteSociale);
+        if (loaded != null && loaded.getId() != null) {
+            cacheLoaded(loaded.getId(), loaded, generation);
+        }
+        return loaded;
+    }
+
+    /**
+     * Lire un patient par ID s'il est en cache, sans le charger
+     * @param id l'identifiant du patient
+     * @return le patient, ou null s'il n'est pas en cache
+     */
+    public PatientDTO peekById(Long id) {
+        return enabled ? byId.getIfPresent(id) : null;
+    }
+
+    /**
+     * Lire un patient par numéro de sécurité sociale s'il est en cache, sans le charger
+     * @param numeroSecuriteSociale le numéro de sécurité sociale
+     * @return le patient, ou null s'il n'est pas en cache
+     */
+    public PatientDTO peekByNumeroSecuriteSociale(String numeroSecuriteSociale) {
+        if (!enabled) {
+            return null;
+        }
+        Long id = idByNss.getIfPresent(numeroSecuriteSociale);
+        PatientDTO cached = id != null ? byId.getIfPresent(id) : null;
+        return cached != null && numeroSecuriteSociale.equals(cached.getNumeroSecuriteSociale()) ? cached : null;
+    }
+
+    /**
+     * Mettre en cache un patient chargé, sauf si une invalidation est survenue depuis le début du chargement
+     * (il a pu lire l'état précédant la modification). La génération est revérifiée après l'insertion :
+     * une invalidation intercalée entre la vérification et l'insertion retire alors l'entrée.
+     */
+    private void cacheLoaded(Long id, PatientDTO loaded, long generation) {
+        if (invalidations.get() != generation) {
+            return;
+        }
+        byId.asMap().putIfAbsent(id, loaded);
+        // La correspondance NSS -> ID est revérifiée à la lecture, elle peut donc être posée sans précaution
+        if (loaded.getNumeroSecuriteSociale() != null) {
+            idByNss.put(loaded.getNumeroSecuriteSociale(), id);
+        }
+        if (invalidations.get() != generation) {
+            byId.invalidate(id);
+        }
+    }
+
+    /**
+     * Invalider un patient après la validation de sa modification
+     * @param event la modification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientChanged(PatientChangedEvent event) {
+        invalidate(event.patientId());
+        if (event.before() != null) {
+            invalidateNumeroSecuriteSociale(event.before().getNumeroSecuriteSociale());
+        }
+        if (event.after() != null) {
+            invalidateNumeroSecuriteSociale(event.after().getNumeroSecuriteSociale());
+        }
+    }
+
+    /**
+     * Vider le cache après une écriture en masse qui contourne le service
+     * @param event le rechargement
+     */
+    @EventListener
+    public void onPatientsReloaded(PatientsReloadedEvent event) {
+        invalidateAll();
+    }
+
+    /**
+     * Invalider un patient par ID (et donc sa lecture par NSS)
+     * @param id l'identifiant du patient
+     */
+    public void invalidate(Long id) {
+        invalidations.incrementAndGet();
+        if (id != null) {
+            byId.invalidate(id);
+        }
+    }
+
+    /**
+     * Vider le cache, par exemple après un chargement en masse qui contourne le service
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        byId.invalidateAll();
+        idByNss.invalidateAll();
+        log.info("Cache des patients vidé");
+    }
+
+    private void invalidateNumeroSecuriteSociale(String numeroSecuriteSociale) {
+        if (numeroSecuriteSociale != null) {
+            idByNss.invalidate(numeroSecuriteSociale);
+        }
+    }
+}
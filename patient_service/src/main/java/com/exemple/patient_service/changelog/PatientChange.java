@@ -0,0 +1,26 @@
+package com.exemple.patient_service.changelog;
+
+import com.exemple.patient_service.enums.PatientChangeType;
+import com.exemple.patient_service.pagination.PatientChangeCursor;
+
+import java.time.Instant;
+
+/**
+ * Ligne du journal des modifications de patients
+ *
+ * @param id le numéro de séquence de la modification
+ * @param txId l'identifiant de la transaction qui l'a écrite
+ * @param patientId l'identifiant du patient
+ * @param type la nature de la modification
+ * @param version la version du patient produite par la modification (version supprimée pour une suppression)
+ * @param changedAt l'instant de la modification
+ */
+public record PatientChange(long id, long txId, Long patientId, PatientChangeType type, Long version, Instant changedAt) {
+
+    /**
+     * @return la position de la modification dans le journal
+     */
+    public PatientChangeCursor position() {
+        return new PatientChangeCursor(txId, id);
+    }
+}
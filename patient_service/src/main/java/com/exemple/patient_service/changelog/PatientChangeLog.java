@@ -0,0 +1,196 @@
+package com.exemple.patient_service.changelog;
+
+import com.exemple.patient_service.config.PatientChangesProperties;
+import com.exemple.patient_service.config.PatientSchemaInitializer;
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.enums.PatientChangeType;
+import com.exemple.patient_service.event.PatientChangedEvent;
+import com.exemple.patient_service.pagination.PatientChangeCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Journal des modifications de patients (table patient_changes), lu par GET /patients/changes.
+ * <p>
+ * Chaque modification publiée par le service est écrite dans la transaction qui la produit : les lignes
+ * sont accumulées pendant la transaction puis insérées en un lot juste avant sa validation.
+ * Les imports CSV écrivent le journal dans leur instruction de fusion ; la génération de données de test
+ * ne l'alimente pas (un consommateur se synchronise d'abord par l'export).
+ * <p>
+ * Une modification n'est lue qu'une fois terminées toutes les transactions plus anciennes que la sienne
+ * ({@code tx_id} inférieur au xmin de l'instantané) : la lecture par position croissante ne saute jamais
+ * une modification validée après une autre de position supérieure. En contrepartie, une transaction longue
+ * retarde la publication des modifications suivantes jusqu'à sa fin.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PatientChangeLog {
+
+    private static final String INSERT =
+            "INSERT INTO patient_changes (patient_id, change_type, patient_version) VALUES (?, ?, ?)";
+    private static final int[] INSERT_TYPES = {Types.BIGINT, Types.VARCHAR, Types.BIGINT};
+
+    private static final String SELECT_AFTER = """
+            SELECT id, tx_id, patient_id, change_type, patient_version, changed_at
+            FROM patient_changes
+            WHERE (tx_id, id) > (?, ?) AND tx_id < pg_snapshot_xmin(pg_current_snapshot())::text::bigint
+            ORDER BY tx_id, id
+            LIMIT ?""";
+
+    private static final String SELECT_HEAD = """
+            SELECT tx_id, id FROM patient_changes
+            WHERE tx_id < pg_snapshot_xmin(pg_current_snapshot())::text::bigint
+            ORDER BY tx_id DESC, id DESC
+            LIMIT 1""";
+
+    private static final String SELECT_HORIZON = "SELECT tx_id, change_id FROM patient_changes_horizon WHERE id = 1";
+
+    // Une modification suivie d'une autre du même patient est redondante : le flux renvoie l'état actuel du patient
+    private static final String COMPACT = """
+            DELETE FROM patient_changes c
+            WHERE EXISTS (SELECT 1 FROM patient_changes n
+                          WHERE n.patient_id = c.patient_id AND (n.tx_id, n.id) > (c.tx_id, c.id))""";
+
+    // Purge par âge et par volume ; la plus haute position purgée devient l'horizon en deçà duquel un curseur a expiré
+    private static final String PURGE = """
+            WITH purged AS (
+                DELETE FROM patient_changes
+                WHERE changed_at < ?
+                   OR (tx_id, id) <= (SELECT tx_id, id FROM patient_changes ORDER BY tx_id DESC, id DESC OFFSET ? LIMIT 1)
+                RETURNING tx_id, id
+            ), last_purged AS (
+                SELECT tx_id, id FROM purged ORDER BY tx_id DESC, id DESC LIMIT 1
+            ), horizon AS (
+                INSERT INTO patient_changes_horizon (id, tx_id, change_id)
+                SELECT 1, tx_id, id FROM last_purged
+                ON CONFLICT (id) DO UPDATE SET tx_id = EXCLUDED.tx_id, change_id = EXCLUDED.change_id
+                WHERE (patient_changes_horizon.tx_id, patient_changes_horizon.change_id) < (EXCLUDED.tx_id, EXCLUDED.change_id)
+            )
+            SELECT count(*) FROM purged""";
+
+    private static final RowMapper<PatientChange> ROW_MAPPER = (rs, rowNum) -> new PatientChange(
+            rs.getLong("id"),
+            rs.getLong("tx_id"),
+            rs.getLong("patient_id"),
+            PatientChangeType.valueOf(rs.getString("change_type")),
+            rs.getObject("patient_version", Long.class),
+            rs.getTimestamp("changed_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PatientChangesProperties properties;
+    private final PatientSchemaInitializer schemaInitializer;
+
+    /**
+     * @return vrai si le journal est activé et sa table en place
+     */
+    public boolean isEnabled() {
+        return schemaInitializer.isChangeLogAvailable();
+    }
+
+    /**
+     * Inscrire une modification dans le journal, dans la transaction en cours s'il y en a une
+     * @param event la modification
+     */
+    @EventListener
+    public void onPatientChanged(PatientChangedEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        PatientDTO state = event.after() != null ? event.after() : event.before();
+        Object[] row = {event.patientId(), event.type().name(), state != null ? state.getVersion() : null};
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            jdbcTemplate.update(INSERT, row, INSERT_TYPES);
+            return;
+        }
+        pendingChanges().rows.add(row);
+    }
+
+    /**
+     * Lot de modifications de la transaction en cours. Recherché parmi les synchronisations de la transaction
+     * (et non lié au thread) : une transaction imbriquée REQUIRES_NEW écrit son propre lot.
+     */
+    private PendingChanges pendingChanges() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges pending && pending.owner == this) {
+                return pending;
+            }
+        }
+        PendingChanges pending = new PendingChanges(this);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private static final class PendingChanges implements TransactionSynchronization {
+
+        private final PatientChangeLog owner;
+        private final List<Object[]> rows = new ArrayList<>();
+
+        private PendingChanges(PatientChangeLog owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            owner.jdbcTemplate.batchUpdate(INSERT, rows, INSERT_TYPES);
+        }
+    }
+
+    /**
+     * Lire les modifications publiées après une position
+     * @param after la position de départ (exclue)
+     * @param limit le nombre maximal de modifications
+     * @return les modifications, par position croissante
+     */
+    public List<PatientChange> findAfter(PatientChangeCursor after, int limit) {
+        return jdbcTemplate.query(SELECT_AFTER, ROW_MAPPER, after.txId(), after.id(), limit);
+    }
+
+    /**
+     * @return la position de la dernière modification publiée, si le journal n'est pas vide
+     */
+    public Optional<PatientChangeCursor> findHead() {
+        return jdbcTemplate.query(SELECT_HEAD, (rs, rowNum) -> new PatientChangeCursor(rs.getLong(1), rs.getLong(2)))
+                .stream().findFirst();
+    }
+
+    /**
+     * @return la plus haute position purgée, si une purge a déjà eu lieu
+     */
+    public Optional<PatientChangeCursor> findHorizon() {
+        return jdbcTemplate.query(SELECT_HORIZON, (rs, rowNum) -> new PatientChangeCursor(rs.getLong(1), rs.getLong(2)))
+                .stream().findFirst();
+    }
+
+    /**
+     * Compacter le journal (une seule modification par patient) puis le borner en âge et en volume
+     */
+    @Scheduled(fixedDelayString = "${patient.changes.purge-interval:PT10M}",
+            initialDelayString = "${patient.changes.purge-interval:PT10M}")
+    public void purge() {
+        if (!isEnabled()) {
+            return;
+        }
+        int compacted = jdbcTemplate.update(COMPACT);
+        Long purged = jdbcTemplate.queryForObject(PURGE, Long.class,
+                Timestamp.from(Instant.now().minus(properties.getRetention())), properties.getMaxRows());
+        if (compacted > 0 || (purged != null && purged > 0)) {
+            log.info("Journal des modifications: {} modifications remplacées par une plus récente, {} purgées", compacted, purged);
+        }
+    }
+}
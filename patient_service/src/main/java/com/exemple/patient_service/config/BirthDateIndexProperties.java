@@ -0,0 +1,23 @@
+package com.exemple.patient_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Paramètres de l'index en mémoire des dates de naissance (préfixe {@code patient.birth-date-index})
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.birth-date-index")
+public class BirthDateIndexProperties {
+
+    /**
+     * Servir les recherches et comptages par période de naissance depuis l'index en mémoire
+     */
+    private boolean enabled = true;
+
+    /**
+     * Au-delà de ce nombre de patients dans la période, la liste est lue par une requête sur la période
+     * plutôt que par identifiants (le comptage reste servi par l'index)
+     */
+    private int maxLookupIds = 1000;
+}
@@ -0,0 +1,23 @@
+package com.exemple.patient_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Paramètres des index bitmap des colonnes catégorielles (préfixe {@code patient.bitmap-index})
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.bitmap-index")
+public class BitmapIndexProperties {
+
+    /**
+     * Évaluer les filtres par groupe sanguin et par genre sur des bitmaps compressés en mémoire
+     */
+    private boolean enabled = true;
+
+    /**
+     * Au-delà de ce nombre de patients, la recherche par groupe sanguin est servie par une requête
+     * sur la colonne plutôt que par identifiants
+     */
+    private int maxLookupIds = 1000;
+}
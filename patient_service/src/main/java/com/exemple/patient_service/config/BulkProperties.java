@@ -0,0 +1,22 @@
+package com.exemple.patient_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Paramètres de la création de patients en masse (préfixe {@code patient.bulk})
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.bulk")
+public class BulkProperties {
+
+    /**
+     * Nombre de patients vérifiés et insérés par transaction
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * Nombre maximal de patients acceptés dans une requête
+     */
+    private int maxItems = 100_000;
+}
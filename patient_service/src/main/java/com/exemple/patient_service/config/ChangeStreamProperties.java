@@ -0,0 +1,41 @@
+package com.exemple.patient_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Paramètres du flux SSE des modifications de patients, GET /patients/changes/stream (préfixe {@code patient.change-stream})
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.change-stream")
+public class ChangeStreamProperties {
+
+    /**
+     * Modifications en attente d'envoi par abonné ; un abonné trop lent qui dépasse ce nombre quitte la diffusion
+     * commune et relit le journal à son rythme avant de la rejoindre
+     */
+    private int bufferSize = 1000;
+
+    /**
+     * Intervalle maximal entre deux lectures du journal (une validation dans ce service réveille la lecture aussitôt ;
+     * cet intervalle couvre les autres instances et les transactions plus anciennes encore en cours)
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * Intervalle des commentaires de maintien de connexion envoyés aux abonnés sans modification à recevoir
+     */
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    /**
+     * Durée d'un abonnement, après laquelle le client se reconnecte en reprenant depuis Last-Event-ID
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Délai de reconnexion suggéré aux clients EventSource
+     */
+    private Duration reconnectDelay = Duration.ofSeconds(1);
+}
@@ -0,0 +1,42 @@
+package com.exemple.patient_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Paramètres du générateur de données de test (préfixe {@code patient.data-generator}), hors profil prod
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.data-generator")
+public class DataGeneratorProperties {
+
+    /**
+     * Générer des patients au démarrage
+     */
+    private boolean enabled = true;
+
+    /**
+     * Nombre de patients à générer
+     */
+    private long count = 50;
+
+    /**
+     * Graine : une même graine produit le même jeu de données, quel que soit le nombre de threads
+     */
+    private long seed = 20240601L;
+
+    /**
+     * Threads de génération et de chargement (une connexion chacun)
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Patients générés et chargés par transaction
+     */
+    private int chunkSize = 50_000;
+
+    /**
+     * Ne rien générer si la table contient déjà des patients
+     */
+    private boolean skipIfNotEmpty = true;
+}
@@ -1,136 +1,183 @@
 package com.exemple.patient_service.config;
 
+import com.exemple.patient_service.dto.PatientDTO;
 import com.exemple.patient_service.entity.Patient;
-import com.exemple.patient_service.enums.GenreSexe;
+import com.exemple.patient_service.enums.ImportConflictMode;
+import com.exemple.patient_service.event.PatientsReloadedEvent;
+import com.exemple.patient_service.generator.PatientDataGenerator;
+import com.exemple.patient_service.importer.MergeResult;
+import com.exemple.patient_service.importer.PatientCopyEncoder;
+import com.exemple.patient_service.importer.PatientCopyLoader;
+import com.exemple.patient_service.mapper.PatientMapper;
 import com.exemple.patient_service.repository.PatientRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.postgresql.copy.CopyIn;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDate;
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Génération de patients marocains fictifs au démarrage (hors profil prod).
+ * <p>
+ * Le jeu de données est découpé en lots générés en parallèle, chacun avec son propre générateur aléatoire
+ * dérivé de la graine : le résultat est reproductible quel que soit le nombre de threads. Sur PostgreSQL,
+ * chaque lot est chargé par COPY sur la connexion de son thread ; ailleurs, par insertions JPA en lots.
+ */
 @Configuration
 @RequiredArgsConstructor
 @Slf4j
 public class DataInitializer {
-    
+
     private final PatientRepository patientRepository;
-    private final Random random = new Random();
+    private final DataGeneratorProperties properties;
+    private final PatientSchemaInitializer schemaInitializer;
+    private final PatientCopyLoader copyLoader;
+    private final PatientMapper patientMapper;
+    private final DataSource dataSource;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WorkerThreads workerThreads;
 
     @Bean
     @Profile("!prod")
     public CommandLineRunner initDatabase() {
         return args -> {
-            // Vérifier si la base de données est déjà remplie
-            if (patientRepository.count() > 0) {
-                log.info("La base de données contient déjà {} patients, initialisation ignorée.", patientRepository.count());
+            if (!properties.isEnabled() || properties.getCount() <= 0) {
                 return;
             }
+            if (properties.getCount() > PatientDataGenerator.MAX_PATIENTS) {
+                throw new IllegalStateException("Le générateur est limité à " + PatientDataGenerator.MAX_PATIENTS + " patients");
+            }
+            // Vérifier si la base de données est déjà remplie
+            if (properties.isSkipIfNotEmpty()) {
+                long existing = patientRepository.count();
+                if (existing > 0) {
+                    log.info("La base de données contient déjà {} patients, initialisation ignorée.", existing);
+                    return;
+                }
+            }
 
-            log.info("Initialisation de la base de données avec 50 patients marocains...");
+            long count = properties.getCount();
+            int chunkSize = Math.max(1, properties.getChunkSize());
+            long chunks = (count + chunkSize - 1) / chunkSize;
+            int threads = (int) Math.max(1, Math.min(properties.getThreads(), chunks));
+            log.info("Initialisation de la base de données avec {} patients marocains ({} lots, {} threads, graine {})...",
+                    count, chunks, threads, properties.getSeed());
+
+            long start = System.nanoTime();
+            long created = generate(count, chunkSize, chunks, threads);
+            log.info("{} patients marocains ont été créés avec succès dans la base de données en {} ms.",
+                    created, (System.nanoTime() - start) / 1_000_000);
+            eventPublisher.publishEvent(new PatientsReloadedEvent("génération de données", created));
+        };
+    }
+
+    /**
+     * Répartir les lots entre les threads : chacun prend le lot suivant jusqu'à épuisement
+     */
+    private long generate(long count, int chunkSize, long chunks, int threads) throws InterruptedException {
+        AtomicLong nextChunk = new AtomicLong();
+        AtomicLong created = new AtomicLong();
+        boolean copy = schemaInitializer.isPostgreSql();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, workerThreads.factory("patient-generator-"));
+        try {
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    long chunk;
+                    while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+                        long from = chunk * chunkSize;
+                        long to = Math.min(count, from + chunkSize);
+                        created.addAndGet(copy ? loadWithCopy(chunk, from, to) : loadWithJpa(chunk, from, to));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (ExecutionException ex) {
+            // Les lots déjà validés restent en base
+            nextChunk.set(chunks);
+            throw new IllegalStateException("Échec de la génération des patients après " + created.get() + " créations",
+                    ex.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        return created.get();
+    }
 
-            List<Patient> patients = new ArrayList<>();
-            
-            // Noms marocains courants
-            String[] noms = {"Alaoui", "Touijer", "Cherkaoui", "Daoudi", "El Amrani", "Fassi", "Gharbi", "Hassani",
-                           "Idrissi", "Jabri", "Khalil", "Lahlou", "Mansouri", "Naciri", "Ouali", "Pacha", 
-                           "Qadiri", "Rahmani", "Saidi", "Tazi", "Uthman", "Vaziri", "Wahbi", "Yousfi", "Zahraoui"};
-                           
-            String[] prenoms = {"Ahmed", "Mohammed", "Hassan", "Youssef", "Omar", "Fatima", "Amina", "Khadija", 
-                              "Zineb", "Sara", "Layla", "Nour", "Yasmin", "Hanae", "Salma", "Imane", 
-                              "Karim", "Adil", "Bilal", "Tarik", "Samir", "Nabil", "Rachid", "Jamal", "Hicham"};
-                              
-            String[] rues = {"Rue Mohammed V", "Avenue Hassan II", "Boulevard Mohammed VI", "Rue Al Qods", 
-                            "Avenue Palestine", "Boulevard Zerktouni", "Rue Ibn Batouta", "Avenue Ibn Sina", 
-                            "Boulevard Al Massira", "Rue Al Akkari", "Avenue Al Fida", "Boulevard Al Wahda"};
-                            
-            String[] villes = {"Casablanca", "Rabat", "Fès", "Marrakech", "Agadir", "Tanger", "Meknès", 
-                              "Oujda", "Kénitra", "Tétouan", "Safi", "El Jadida", "Béni Mellal", "Taza"};
-                              
-            String[] groupesSanguins = {"A+", "A-", "B+", "B-", "AB+", "AB-", "O+", "O-"};
-            
-            String[] antecedents = {"Diabète de type 2", "Hypertension artérielle", "Asthme", "Allergie aux arachides", 
-                                  "Opération appendicite", "Fracture bras droit", "Aucun", "Migraine chronique", 
-                                  "Glaucome", "Maladie de Crohn", "Aucun antécédent", "Allergie au lactose"};
+    /**
+     * Charger un lot par COPY : les NSS déjà présents en base sont ignorés
+     */
+    private long loadWithCopy(long chunk, long from, long to) throws SQLException {
+        SplittableRandom random = PatientDataGenerator.randomForChunk(properties.getSeed(), chunk);
+        StringBuilder rows = new StringBuilder((int) (to - from) * 192);
+        for (long index = from; index < to; index++) {
+            PatientCopyEncoder.append(rows, index, PatientDataGenerator.generate(random, index));
+        }
+        byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
 
-            // Générer 50 patients avec des données aléatoires marocaines
-            for (int i = 0; i < 50; i++) {
-                GenreSexe genre = (random.nextBoolean()) ? GenreSexe.HOMME : GenreSexe.FEMME;
-                
-                String nom = noms[random.nextInt(noms.length)];
-                String prenom;
-                
-                // Choisir un prénom en fonction du genre
-                if (genre == GenreSexe.HOMME) {
-                    prenom = prenoms[random.nextInt(15)]; // Prénoms masculins
-                } else {
-                    prenom = prenoms[random.nextInt(10) + 15]; // Prénoms féminins
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                CopyIn copyIn = copyLoader.beginCopy(connection);
+                try {
+                    copyIn.writeToCopy(bytes, 0, bytes.length);
+                    copyIn.endCopy();
+                } finally {
+                    if (copyIn.isActive()) {
+                        copyIn.cancelCopy();
+                    }
                 }
-                
-                // Générer une date de naissance entre 1950 et 2005
-                int year = 1950 + random.nextInt(55);
-                int month = 1 + random.nextInt(12);
-                int day = 1 + random.nextInt(28); // Pour éviter les problèmes de jours invalides
-                LocalDate dateNaissance = LocalDate.of(year, month, day);
-                
-                // Adresse marocaine
-                String rue = rues[random.nextInt(rues.length)];
-                String numero = (1 + random.nextInt(100)) + "";
-                String ville = villes[random.nextInt(villes.length)];
-                String codePostal = String.format("%05d", 10000 + random.nextInt(90000));
-                String adresse = numero + " " + rue + ", " + codePostal + " " + ville + ", Maroc";
-                
-                // Email basé sur le nom et prénom
-                String email = prenom.toLowerCase() + "." + nom.toLowerCase() + "@gmail.com";
-                
-                // Numéro de téléphone marocain (format +212)
-                String telephone = "+212" + (random.nextInt(5) + 6) + generateRandomDigits(8);
-                
-                // Numéro de sécurité sociale marocain (format simplifié)
-                String nss = (genre == GenreSexe.HOMME ? "1" : "2") + 
-                             String.format("%02d", year % 100) +
-                             String.format("%02d", month) +
-                             String.format("%02d", random.nextInt(95) + 1) + // région
-                             generateRandomDigits(6);
-                             
-                String groupeSanguin = groupesSanguins[random.nextInt(groupesSanguins.length)];
-                String antecedentsMedicaux = antecedents[random.nextInt(antecedents.length)];
-                
-                Patient patient = Patient.builder()
-                        .nom(nom)
-                        .prenom(prenom)
-                        .dateNaissance(dateNaissance)
-                        .telephone(telephone)
-                        .adresse(adresse)
-                        .email(email)
-                        .genre(genre)
-                        .antecedentsMedicaux(antecedentsMedicaux)
-                        .numeroSecuriteSociale(nss)
-                        .groupeSanguin(groupeSanguin)
-                        .build();
-                        
-                patients.add(patient);
+                MergeResult result = copyLoader.merge(connection, ImportConflictMode.SKIP, false);
+                connection.commit();
+                return result.inserted();
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
             }
-            
-            patientRepository.saveAll(patients);
-            log.info("50 patients marocains ont été créés avec succès dans la base de données.");
-        };
+        }
     }
-    
+
     /**
-     * Génère une chaîne de chiffres aléatoires de longueur spécifiée
+     * Charger un lot par insertions JPA en lots JDBC (bases autres que PostgreSQL)
      */
-    private String generateRandomDigits(int length) {
-        StringBuilder sb = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            sb.append(random.nextInt(10));
+    private long loadWithJpa(long chunk, long from, long to) {
+        SplittableRandom random = PatientDataGenerator.randomForChunk(properties.getSeed(), chunk);
+        List<Patient> patients = new ArrayList<>((int) (to - from));
+        for (long index = from; index < to; index++) {
+            PatientDTO patient = PatientDataGenerator.generate(random, index);
+            patients.add(patientMapper.toEntity(patient));
         }
-        return sb.toString();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            patientRepository.saveAll(patients);
+            patientRepository.flush();
+            entityManager.clear();
+        });
+        return patients.size();
     }
-} 
\ No newline at end of file
+}
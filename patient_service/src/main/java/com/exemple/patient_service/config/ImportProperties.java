@@ -0,0 +1,37 @@
+package com.exemple.patient_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Paramètres de l'import CSV par COPY (préfixe {@code patient.import})
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.import")
+public class ImportProperties {
+
+    /**
+     * Threads de validation des lignes
+     */
+    private int workers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    /**
+     * Lignes transmises aux threads de validation par lot
+     */
+    private int batchSize = 2000;
+
+    /**
+     * Lots en attente entre deux étapes : borne la mémoire de l'import quelle que soit la taille du fichier
+     */
+    private int queueCapacity = 16;
+
+    /**
+     * Lignes refusées détaillées dans le compte rendu (les suivantes sont seulement comptées)
+     */
+    private int maxReportedRejects = 1000;
+
+    /**
+     * Imports terminés conservés pour consultation
+     */
+    private int history = 20;
+}
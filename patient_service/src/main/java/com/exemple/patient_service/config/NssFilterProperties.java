@@ -0,0 +1,27 @@
+package com.exemple.patient_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Paramètres du filtre de Bloom des numéros de sécurité sociale (préfixe {@code patient.nss-filter})
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.nss-filter")
+public class NssFilterProperties {
+
+    /**
+     * Éviter la vérification d'unicité en base quand le filtre garantit que le numéro est inconnu
+     */
+    private boolean enabled = true;
+
+    /**
+     * Nombre de numéros prévu, qui dimensionne le filtre
+     */
+    private long expectedInsertions = 1_000_000;
+
+    /**
+     * Taux de faux positifs visé à {@code expectedInsertions} numéros
+     */
+    private double falsePositiveRate = 0.01;
+}
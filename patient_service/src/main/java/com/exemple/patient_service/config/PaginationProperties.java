@@ -0,0 +1,22 @@
+package com.exemple.patient_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Paramètres de la pagination par curseur (préfixe {@code patient.pagination})
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.pagination")
+public class PaginationProperties {
+
+    /**
+     * Taille de page utilisée quand le client n'en précise pas
+     */
+    private int defaultSize = 50;
+
+    /**
+     * Taille de page maximale acceptée
+     */
+    private int maxSize = 500;
+}
@@ -0,0 +1,29 @@
+package com.exemple.patient_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Paramètres du cache de lecture des patients (préfixe {@code patient.cache})
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.cache")
+public class PatientCacheProperties {
+
+    /**
+     * Activer le cache devant les lectures par ID et par numéro de sécurité sociale
+     */
+    private boolean enabled = true;
+
+    /**
+     * Nombre maximal de patients en cache (éviction W-TinyLFU au-delà)
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Durée de vie d'une entrée après son chargement
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+}
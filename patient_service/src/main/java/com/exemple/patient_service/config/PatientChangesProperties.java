@@ -0,0 +1,44 @@
+package com.exemple.patient_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Paramètres du journal des modifications de patients et de GET /patients/changes (préfixe {@code patient.changes})
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.changes")
+public class PatientChangesProperties {
+
+    /**
+     * Journaliser chaque création, modification et suppression dans la table patient_changes (PostgreSQL uniquement)
+     */
+    private boolean enabled = true;
+
+    /**
+     * Nombre de modifications renvoyées par défaut
+     */
+    private int defaultLimit = 100;
+
+    /**
+     * Nombre maximal de modifications renvoyées par appel
+     */
+    private int maxLimit = 1000;
+
+    /**
+     * Durée de conservation d'une modification ; au-delà, un consommateur en retard doit se resynchroniser
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * Nombre maximal de lignes conservées dans le journal, les plus anciennes étant purgées au-delà
+     */
+    private long maxRows = 1_000_000;
+
+    /**
+     * Intervalle entre deux passes de compactage et de purge
+     */
+    private Duration purgeInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,147 @@
+package com.exemple.patient_service.config;
+
+import com.exemple.patient_service.enums.NameSearchMode;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Objets de schéma PostgreSQL que Hibernate ne sait pas créer ({@code ddl-auto=update}) :
+ * exécuté après l'initialisation de JPA, chaque instruction est idempotente.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class PatientSchemaInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SearchProperties searchProperties;
+    private final PatientChangesProperties changesProperties;
+
+    /**
+     * Vrai si la base est PostgreSQL
+     */
+    @Getter
+    private boolean postgreSql;
+
+    /**
+     * Vrai si l'extension pg_trgm et les index GIN de recherche par nom sont en place
+     */
+    @Getter
+    private boolean trigramAvailable;
+
+    /**
+     * Vrai si la table patient_changes du journal des modifications est en place
+     */
+    @Getter
+    private boolean changeLogAvailable;
+
+    @PostConstruct
+    public void initialize() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        postgreSql = "PostgreSQL".equalsIgnoreCase(product);
+        if (!postgreSql) {
+            log.info("Base {} : objets de schéma spécifiques à PostgreSQL ignorés", product);
+            return;
+        }
+
+        alignPatientSequence();
+        if (searchProperties.getMode() != NameSearchMode.MEMORY) {
+            trigramAvailable = createTrigramIndexes();
+        }
+        if (changesProperties.isEnabled()) {
+            changeLogAvailable = createChangeLog();
+        }
+    }
+
+    /**
+     * Mode de recherche par nom effectivement appliqué, une fois la disponibilité de pg_trgm connue
+     * @return DATABASE ou MEMORY
+     */
+    public NameSearchMode getEffectiveNameSearchMode() {
+        // DATABASE sans pg_trgm se replie aussi sur l'index en mémoire
+        return searchProperties.getMode() != NameSearchMode.MEMORY && trigramAvailable
+                ? NameSearchMode.DATABASE
+                : NameSearchMode.MEMORY;
+    }
+
+    /**
+     * Passage de la colonne IDENTITY à la séquence patients_seq (allocation par blocs de 50) :
+     * la séquence est placée au-delà du plus grand ID existant et devient la valeur par défaut de la colonne.
+     * Une insertion SQL sans ID prend la borne haute d'un bloc que Hibernate ne distribuera donc jamais.
+     */
+    private void alignPatientSequence() {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS patients_seq START WITH 1 INCREMENT BY 50");
+        jdbcTemplate.execute("ALTER TABLE patients ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        jdbcTemplate.execute("ALTER TABLE patients ALTER COLUMN id SET DEFAULT nextval('patients_seq')");
+        // Ne fait qu'avancer la séquence : les blocs déjà distribués à d'autres instances restent valides
+        Long aligned = jdbcTemplate.query("""
+                        SELECT setval('patients_seq', m.max_id)
+                        FROM (SELECT max(id) AS max_id FROM patients) m, patients_seq s
+                        WHERE m.max_id IS NOT NULL AND (m.max_id > s.last_value OR NOT s.is_called)""",
+                rs -> rs.next() ? rs.getLong(1) : null);
+        if (aligned != null) {
+            log.info("Séquence patients_seq alignée sur l'ID {}", aligned);
+        }
+    }
+
+    private boolean createTrigramIndexes() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            // CONCURRENTLY : ne bloque pas les écritures lors de la première création sur une table déjà peuplée
+            jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_patients_nom_trgm "
+                    + "ON patients USING gin (lower(nom) gin_trgm_ops)");
+            jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_patients_prenom_trgm "
+                    + "ON patients USING gin (lower(prenom) gin_trgm_ops)");
+            log.info("Index trigramme pg_trgm en place pour la recherche par nom");
+            return true;
+        } catch (DataAccessException ex) {
+            log.warn("Extension pg_trgm indisponible, la recherche par nom utilisera l'index n-gramme en mémoire: {}",
+                    ex.getMostSpecificCause().getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Journal des modifications : chaque ligne porte l'identifiant de la transaction qui l'a écrite,
+     * qui ordonne la lecture avec le numéro de séquence (voir {@code PatientChangeCursor}).
+     * La table patient_changes_horizon retient la dernière position purgée.
+     */
+    private boolean createChangeLog() {
+        try {
+            jdbcTemplate.execute("""
+                    CREATE TABLE IF NOT EXISTS patient_changes (
+                        id bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+                        tx_id bigint NOT NULL DEFAULT pg_current_xact_id()::text::bigint,
+                        patient_id bigint NOT NULL,
+                        change_type varchar(10) NOT NULL,
+                        patient_version bigint,
+                        changed_at timestamp(6) with time zone NOT NULL DEFAULT now()
+                    )""");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_patient_changes_position ON patient_changes (tx_id, id)");
+            // Compactage : recherche d'une modification plus récente du même patient
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_patient_changes_patient ON patient_changes (patient_id, tx_id, id)");
+            jdbcTemplate.execute("""
+                    CREATE TABLE IF NOT EXISTS patient_changes_horizon (
+                        id int PRIMARY KEY CHECK (id = 1),
+                        tx_id bigint NOT NULL,
+                        change_id bigint NOT NULL
+                    )""");
+            log.info("Journal des modifications patient_changes en place");
+            return true;
+        } catch (DataAccessException ex) {
+            // pg_current_xact_id() n'existe qu'à partir de PostgreSQL 13
+            log.warn("Journal des modifications indisponible, GET /patients/changes est désactivé: {}",
+                    ex.getMostSpecificCause().getMessage());
+            return false;
+        }
+    }
+}
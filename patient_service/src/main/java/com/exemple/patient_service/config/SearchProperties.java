@@ -0,0 +1,28 @@
+package com.exemple.patient_service.config;
+
+import com.exemple.patient_service.enums.NameSearchMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Paramètres de la recherche par nom ou prénom (préfixe {@code patient.search})
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.search")
+public class SearchProperties {
+
+    /**
+     * Stratégie d'indexation de la recherche par nom
+     */
+    private NameSearchMode mode = NameSearchMode.AUTO;
+
+    /**
+     * Nombre de résultats renvoyés quand le client n'en précise pas
+     */
+    private int defaultLimit = 20;
+
+    /**
+     * Nombre maximal de résultats renvoyés
+     */
+    private int maxLimit = 100;
+}
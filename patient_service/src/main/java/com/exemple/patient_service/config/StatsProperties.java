@@ -0,0 +1,25 @@
+package com.exemple.patient_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Paramètres des statistiques de patients tenues en mémoire (préfixe {@code patient.stats})
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.stats")
+public class StatsProperties {
+
+    /**
+     * Tenir les compteurs en mémoire ; sinon chaque lecture de GET /patients/stats interroge la base
+     */
+    private boolean enabled = true;
+
+    /**
+     * Âges de début des tranches d'âge, par ordre croissant ("18, 30" donne 0-17, 18-29 et 30+)
+     */
+    private List<Integer> ageBrackets = new ArrayList<>(List.of(18, 30, 45, 60, 75));
+}
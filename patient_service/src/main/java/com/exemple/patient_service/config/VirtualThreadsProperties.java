@@ -0,0 +1,26 @@
+package com.exemple.patient_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Surveillance des threads virtuels (préfixe {@code patient.virtual-threads}), active seulement
+ * quand {@code spring.threads.virtual.enabled} l'est
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.virtual-threads")
+public class VirtualThreadsProperties {
+
+    /**
+     * Compter les épinglages de threads virtuels sur leur thread porteur (événement JFR
+     * {@code jdk.VirtualThreadPinned}) dans la métrique {@code jvm.threads.virtual.pinned}
+     */
+    private boolean pinningMonitorEnabled = true;
+
+    /**
+     * Durée d'épinglage à partir de laquelle l'événement est enregistré
+     */
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+}
@@ -0,0 +1,30 @@
+package com.exemple.patient_service.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Threads de travail des traitements de fond (import CSV, génération de données) : threads virtuels
+ * quand {@code spring.threads.virtual.enabled} est actif (profil {@code virtual-threads}), comme Tomcat
+ * et l'exécuteur de tâches de Spring, threads plateforme sinon.
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkerThreads {
+
+    private final Environment environment;
+
+    /**
+     * @param prefix le préfixe des noms de threads (suivi d'un numéro)
+     * @return la fabrique de threads à confier à l'exécuteur du traitement
+     */
+    public ThreadFactory factory(String prefix) {
+        return Threading.VIRTUAL.isActive(environment)
+                ? Thread.ofVirtual().name(prefix, 0).factory()
+                : Thread.ofPlatform().name(prefix, 0).factory();
+    }
+}
@@ -1,6 +1,22 @@
 package com.exemple.patient_service.controller;
 
+import com.exemple.patient_service.dto.BulkCreateResultDTO;
+import com.exemple.patient_service.dto.CursorPageDTO;
+import com.exemple.patient_service.dto.FacetedSearchResultDTO;
+import com.exemple.patient_service.dto.PatientChangeDTO;
 import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.dto.PatientImportDTO;
+import com.exemple.patient_service.dto.PatientStatsDTO;
+import com.exemple.patient_service.enums.GenreSexe;
+import com.exemple.patient_service.enums.ImportConflictMode;
+import com.exemple.patient_service.enums.ImportStatus;
+import com.exemple.patient_service.enums.PatientSort;
+import com.exemple.patient_service.search.PatientFilter;
+import com.exemple.patient_service.service.PatientBulkService;
+import com.exemple.patient_service.service.PatientChangeService;
+import com.exemple.patient_service.service.PatientChangeStreamService;
+import com.exemple.patient_service.service.PatientExportService;
+import com.exemple.patient_service.service.PatientImportService;
 import com.exemple.patient_service.service.PatientService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,12 +30,24 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/patients")
@@ -29,6 +57,11 @@ import java.util.List;
 public class PatientController {
     
     private final PatientService patientService;
+    private final PatientExportService patientExportService;
+    private final PatientBulkService patientBulkService;
+    private final PatientImportService patientImportService;
+    private final PatientChangeService patientChangeService;
+    private final PatientChangeStreamService patientChangeStreamService;
     
     /**
      * Créer un nouveau patient
@@ -49,43 +82,275 @@ public class PatientController {
             @Valid @RequestBody PatientDTO patientDTO) {
         log.info("REST request pour créer un nouveau patient");
         PatientDTO createdPatient = patientService.createPatient(patientDTO);
-        return new ResponseEntity<>(createdPatient, HttpStatus.CREATED);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(PatientETags.of(createdPatient)).body(createdPatient);
+    }
+    
+    /**
+     * Créer des patients en masse
+     * @param patients les patients à créer
+     * @return le compte rendu de la création, avec la position de chaque patient refusé
+     */
+    @PostMapping("/bulk")
+    @Operation(summary = "Créer des patients en masse",
+            description = "Valide chaque patient, vérifie l'unicité des numéros de sécurité sociale par lots et insère "
+                    + "les patients valides en lots JDBC. Les patients refusés n'empêchent pas la création des autres.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Création traitée, patients refusés détaillés dans le compte rendu",
+                    content = @Content(schema = @Schema(implementation = BulkCreateResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Liste vide ou trop volumineuse")
+    })
+    public ResponseEntity<BulkCreateResultDTO> createPatients(
+            @Parameter(description = "Patients à créer", required = true)
+            @RequestBody List<PatientDTO> patients) {
+        log.info("REST request pour créer {} patients en masse", patients.size());
+        BulkCreateResultDTO result = patientBulkService.createPatients(patients);
+        return ResponseEntity.ok(result);
     }
     
     /**
      * Obtenir un patient par son ID
      * @param id l'identifiant du patient
-     * @return le patient trouvé
+     * @param webRequest la requête, pour la validation conditionnelle (If-None-Match)
+     * @return le patient trouvé, ou 304 si la version détenue par le client est à jour
      */
     @GetMapping("/{id}")
-    @Operation(summary = "Obtenir un patient par ID", description = "Récupère les informations d'un patient par son identifiant")
+    @Operation(summary = "Obtenir un patient par ID",
+            description = "Récupère les informations d'un patient par son identifiant. La réponse porte un ETag fort ; "
+                    + "une requête If-None-Match est validée sur la seule version du patient et reçoit 304 s'il n'a pas changé")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Patient trouvé",
                     content = @Content(schema = @Schema(implementation = PatientDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Patient inchangé depuis l'ETag transmis"),
             @ApiResponse(responseCode = "404", description = "Patient non trouvé")
     })
     public ResponseEntity<PatientDTO> getPatientById(
             @Parameter(description = "ID du patient", required = true, example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest webRequest) {
         log.info("REST request pour obtenir le patient avec l'ID: {}", id);
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(PatientETags.of(patientService.getPatientVersion(id)))) {
+            return null;
+        }
         PatientDTO patient = patientService.getPatientById(id);
-        return ResponseEntity.ok(patient);
+        return ResponseEntity.ok().eTag(PatientETags.of(patient)).body(patient);
     }
     
     /**
-     * Obtenir tous les patients
-     * @return la liste des patients
+     * Obtenir les patients page par page
+     * @param cursor le curseur de la page précédente
+     * @param size la taille de page
+     * @param sort la clé de tri
+     * @return la page de patients
      */
     @GetMapping
-    @Operation(summary = "Obtenir tous les patients", description = "Récupère la liste de tous les patients")
+    @Operation(summary = "Obtenir les patients (pagination par curseur)",
+            description = "Récupère les patients page par page. Transmettre le champ nextCursor de la réponse pour obtenir la page suivante")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Liste des patients récupérée",
-                    content = @Content(schema = @Schema(implementation = PatientDTO.class)))
+            @ApiResponse(responseCode = "200", description = "Page de patients récupérée",
+                    content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Page inchangée depuis l'ETag transmis"),
+            @ApiResponse(responseCode = "400", description = "Curseur ou taille de page invalide")
     })
-    public ResponseEntity<List<PatientDTO>> getAllPatients() {
-        log.info("REST request pour obtenir tous les patients");
-        List<PatientDTO> patients = patientService.getAllPatients();
-        return ResponseEntity.ok(patients);
+    public ResponseEntity<CursorPageDTO<PatientDTO>> getAllPatients(
+            @Parameter(description = "Curseur opaque de la page précédente")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Taille de page (bornée par patient.pagination.max-size)", example = "50")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Clé de tri : ID, NOM ou DATE_NAISSANCE", example = "ID")
+            @RequestParam(required = false) PatientSort sort) {
+        log.info("REST request pour obtenir une page de patients");
+        CursorPageDTO<PatientDTO> page = patientService.getPatientsPage(cursor, size, sort);
+        // Réponse 304 sans sérialisation si l'ETag correspond à If-None-Match
+        return ResponseEntity.ok().eTag(PatientETags.of(page)).body(page);
+    }
+    
+    /**
+     * Lire le journal des modifications
+     * @param since le curseur renvoyé par l'appel précédent
+     * @param limit le nombre maximal de modifications
+     * @return les modifications suivant le curseur et le curseur de l'appel suivant
+     */
+    @GetMapping("/changes")
+    @Operation(summary = "Journal des modifications (synchronisation incrémentale)",
+            description = "Renvoie les créations, modifications et suppressions de patients postérieures au curseur, dans "
+                    + "l'ordre de leur validation, avec l'état actuel de chaque patient (absent s'il a été supprimé). "
+                    + "Transmettre nextCursor à l'appel suivant, y compris quand la page est vide. Le journal est compacté "
+                    + "(une modification par patient) et purgé au-delà de patient.changes.retention : un curseur trop ancien "
+                    + "reçoit 410 et le consommateur doit se resynchroniser")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Modifications suivant le curseur",
+                    content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Curseur ou nombre de modifications invalide"),
+            @ApiResponse(responseCode = "404", description = "Journal des modifications désactivé"),
+            @ApiResponse(responseCode = "410", description = "Curseur antérieur à la purge du journal")
+    })
+    public ResponseEntity<CursorPageDTO<PatientChangeDTO>> getChanges(
+            @Parameter(description = "Curseur renvoyé par l'appel précédent (absent pour lire depuis le début du journal)")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Nombre maximal de modifications (borné par patient.changes.max-limit)", example = "100")
+            @RequestParam(required = false) Integer limit) {
+        log.info("REST request pour lire le journal des modifications");
+        return ResponseEntity.ok(patientChangeService.getChanges(since, limit));
+    }
+    
+    /**
+     * Position courante du journal des modifications
+     * @return une page vide dont le curseur est la position courante
+     */
+    @GetMapping("/changes/head")
+    @Operation(summary = "Position courante du journal des modifications",
+            description = "Curseur de la dernière modification publiée. Pour une première synchronisation : relever ce "
+                    + "curseur, exporter la table (GET /patients/export), puis suivre GET /patients/changes depuis ce curseur")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Curseur courant",
+                    content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Journal des modifications désactivé")
+    })
+    public ResponseEntity<CursorPageDTO<PatientChangeDTO>> getChangesHead() {
+        return ResponseEntity.ok(patientChangeService.getHead());
+    }
+
+    /**
+     * Suivre en direct les modifications de patients (Server-Sent Events)
+     * @param lastEventId l'identifiant du dernier événement reçu, renvoyé par EventSource à la reconnexion
+     * @param since le curseur de reprise, pour les clients qui ne transmettent pas Last-Event-ID
+     * @param patientIds les patients suivis
+     * @param groupesSanguins les groupes sanguins suivis
+     * @return le flux des modifications
+     */
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Flux en direct des modifications (SSE)",
+            description = "Pousse chaque création, modification et suppression validée (événement patient-change, même "
+                    + "contenu qu'un élément de GET /patients/changes). L'identifiant d'événement est le curseur du journal : "
+                    + "à la reconnexion, Last-Event-ID reprend le flux sans perte. Sans curseur, seules les modifications "
+                    + "à venir sont envoyées. Un abonné trop lent est déconnecté et reprend de la même façon")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Flux d'événements",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = PatientChangeDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Curseur invalide"),
+            @ApiResponse(responseCode = "404", description = "Journal des modifications désactivé"),
+            @ApiResponse(responseCode = "410", description = "Curseur antérieur à la purge du journal")
+    })
+    public ResponseEntity<SseEmitter> streamChanges(
+            @Parameter(hidden = true)
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @Parameter(description = "Curseur de reprise (ignoré si l'en-tête Last-Event-ID est présent)")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Patient suivi (répétable)", example = "1")
+            @RequestParam(name = "patientId", required = false) List<Long> patientIds,
+            @Parameter(description = "Groupe sanguin suivi (répétable)", example = "O-")
+            @RequestParam(name = "groupeSanguin", required = false) List<String> groupesSanguins) {
+        log.info("REST request pour suivre les modifications de patients");
+        SseEmitter emitter = patientChangeStreamService.subscribe(
+                lastEventId != null && !lastEventId.isBlank() ? lastEventId : since, patientIds, groupesSanguins);
+        // X-Accel-Buffering : pas de mise en mémoire tampon par un mandataire nginx placé devant la passerelle
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+    
+    /**
+     * Exporter toute la table des patients au format NDJSON
+     * @param gzip compresser la réponse en gzip
+     * @return le flux NDJSON, écrit au fil de la lecture de la base
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exporter tous les patients (NDJSON)",
+            description = "Exporte toute la table des patients en flux NDJSON (un patient par ligne), avec une mémoire constante côté serveur")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Flux NDJSON des patients",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = PatientDTO.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> exportPatients(
+            @Parameter(description = "Compresser le flux en gzip (Content-Encoding: gzip)", example = "false")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        log.info("REST request pour exporter tous les patients (gzip: {})", gzip);
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024, true);
+                patientExportService.exportNdjson(gzipOut);
+                gzipOut.finish();
+            } else {
+                patientExportService.exportNdjson(out);
+            }
+        };
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        headers.setContentDisposition(ContentDisposition.attachment().filename("patients.ndjson").build());
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+    
+    /**
+     * Importer un fichier CSV de patients par COPY
+     * @param body le contenu CSV, éventuellement compressé en gzip
+     * @param contentEncoding l'encodage du contenu (gzip ou absent)
+     * @param separator le séparateur de champs
+     * @param onConflict le traitement des NSS déjà présents en base
+     * @return le compte rendu de l'import
+     * @throws IOException si le fichier ne peut pas être lu
+     */
+    @PostMapping(value = "/imports", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @Operation(summary = "Importer un fichier CSV de patients",
+            description = "Lit le fichier en flux, valide les lignes en parallèle, les charge par COPY dans une table de transit "
+                    + "puis les fusionne dans la table des patients en une seule transaction. La ligne d'en-tête nomme les colonnes "
+                    + "(nom, prenom, dateNaissance, adresse et genre obligatoires). L'avancement est consultable sur GET /patients/imports.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import terminé, lignes refusées détaillées dans le compte rendu",
+                    content = @Content(schema = @Schema(implementation = PatientImportDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Fichier vide ou colonne obligatoire absente"),
+            @ApiResponse(responseCode = "500", description = "Import annulé, aucune ligne n'a été écrite",
+                    content = @Content(schema = @Schema(implementation = PatientImportDTO.class)))
+    })
+    public ResponseEntity<PatientImportDTO> importPatients(
+            InputStream body,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            @Parameter(description = "Séparateur de champs", example = ";")
+            @RequestParam(defaultValue = ",") char separator,
+            @Parameter(description = "Traitement des NSS déjà présents en base", example = "SKIP")
+            @RequestParam(defaultValue = "SKIP") ImportConflictMode onConflict) throws IOException {
+        log.info("REST request pour importer un fichier CSV de patients (conflits: {})", onConflict);
+        InputStream csv = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body, 64 * 1024) : body;
+        PatientImportDTO result = patientImportService.importCsv(csv, separator, onConflict);
+        HttpStatus status = result.getStatus() == ImportStatus.FAILED ? HttpStatus.INTERNAL_SERVER_ERROR : HttpStatus.OK;
+        return new ResponseEntity<>(result, status);
+    }
+    
+    /**
+     * Lister les imports en cours et récents
+     * @return l'avancement de chaque import
+     */
+    @GetMapping("/imports")
+    @Operation(summary = "Lister les imports CSV", description = "Avancement des imports en cours et comptes rendus des derniers imports terminés")
+    @ApiResponse(responseCode = "200", description = "Liste des imports")
+    public ResponseEntity<List<PatientImportDTO>> getImports() {
+        return ResponseEntity.ok(patientImportService.getImports());
+    }
+    
+    /**
+     * Obtenir l'avancement d'un import
+     * @param importId l'identifiant de l'import
+     * @return l'avancement ou le compte rendu de l'import
+     */
+    @GetMapping("/imports/{importId}")
+    @Operation(summary = "Obtenir l'avancement d'un import CSV", description = "Avancement ou compte rendu d'un import")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import trouvé",
+                    content = @Content(schema = @Schema(implementation = PatientImportDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Import inconnu")
+    })
+    public ResponseEntity<PatientImportDTO> getImport(
+            @Parameter(description = "ID de l'import", required = true)
+            @PathVariable String importId) {
+        return ResponseEntity.ok(patientImportService.getImport(importId));
     }
     
     /**
@@ -110,7 +375,7 @@ public class PatientController {
             @Valid @RequestBody PatientDTO patientDTO) {
         log.info("REST request pour mettre à jour le patient avec l'ID: {}", id);
         PatientDTO updatedPatient = patientService.updatePatient(id, patientDTO);
-        return ResponseEntity.ok(updatedPatient);
+        return ResponseEntity.ok().eTag(PatientETags.of(updatedPatient)).body(updatedPatient);
     }
     
     /**
@@ -135,39 +400,52 @@ public class PatientController {
     /**
      * Rechercher un patient par numéro de sécurité sociale
      * @param nss le numéro de sécurité sociale
-     * @return le patient trouvé
+     * @param webRequest la requête, pour la validation conditionnelle (If-None-Match)
+     * @return le patient trouvé, ou 304 si la version détenue par le client est à jour
      */
     @GetMapping("/search/nss/{nss}")
-    @Operation(summary = "Rechercher par numéro de sécurité sociale", description = "Trouve un patient par son numéro de sécurité sociale")
+    @Operation(summary = "Rechercher par numéro de sécurité sociale",
+            description = "Trouve un patient par son numéro de sécurité sociale. La réponse porte un ETag fort, "
+                    + "validé comme pour la lecture par ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Patient trouvé",
                     content = @Content(schema = @Schema(implementation = PatientDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Patient inchangé depuis l'ETag transmis"),
             @ApiResponse(responseCode = "404", description = "Patient non trouvé")
     })
     public ResponseEntity<PatientDTO> getPatientByNumeroSecuriteSociale(
             @Parameter(description = "Numéro de sécurité sociale", required = true, example = "123456789012345")
-            @PathVariable String nss) {
+            @PathVariable String nss,
+            WebRequest webRequest) {
         log.info("REST request pour obtenir le patient avec le NSS: {}", nss);
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(PatientETags.of(patientService.getPatientVersionByNumeroSecuriteSociale(nss)))) {
+            return null;
+        }
         PatientDTO patient = patientService.findByNumeroSecuriteSociale(nss);
-        return ResponseEntity.ok(patient);
+        return ResponseEntity.ok().eTag(PatientETags.of(patient)).body(patient);
     }
     
     /**
      * Rechercher des patients par nom ou prénom
      * @param query le terme de recherche
+     * @param limit le nombre maximal de résultats
      * @return la liste des patients correspondants
      */
     @GetMapping("/search")
-    @Operation(summary = "Rechercher par nom ou prénom", description = "Recherche des patients par nom ou prénom (recherche insensible à la casse)")
+    @Operation(summary = "Rechercher par nom ou prénom",
+            description = "Recherche des patients dont le nom ou le prénom contient le terme (insensible à la casse), classés par similarité")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Patients trouvés",
                     content = @Content(schema = @Schema(implementation = PatientDTO.class)))
     })
     public ResponseEntity<List<PatientDTO>> searchPatients(
             @Parameter(description = "Terme de recherche", required = true, example = "Ahmed")
-            @RequestParam String query) {
+            @RequestParam String query,
+            @Parameter(description = "Nombre maximal de résultats (borné par patient.search.max-limit)", example = "20")
+            @RequestParam(required = false) Integer limit) {
         log.info("REST request pour rechercher des patients avec le terme: {}", query);
-        List<PatientDTO> patients = patientService.searchPatientsByNameOrFirstname(query);
+        List<PatientDTO> patients = patientService.searchPatientsByNameOrFirstname(query, limit);
         return ResponseEntity.ok(patients);
     }
     
@@ -193,6 +471,135 @@ public class PatientController {
         return ResponseEntity.ok(patients);
     }
     
+    /**
+     * Statistiques de l'ensemble des patients
+     * @return la répartition par groupe sanguin, genre, tranche d'âge et ville
+     */
+    @GetMapping("/stats")
+    @Operation(summary = "Statistiques des patients",
+            description = "Nombre total de patients et répartition par groupe sanguin, genre, tranche d'âge et ville, "
+                    + "servis par des compteurs en mémoire tenus à jour à chaque écriture (sans requête en base une fois initialisés)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistiques des patients",
+                    content = @Content(schema = @Schema(implementation = PatientStatsDTO.class)))
+    })
+    public ResponseEntity<PatientStatsDTO> getStatistics() {
+        log.info("REST request pour obtenir les statistiques des patients");
+        return ResponseEntity.ok(patientService.getStatistics());
+    }
+    
+    /**
+     * Compter les patients nés entre deux dates
+     * @param debut la date de début
+     * @param fin la date de fin
+     * @return le nombre de patients
+     */
+    @GetMapping("/search/birthdate/count")
+    @Operation(summary = "Compter par période de naissance",
+            description = "Compte les patients nés entre deux dates, sans les charger (servi par l'index en mémoire une fois construit)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Nombre de patients",
+                    content = @Content(schema = @Schema(implementation = Long.class)))
+    })
+    public ResponseEntity<Long> countPatientsByBirthDateRange(
+            @Parameter(description = "Date de début (format: YYYY-MM-DD)", required = true, example = "1980-01-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate debut,
+            @Parameter(description = "Date de fin (format: YYYY-MM-DD)", required = true, example = "1990-12-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fin) {
+        log.info("REST request pour compter les patients nés entre {} et {}", debut, fin);
+        return ResponseEntity.ok(patientService.countPatientsByBirthDateRange(debut, fin));
+    }
+
+    /**
+     * Filtrer les patients sur plusieurs critères combinés
+     * @param groupesSanguins les groupes sanguins acceptés
+     * @param genres les genres acceptés
+     * @param debut la date de naissance minimale
+     * @param fin la date de naissance maximale
+     * @param cursor le curseur de la page précédente
+     * @param size la taille de page
+     * @return la page de patients correspondants
+     */
+    @GetMapping("/search/filter")
+    @Operation(summary = "Filtrer par critères combinés",
+            description = "Combine groupe sanguin, genre et période de naissance (ET entre critères, OU entre les valeurs "
+                    + "répétées d'un critère), évalués sur des index bitmap en mémoire. Résultats par ID croissant, paginés par curseur")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page de patients correspondants",
+                    content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Page inchangée depuis l'ETag transmis"),
+            @ApiResponse(responseCode = "400", description = "Curseur ou taille de page invalide")
+    })
+    public ResponseEntity<CursorPageDTO<PatientDTO>> filterPatients(
+            @Parameter(description = "Groupe sanguin accepté (répétable)", example = "O-")
+            @RequestParam(name = "groupeSanguin", required = false) List<String> groupesSanguins,
+            @Parameter(description = "Genre accepté (répétable)", example = "FEMME")
+            @RequestParam(name = "genre", required = false) List<GenreSexe> genres,
+            @Parameter(description = "Née le ou après (format: YYYY-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate debut,
+            @Parameter(description = "Née le ou avant (format: YYYY-MM-DD)", example = "1969-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fin,
+            @Parameter(description = "Curseur opaque de la page précédente")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Taille de page (bornée par patient.pagination.max-size)", example = "50")
+            @RequestParam(required = false) Integer size) {
+        log.info("REST request pour filtrer les patients");
+        PatientFilter filter = new PatientFilter(
+                groupesSanguins == null ? null : new HashSet<>(groupesSanguins),
+                genres == null ? null : new HashSet<>(genres),
+                debut, fin);
+        CursorPageDTO<PatientDTO> page = patientService.filterPatients(filter, cursor, size);
+        return ResponseEntity.ok().eTag(PatientETags.of(page)).body(page);
+    }
+    
+    /**
+     * Rechercher des patients sur plusieurs critères, avec les facettes des résultats
+     * @param query un terme contenu dans le nom ou le prénom
+     * @param groupesSanguins les groupes sanguins acceptés
+     * @param genres les genres acceptés
+     * @param villes les villes acceptées
+     * @param debut la date de naissance minimale
+     * @param fin la date de naissance maximale
+     * @param cursor le curseur de la page précédente
+     * @param size la taille de page
+     * @return la page de patients correspondants et la répartition de l'ensemble des résultats
+     */
+    @GetMapping("/search/faceted")
+    @Operation(summary = "Recherche multicritère avec facettes",
+            description = "Combine nom/prénom, période de naissance, groupe sanguin, genre et ville (ET entre critères, OU entre "
+                    + "les valeurs répétées d'un critère). Renvoie une page de résultats par ID croissant, le nombre total de "
+                    + "résultats et leur répartition par groupe sanguin, genre et décennie de naissance")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page de résultats et facettes",
+                    content = @Content(schema = @Schema(implementation = FacetedSearchResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Terme trop court, curseur ou taille de page invalide")
+    })
+    public ResponseEntity<FacetedSearchResultDTO> facetedSearch(
+            @Parameter(description = "Terme contenu dans le nom ou le prénom (3 caractères au moins)", example = "alaoui")
+            @RequestParam(required = false) String query,
+            @Parameter(description = "Groupe sanguin accepté (répétable)", example = "O-")
+            @RequestParam(name = "groupeSanguin", required = false) List<String> groupesSanguins,
+            @Parameter(description = "Genre accepté (répétable)", example = "FEMME")
+            @RequestParam(name = "genre", required = false) List<GenreSexe> genres,
+            @Parameter(description = "Ville acceptée, extraite de l'adresse (répétable)", example = "Casablanca")
+            @RequestParam(name = "ville", required = false) List<String> villes,
+            @Parameter(description = "Né le ou après (format: YYYY-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate debut,
+            @Parameter(description = "Né le ou avant (format: YYYY-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fin,
+            @Parameter(description = "Curseur opaque de la page précédente")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Taille de page (bornée par patient.pagination.max-size)", example = "50")
+            @RequestParam(required = false) Integer size) {
+        log.info("REST request pour une recherche multicritère");
+        PatientFilter filter = new PatientFilter(
+                groupesSanguins == null ? null : new HashSet<>(groupesSanguins),
+                genres == null ? null : new HashSet<>(genres),
+                debut, fin, query,
+                villes == null ? null : new HashSet<>(villes));
+        return ResponseEntity.ok(patientService.facetedSearch(filter, cursor, size));
+    }
+    
     /**
      * Rechercher des patients par groupe sanguin
      * @param groupe le groupe sanguin
@@ -0,0 +1,65 @@
+package com.exemple.patient_service.controller;
+
+import com.exemple.patient_service.dto.CursorPageDTO;
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.dto.PatientVersion;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * ETags forts des réponses patient.
+ * <p>
+ * Un patient est identifié par son ID et sa version, incrémentée à chaque modification : l'ETag se calcule
+ * sans sérialiser le DTO, et se revalide à partir de la seule version. L'ID distingue un patient recréé
+ * avec le même numéro de sécurité sociale. L'ETag d'une page condense les ID et versions de ses patients
+ * ainsi que le curseur suivant.
+ */
+final class PatientETags {
+
+    private PatientETags() {
+    }
+
+    /**
+     * @param version l'identifiant et la version du patient
+     * @return l'ETag fort du patient
+     */
+    static String of(PatientVersion version) {
+        return "\"" + version.id() + "-" + version.version() + "\"";
+    }
+
+    /**
+     * @param patientDTO le patient
+     * @return l'ETag fort du patient
+     */
+    static String of(PatientDTO patientDTO) {
+        return of(PatientVersion.of(patientDTO));
+    }
+
+    /**
+     * @param page une page de patients
+     * @return l'ETag fort de la page
+     */
+    static String of(CursorPageDTO<PatientDTO> page) {
+        MessageDigest digest = sha256();
+        StringBuilder key = new StringBuilder(page.getContent().size() * 16 + 64);
+        for (PatientDTO patient : page.getContent()) {
+            key.append(patient.getId()).append('-').append(patient.getVersion()).append(';');
+        }
+        key.append(page.getSize()).append(';').append(page.isHasNext()).append(';').append(page.getNextCursor());
+        byte[] hash = digest.digest(key.toString().getBytes(StandardCharsets.UTF_8));
+        // 128 bits suffisent à distinguer deux états d'une même page
+        return "\"p-" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16)) + "\"";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponible", ex);
+        }
+    }
+}
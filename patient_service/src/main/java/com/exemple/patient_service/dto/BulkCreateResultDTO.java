@@ -0,0 +1,29 @@
+package com.exemple.patient_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Compte rendu d'une création de patients en masse")
+public class BulkCreateResultDTO {
+
+    @Schema(description = "Nombre de patients reçus", example = "1000")
+    private int received;
+
+    @Schema(description = "Nombre de patients créés", example = "998")
+    private int created;
+
+    @Schema(description = "Nombre de patients refusés", example = "2")
+    private int failed;
+
+    @Schema(description = "Patients refusés, par position croissante")
+    private List<BulkItemErrorDTO> errors;
+}
@@ -0,0 +1,26 @@
+package com.exemple.patient_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Patient refusé lors d'une création en masse")
+public class BulkItemErrorDTO {
+
+    @Schema(description = "Position du patient dans la liste envoyée (à partir de 0)", example = "12")
+    private int index;
+
+    @Schema(description = "Numéro de sécurité sociale du patient refusé", example = "123456789012345")
+    private String numeroSecuriteSociale;
+
+    @Schema(description = "Motifs du refus")
+    private List<String> messages;
+}
@@ -0,0 +1,29 @@
+package com.exemple.patient_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Page de résultats paginée par curseur")
+public class CursorPageDTO<T> {
+
+    @Schema(description = "Éléments de la page courante")
+    private List<T> content;
+
+    @Schema(description = "Taille de page appliquée", example = "50")
+    private int size;
+
+    @Schema(description = "Indique s'il existe une page suivante", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Curseur opaque à transmettre pour obtenir la page suivante", example = "SUQ6NTA6NTA")
+    private String nextCursor;
+}
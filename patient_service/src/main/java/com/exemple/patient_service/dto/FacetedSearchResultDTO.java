@@ -0,0 +1,35 @@
+package com.exemple.patient_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Page de résultats d'une recherche multicritère, avec les facettes de l'ensemble des résultats")
+public class FacetedSearchResultDTO {
+
+    @Schema(description = "Patients de la page courante, par ID croissant")
+    private List<PatientDTO> content;
+
+    @Schema(description = "Taille de page appliquée", example = "50")
+    private int size;
+
+    @Schema(description = "Indique s'il existe une page suivante", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Curseur opaque à transmettre pour obtenir la page suivante", example = "SUQ6NTA6")
+    private String nextCursor;
+
+    @Schema(description = "Nombre total de patients correspondant aux critères", example = "155")
+    private long total;
+
+    @Schema(description = "Répartition de l'ensemble des patients correspondant aux critères")
+    private PatientFacetsDTO facets;
+}
@@ -0,0 +1,26 @@
+package com.exemple.patient_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Ligne refusée lors d'un import CSV")
+public class ImportRejectDTO {
+
+    @Schema(description = "Numéro de la ligne dans le fichier (l'en-tête est la ligne 1)", example = "42")
+    private long line;
+
+    @Schema(description = "Numéro de sécurité sociale de la ligne refusée", example = "123456789012345")
+    private String numeroSecuriteSociale;
+
+    @Schema(description = "Motifs du refus")
+    private List<String> messages;
+}
@@ -0,0 +1,41 @@
+package com.exemple.patient_service.dto;
+
+import com.exemple.patient_service.enums.PatientChangeType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Modification d'un patient lue dans le journal des modifications")
+public class PatientChangeDTO {
+
+    @Schema(description = "Numéro de séquence de la modification", example = "1042")
+    private long sequence;
+
+    @Schema(description = "Curseur de reprise juste après cette modification (identifiant d'événement du flux SSE)",
+            example = "QzoyMTE1OjM")
+    private String cursor;
+
+    @Schema(description = "Nature de la modification", example = "UPDATED")
+    private PatientChangeType type;
+
+    @Schema(description = "Identifiant du patient modifié", example = "1")
+    private Long patientId;
+
+    @Schema(description = "Version du patient produite par la modification (version supprimée pour DELETED)", example = "3")
+    private Long version;
+
+    @Schema(description = "Instant de la modification", example = "2024-01-20T14:02:45.012345Z")
+    private Instant changedAt;
+
+    @Schema(description = "État actuel du patient, absent s'il a été supprimé depuis. Peut être plus récent que la "
+            + "modification : l'appliquer si sa version dépasse celle déjà connue")
+    private PatientDTO patient;
+}
@@ -4,6 +4,7 @@ import com.exemple.patient_service.enums.GenreSexe;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import jakarta.validation.constraints.*;
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Data
@@ -61,9 +62,13 @@ public class PatientDTO {
     @Pattern(regexp = "^(A|B|AB|O)[+-]$", message = "Le groupe sanguin doit être au format valide (ex: A+, O-, AB+)")
     private String groupeSanguin;
     
-    @Schema(description = "Date de création du patient", example = "2024-01-15")
-    private LocalDate createdAt;
+    @Schema(description = "Instant de création du patient", example = "2024-01-15T09:30:12.345678Z")
+    private Instant createdAt;
     
-    @Schema(description = "Date de dernière modification du patient", example = "2024-01-20")
-    private LocalDate updatedAt;
+    @Schema(description = "Instant de dernière modification du patient", example = "2024-01-20T14:02:45.012345Z")
+    private Instant updatedAt;
+    
+    @Schema(description = "Version du patient, incrémentée à chaque modification (base de l'ETag)", example = "3",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    private Long version;
 } 
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.exemple.patient_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Répartition de l'ensemble des patients retenus par un filtre (valeurs absentes omises)")
+public class PatientFacetsDTO {
+
+    @Schema(description = "Nombre de patients par groupe sanguin", example = "{\"A+\": 120, \"O-\": 35}")
+    private Map<String, Long> groupeSanguin;
+
+    @Schema(description = "Nombre de patients par genre", example = "{\"FEMME\": 80, \"HOMME\": 75}")
+    private Map<String, Long> genre;
+
+    @Schema(description = "Nombre de patients par décennie de naissance", example = "{\"1960\": 40, \"1970\": 52}")
+    private Map<Integer, Long> decennie;
+}
@@ -0,0 +1,62 @@
+package com.exemple.patient_service.dto;
+
+import com.exemple.patient_service.enums.ImportConflictMode;
+import com.exemple.patient_service.enums.ImportStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Avancement et compte rendu d'un import CSV de patients")
+public class PatientImportDTO {
+
+    @Schema(description = "Identifiant de l'import", example = "3f2b8c1e-7d4a-4c55-9a51-1b2d3e4f5a6b")
+    private String id;
+
+    @Schema(description = "Étape en cours ou état final", example = "COMPLETED")
+    private ImportStatus status;
+
+    @Schema(description = "Traitement des NSS déjà présents en base", example = "SKIP")
+    private ImportConflictMode conflictMode;
+
+    @Schema(description = "Début de l'import")
+    private Instant startedAt;
+
+    @Schema(description = "Fin de l'import (null tant qu'il est en cours)")
+    private Instant finishedAt;
+
+    @Schema(description = "Enregistrements lus, en-tête exclu", example = "1000000")
+    private long rowsRead;
+
+    @Schema(description = "Lignes valides chargées dans la table de transit", example = "999000")
+    private long rowsLoaded;
+
+    @Schema(description = "Lignes refusées à la validation", example = "1000")
+    private long rowsRejected;
+
+    @Schema(description = "Lignes écartées au profit d'une ligne ultérieure de même NSS", example = "0")
+    private long duplicatesInFile;
+
+    @Schema(description = "Patients créés", example = "998000")
+    private long inserted;
+
+    @Schema(description = "Patients existants mis à jour (mode UPDATE)", example = "0")
+    private long updated;
+
+    @Schema(description = "Lignes ignorées car leur NSS existait déjà (mode SKIP)", example = "1000")
+    private long skipped;
+
+    @Schema(description = "Cause de l'échec de l'import")
+    private String error;
+
+    @Schema(description = "Premières lignes refusées (liste bornée, voir rowsRejected pour le total)")
+    private List<ImportRejectDTO> rejects;
+}
@@ -0,0 +1,34 @@
+package com.exemple.patient_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Répartition de l'ensemble des patients (valeurs inconnues comptées dans le total seulement)")
+public class PatientStatsDTO {
+
+    @Schema(description = "Nombre total de patients (approché pendant des écritures concurrentes)", example = "1000000")
+    private long total;
+
+    @Schema(description = "Nombre de patients par groupe sanguin", example = "{\"A+\": 340000, \"O-\": 70000}")
+    private Map<String, Long> groupeSanguin;
+
+    @Schema(description = "Nombre de patients par genre", example = "{\"FEMME\": 510000, \"HOMME\": 490000}")
+    private Map<String, Long> genre;
+
+    @Schema(description = "Nombre de patients par tranche d'âge, de la plus jeune à la plus âgée",
+            example = "{\"0-17\": 0, \"18-29\": 180000, \"75+\": 20000}")
+    private Map<String, Long> trancheAge;
+
+    @Schema(description = "Nombre de patients par ville (extraite de l'adresse, en minuscules)",
+            example = "{\"casablanca\": 250000, \"rabat\": 120000}")
+    private Map<String, Long> ville;
+}
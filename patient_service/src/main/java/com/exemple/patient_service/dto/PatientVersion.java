@@ -0,0 +1,17 @@
+package com.exemple.patient_service.dto;
+
+/**
+ * Identifiant et version d'un patient, lus sans hydrater le DTO pour valider un ETag
+ * @param id l'identifiant du patient
+ * @param version la version du patient (verrou optimiste)
+ */
+public record PatientVersion(Long id, Long version) {
+
+    /**
+     * @param patientDTO l'état d'un patient
+     * @return son identifiant et sa version
+     */
+    public static PatientVersion of(PatientDTO patientDTO) {
+        return new PatientVersion(patientDTO.getId(), patientDTO.getVersion());
+    }
+}
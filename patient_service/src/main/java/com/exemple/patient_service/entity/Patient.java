@@ -3,10 +3,15 @@ package com.exemple.patient_service.entity;
 import com.exemple.patient_service.enums.GenreSexe;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "patients")
+@Table(name = "patients", indexes = {
+        @Index(name = "idx_patients_nom_id", columnList = "nom, id"),
+        @Index(name = "idx_patients_date_naissance_id", columnList = "dateNaissance, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,7 +20,9 @@ import java.time.LocalDate;
 public class Patient {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Séquence allouée par blocs (optimiseur pooled) : contrairement à IDENTITY, permet les INSERT en lots JDBC
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "patients_seq")
+    @SequenceGenerator(name = "patients_seq", sequenceName = "patients_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, length = 100)
@@ -50,19 +57,26 @@ public class Patient {
     private String groupeSanguin;
     
     @Column(name = "created_at")
-    private LocalDate createdAt;
+    private Instant createdAt;
     
     @Column(name = "updated_at")
-    private LocalDate updatedAt;
+    private Instant updatedAt;
+    
+    // Verrou optimiste et source des ETags ; la valeur par défaut couvre les lignes existantes et celles insérées en SQL (import COPY)
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
     
     @PrePersist
     protected void onCreate() {
-        this.createdAt = LocalDate.now();
-        this.updatedAt = LocalDate.now();
+        Instant now = Instant.now();
+        this.createdAt = now;
+        this.updatedAt = now;
     }
     
     @PreUpdate
     protected void onUpdate() {
-        this.updatedAt = LocalDate.now();
+        this.updatedAt = Instant.now();
     }
 } 
\ No newline at end of file
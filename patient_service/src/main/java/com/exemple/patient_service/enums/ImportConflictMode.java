@@ -0,0 +1,15 @@
+package com.exemple.patient_service.enums;
+
+/**
+ * Traitement d'une ligne importée dont le numéro de sécurité sociale existe déjà en base
+ */
+public enum ImportConflictMode {
+    /**
+     * Conserver le patient existant et ignorer la ligne
+     */
+    SKIP,
+    /**
+     * Remplacer les données du patient existant par celles de la ligne
+     */
+    UPDATE
+}
@@ -0,0 +1,17 @@
+package com.exemple.patient_service.enums;
+
+/**
+ * Avancement d'un import de patients
+ */
+public enum ImportStatus {
+    /**
+     * Lecture, validation et chargement des lignes dans la table de transit
+     */
+    LOADING,
+    /**
+     * Fusion de la table de transit dans la table des patients
+     */
+    MERGING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,19 @@
+package com.exemple.patient_service.enums;
+
+/**
+ * Stratégie de la recherche de patients par nom ou prénom
+ */
+public enum NameSearchMode {
+    /**
+     * Index trigramme PostgreSQL (pg_trgm) si l'extension est disponible, index n-gramme en mémoire sinon
+     */
+    AUTO,
+    /**
+     * Index GIN pg_trgm géré par le service
+     */
+    DATABASE,
+    /**
+     * Index n-gramme en mémoire, maintenu par les écritures du service
+     */
+    MEMORY
+}
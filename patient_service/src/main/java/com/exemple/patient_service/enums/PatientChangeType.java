@@ -0,0 +1,10 @@
+package com.exemple.patient_service.enums;
+
+/**
+ * Nature d'une modification apportée à un patient
+ */
+public enum PatientChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,11 @@
+package com.exemple.patient_service.enums;
+
+/**
+ * Clés de tri disponibles pour la pagination par curseur des patients.
+ * L'identifiant sert toujours de départage pour garantir un ordre total.
+ */
+public enum PatientSort {
+    ID,
+    NOM,
+    DATE_NAISSANCE
+}
@@ -0,0 +1,28 @@
+package com.exemple.patient_service.event;
+
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.enums.PatientChangeType;
+
+/**
+ * Événement publié par le service à chaque création, mise à jour ou suppression d'un patient.
+ * Les index en mémoire et les caches s'y abonnent pour rester cohérents avec la base.
+ *
+ * @param type la nature de la modification
+ * @param patientId l'identifiant du patient
+ * @param before l'état du patient avant la modification (null pour une création)
+ * @param after l'état du patient après la modification (null pour une suppression)
+ */
+public record PatientChangedEvent(PatientChangeType type, Long patientId, PatientDTO before, PatientDTO after) {
+
+    public static PatientChangedEvent created(PatientDTO after) {
+        return new PatientChangedEvent(PatientChangeType.CREATED, after.getId(), null, after);
+    }
+
+    public static PatientChangedEvent updated(PatientDTO before, PatientDTO after) {
+        return new PatientChangedEvent(PatientChangeType.UPDATED, after.getId(), before, after);
+    }
+
+    public static PatientChangedEvent deleted(Long patientId, PatientDTO before) {
+        return new PatientChangedEvent(PatientChangeType.DELETED, patientId, before, null);
+    }
+}
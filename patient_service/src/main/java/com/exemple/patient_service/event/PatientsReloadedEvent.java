@@ -0,0 +1,11 @@
+package com.exemple.patient_service.event;
+
+/**
+ * Événement publié après une écriture en masse qui contourne le service (import COPY, génération de données) :
+ * les index en mémoire doivent être reconstruits et les caches vidés.
+ *
+ * @param source l'origine du rechargement (journaux)
+ * @param rows le nombre de patients écrits
+ */
+public record PatientsReloadedEvent(String source, long rows) {
+}
@@ -0,0 +1,14 @@
+package com.exemple.patient_service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.GONE)
+public class CursorExpiredException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CursorExpiredException(String message) {
+        super(message);
+    }
+}
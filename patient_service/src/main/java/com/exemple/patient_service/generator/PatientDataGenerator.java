@@ -0,0 +1,130 @@
+package com.exemple.patient_service.generator;
+
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.enums.GenreSexe;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Générateur de patients marocains fictifs, déterministe : le contenu d'un lot ne dépend que de la graine
+ * et du numéro du lot, pas du thread qui le produit ni de l'ordre d'exécution des lots.
+ */
+public final class PatientDataGenerator {
+
+    /**
+     * Nombre maximal de patients distincts : le NSS se termine par le rang du patient sur 8 chiffres
+     */
+    public static final long MAX_PATIENTS = 100_000_000L;
+
+    // Noms marocains courants
+    private static final String[] NOMS = {"Alaoui", "Touijer", "Cherkaoui", "Daoudi", "El Amrani", "Fassi", "Gharbi", "Hassani",
+            "Idrissi", "Jabri", "Khalil", "Lahlou", "Mansouri", "Naciri", "Ouali", "Pacha",
+            "Qadiri", "Rahmani", "Saidi", "Tazi", "Uthman", "Vaziri", "Wahbi", "Yousfi", "Zahraoui"};
+
+    private static final String[] PRENOMS = {"Ahmed", "Mohammed", "Hassan", "Youssef", "Omar", "Fatima", "Amina", "Khadija",
+            "Zineb", "Sara", "Layla", "Nour", "Yasmin", "Hanae", "Salma", "Imane",
+            "Karim", "Adil", "Bilal", "Tarik", "Samir", "Nabil", "Rachid", "Jamal", "Hicham"};
+
+    private static final String[] RUES = {"Rue Mohammed V", "Avenue Hassan II", "Boulevard Mohammed VI", "Rue Al Qods",
+            "Avenue Palestine", "Boulevard Zerktouni", "Rue Ibn Batouta", "Avenue Ibn Sina",
+            "Boulevard Al Massira", "Rue Al Akkari", "Avenue Al Fida", "Boulevard Al Wahda"};
+
+    private static final String[] VILLES = {"Casablanca", "Rabat", "Fès", "Marrakech", "Agadir", "Tanger", "Meknès",
+            "Oujda", "Kénitra", "Tétouan", "Safi", "El Jadida", "Béni Mellal", "Taza"};
+
+    private static final String[] GROUPES_SANGUINS = {"A+", "A-", "B+", "B-", "AB+", "AB-", "O+", "O-"};
+
+    private static final String[] ANTECEDENTS = {"Diabète de type 2", "Hypertension artérielle", "Asthme", "Allergie aux arachides",
+            "Opération appendicite", "Fracture bras droit", "Aucun", "Migraine chronique",
+            "Glaucome", "Maladie de Crohn", "Aucun antécédent", "Allergie au lactose"};
+
+    private static final String[] NOMS_MINUSCULES = lowerCase(NOMS);
+    private static final String[] PRENOMS_MINUSCULES = lowerCase(PRENOMS);
+
+    private PatientDataGenerator() {
+    }
+
+    /**
+     * Générateur aléatoire d'un lot
+     * @param seed la graine du jeu de données
+     * @param chunk le numéro du lot
+     * @return un générateur indépendant de ceux des autres lots
+     */
+    public static SplittableRandom randomForChunk(long seed, long chunk) {
+        // Mélange de SplitMix64 pour que des lots voisins aient des suites sans rapport entre elles
+        long z = seed + (chunk + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return new SplittableRandom(z ^ (z >>> 31));
+    }
+
+    /**
+     * Générer un patient
+     * @param random le générateur du lot
+     * @param index le rang du patient dans le jeu de données, qui rend son NSS unique
+     * @return le patient, sans identifiant
+     */
+    public static PatientDTO generate(SplittableRandom random, long index) {
+        GenreSexe genre = random.nextBoolean() ? GenreSexe.HOMME : GenreSexe.FEMME;
+
+        int nomIndex = random.nextInt(NOMS.length);
+        // Choisir un prénom en fonction du genre
+        int prenomIndex = genre == GenreSexe.HOMME ? random.nextInt(15) : random.nextInt(10) + 15;
+
+        // Date de naissance entre 1950 et 2005
+        int year = 1950 + random.nextInt(55);
+        int month = 1 + random.nextInt(12);
+        int day = 1 + random.nextInt(28);
+
+        // Adresse marocaine
+        StringBuilder adresse = new StringBuilder(64)
+                .append(1 + random.nextInt(100)).append(' ')
+                .append(RUES[random.nextInt(RUES.length)]).append(", ");
+        appendDigits(adresse, 10000 + random.nextInt(90000), 5);
+        adresse.append(' ').append(VILLES[random.nextInt(VILLES.length)]).append(", Maroc");
+
+        // Numéro de téléphone marocain (format +212)
+        StringBuilder telephone = new StringBuilder(13).append("+212").append(random.nextInt(5) + 6);
+        for (int i = 0; i < 8; i++) {
+            telephone.append((char) ('0' + random.nextInt(10)));
+        }
+
+        // NSS : sexe, année, mois, région puis rang du patient sur 8 chiffres (15 chiffres, unique)
+        StringBuilder nss = new StringBuilder(15).append(genre == GenreSexe.HOMME ? '1' : '2');
+        appendDigits(nss, year % 100, 2);
+        appendDigits(nss, month, 2);
+        appendDigits(nss, random.nextInt(95) + 1, 2);
+        appendDigits(nss, index % MAX_PATIENTS, 8);
+
+        return PatientDTO.builder()
+                .nom(NOMS[nomIndex])
+                .prenom(PRENOMS[prenomIndex])
+                .dateNaissance(LocalDate.of(year, month, day))
+                .telephone(telephone.toString())
+                .adresse(adresse.toString())
+                .email(PRENOMS_MINUSCULES[prenomIndex] + "." + NOMS_MINUSCULES[nomIndex] + "@gmail.com")
+                .genre(genre)
+                .antecedentsMedicaux(ANTECEDENTS[random.nextInt(ANTECEDENTS.length)])
+                .numeroSecuriteSociale(nss.toString())
+                .groupeSanguin(GROUPES_SANGUINS[random.nextInt(GROUPES_SANGUINS.length)])
+                .build();
+    }
+
+    private static void appendDigits(StringBuilder out, long value, int width) {
+        String digits = Long.toString(value);
+        for (int i = digits.length(); i < width; i++) {
+            out.append('0');
+        }
+        out.append(digits);
+    }
+
+    private static String[] lowerCase(String[] values) {
+        String[] lower = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            lower[i] = values[i].toLowerCase(Locale.ROOT);
+        }
+        return lower;
+    }
+}
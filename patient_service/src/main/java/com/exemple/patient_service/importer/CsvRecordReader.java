@@ -0,0 +1,116 @@
+package com.exemple.patient_service.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lecteur CSV en flux (RFC 4180) : champs entre guillemets, guillemets doublés, retours à la ligne
+ * dans les champs, fins de ligne LF ou CRLF. Seul l'enregistrement courant est gardé en mémoire.
+ */
+public class CsvRecordReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char separator;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long lineNumber = 1;
+    private long recordLine;
+
+    public CsvRecordReader(Reader reader, char separator) {
+        this.reader = reader;
+        this.separator = separator;
+    }
+
+    /**
+     * Lire l'enregistrement suivant
+     * @return les champs de l'enregistrement, ou null en fin de fichier
+     * @throws IOException en cas d'erreur de lecture ou de guillemet non refermé
+     */
+    public String[] next() throws IOException {
+        if (!fill()) {
+            return null;
+        }
+        // Marque d'ordre des octets en tête de fichier (exports Excel)
+        if (lineNumber == 1 && position == 0 && buffer[0] == '\uFEFF') {
+            position++;
+        }
+        recordLine = lineNumber;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStarted = false;
+
+        while (fill()) {
+            char c = buffer[position++];
+            if (quoted) {
+                if (c == '"') {
+                    if (fill() && buffer[position] == '"') {
+                        field.append('"');
+                        position++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append(c);
+                }
+            } else if (c == '"' && !fieldStarted) {
+                quoted = true;
+                fieldStarted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStarted = false;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && fill() && buffer[position] == '\n') {
+                    position++;
+                }
+                lineNumber++;
+                fields.add(field.toString());
+                return fields.toArray(String[]::new);
+            } else {
+                field.append(c);
+                fieldStarted = true;
+            }
+        }
+
+        if (quoted) {
+            throw new IOException("Guillemet non refermé dans l'enregistrement commençant ligne " + recordLine);
+        }
+        fields.add(field.toString());
+        return fields.toArray(String[]::new);
+    }
+
+    /**
+     * @return le numéro de ligne (à partir de 1) où commence le dernier enregistrement lu
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        limit = reader.read(buffer, 0, buffer.length);
+        position = 0;
+        if (limit <= 0) {
+            limit = 0;
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,26 @@
+package com.exemple.patient_service.importer;
+
+/**
+ * Résultat de la fusion de la table de transit dans la table des patients
+ *
+ * @param staged les lignes chargées dans la table de transit
+ * @param distinct les lignes restantes après élimination des NSS en double dans le fichier
+ * @param inserted les patients créés
+ * @param updated les patients existants mis à jour
+ */
+public record MergeResult(long staged, long distinct, long inserted, long updated) {
+
+    /**
+     * @return les lignes écartées car leur NSS existait déjà en base (mode SKIP)
+     */
+    public long skipped() {
+        return distinct - inserted - updated;
+    }
+
+    /**
+     * @return les lignes écartées car une ligne plus loin dans le fichier avait le même NSS
+     */
+    public long duplicatesInFile() {
+        return staged - distinct;
+    }
+}
@@ -0,0 +1,58 @@
+package com.exemple.patient_service.importer;
+
+import com.exemple.patient_service.dto.PatientDTO;
+
+/**
+ * Encodage des patients au format texte de {@code COPY ... FROM STDIN} (tabulations, {@code \N} pour null),
+ * dans l'ordre des colonnes de {@link #COLUMNS}
+ */
+public final class PatientCopyEncoder {
+
+    /**
+     * Colonnes alimentées par {@link #append}, la première étant le numéro de ligne d'origine
+     */
+    public static final String COLUMNS = "line, nom, prenom, date_naissance, telephone, adresse, email, genre, "
+            + "antecedents_medicaux, numero_securite_sociale, groupe_sanguin";
+
+    private PatientCopyEncoder() {
+    }
+
+    /**
+     * Ajouter un patient sous forme de ligne COPY
+     * @param out le tampon de sortie
+     * @param line le numéro de ligne d'origine (le plus grand l'emporte en cas de NSS en double)
+     * @param patient le patient
+     */
+    public static void append(StringBuilder out, long line, PatientDTO patient) {
+        out.append(line);
+        field(out, patient.getNom());
+        field(out, patient.getPrenom());
+        field(out, patient.getDateNaissance() == null ? null : patient.getDateNaissance().toString());
+        field(out, patient.getTelephone());
+        field(out, patient.getAdresse());
+        field(out, patient.getEmail());
+        field(out, patient.getGenre() == null ? null : patient.getGenre().name());
+        field(out, patient.getAntecedentsMedicaux());
+        field(out, patient.getNumeroSecuriteSociale());
+        field(out, patient.getGroupeSanguin());
+        out.append('\n');
+    }
+
+    private static void field(StringBuilder out, String value) {
+        out.append('\t');
+        if (value == null) {
+            out.append("\\N");
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '\t' -> out.append("\\t");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                default -> out.append(c);
+            }
+        }
+    }
+}
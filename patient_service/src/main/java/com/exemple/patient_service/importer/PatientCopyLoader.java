@@ -0,0 +1,127 @@
+package com.exemple.patient_service.importer;
+
+import com.exemple.patient_service.enums.ImportConflictMode;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Chargement de patients par le protocole COPY de PostgreSQL : les lignes sont copiées dans une table
+ * de transit temporaire, puis fusionnées dans {@code patients} par une seule instruction ensembliste.
+ * <p>
+ * Toutes les opérations s'exécutent sur la connexion fournie, dans la transaction de l'appelant :
+ * la table de transit disparaît à la validation.
+ */
+@Component
+@Slf4j
+public class PatientCopyLoader {
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE patients_import (
+                line bigint NOT NULL,
+                nom text, prenom text, date_naissance date, telephone text, adresse text, email text,
+                genre text, antecedents_medicaux text, numero_securite_sociale text, groupe_sanguin text
+            ) ON COMMIT DROP""";
+
+    /*
+     * Un NSS présent plusieurs fois dans le fichier : la dernière ligne l'emporte.
+     * Les identifiants sont pris par blocs dans patients_seq, comme le fait l'optimiseur pooled d'Hibernate :
+     * chaque nextval réserve le bloc ]hi - increment, hi], que Hibernate ne distribuera pas.
+     */
+    private static final String MERGE = """
+            WITH source AS (
+                SELECT DISTINCT ON (coalesce(numero_securite_sociale, '#' || line)) *
+                FROM patients_import
+                ORDER BY coalesce(numero_securite_sociale, '#' || line), line DESC
+            ), numbered AS (
+                SELECT source.*, row_number() OVER () - 1 AS rn FROM source
+            ), blocks AS (
+                SELECT nextval('patients_seq') AS hi, row_number() OVER () - 1 AS block
+                FROM generate_series(1, (SELECT (count(*) + ? - 1) / ? FROM numbered))
+            ), merged AS (
+                INSERT INTO patients (id, nom, prenom, date_naissance, telephone, adresse, email, genre,
+                                      antecedents_medicaux, numero_securite_sociale, groupe_sanguin, created_at, updated_at)
+                SELECT b.hi - ? + 1 + n.rn % ?, n.nom, n.prenom, n.date_naissance, n.telephone, n.adresse, n.email, n.genre,
+                       n.antecedents_medicaux, n.numero_securite_sociale, n.groupe_sanguin, now(), now()
+                FROM numbered n JOIN blocks b ON b.block = n.rn / ?
+                ON CONFLICT (numero_securite_sociale) DO {conflict_action}
+                RETURNING id, version, (xmax = 0) AS inserted
+            ){change_log}
+            SELECT (SELECT count(*) FROM patients_import),
+                   (SELECT count(*) FROM source),
+                   count(*) FILTER (WHERE inserted),
+                   count(*) FILTER (WHERE NOT inserted)
+            FROM merged""";
+
+    // Journal des modifications écrit par la même instruction, donc dans la même transaction que la fusion
+    private static final String CHANGE_LOG = """
+            , logged AS (
+                INSERT INTO patient_changes (patient_id, change_type, patient_version)
+                SELECT id, CASE WHEN inserted THEN 'CREATED' ELSE 'UPDATED' END, version FROM merged
+            )""";
+
+    private static final String UPDATE_ON_CONFLICT = """
+            UPDATE SET nom = EXCLUDED.nom, prenom = EXCLUDED.prenom, date_naissance = EXCLUDED.date_naissance,
+                       telephone = EXCLUDED.telephone, adresse = EXCLUDED.adresse, email = EXCLUDED.email,
+                       genre = EXCLUDED.genre, antecedents_medicaux = EXCLUDED.antecedents_medicaux,
+                       groupe_sanguin = EXCLUDED.groupe_sanguin, updated_at = now(),
+                       version = patients.version + 1""";
+
+    /**
+     * Créer la table de transit et ouvrir le flux COPY vers elle
+     * @param connection une connexion PostgreSQL hors auto-commit
+     * @return le flux COPY, qui attend des lignes produites par {@link PatientCopyEncoder}
+     * @throws SQLException en cas d'erreur SQL
+     */
+    public CopyIn beginCopy(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING);
+        }
+        return connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY patients_import (" + PatientCopyEncoder.COLUMNS + ") FROM STDIN");
+    }
+
+    /**
+     * Fusionner la table de transit dans la table des patients
+     * @param connection la connexion qui a chargé la table de transit
+     * @param conflictMode le traitement des NSS déjà présents en base
+     * @param logChanges inscrire chaque patient créé ou mis à jour dans le journal patient_changes
+     * @return les volumes chargés, créés et mis à jour
+     * @throws SQLException en cas d'erreur SQL
+     */
+    public MergeResult merge(Connection connection, ImportConflictMode conflictMode, boolean logChanges) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE patients_import");
+        }
+        long increment = sequenceIncrement(connection);
+        String sql = MERGE.replace("{conflict_action}", conflictMode == ImportConflictMode.UPDATE ? UPDATE_ON_CONFLICT : "NOTHING")
+                .replace("{change_log}", logChanges ? CHANGE_LOG : "");
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= 5; i++) {
+                statement.setLong(i, increment);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return new MergeResult(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4));
+            }
+        }
+    }
+
+    private static long sequenceIncrement(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT increment_by FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = 'patients_seq'")) {
+            if (!rs.next()) {
+                throw new SQLException("Séquence patients_seq introuvable");
+            }
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.exemple.patient_service.importer;
+
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.enums.GenreSexe;
+import com.exemple.patient_service.exception.BadRequestException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Correspondance entre les colonnes d'un fichier CSV et les champs d'un {@link PatientDTO}.
+ * <p>
+ * Les en-têtes sont reconnus sans tenir compte de la casse ni des soulignés :
+ * {@code dateNaissance}, {@code date_naissance} et {@code DATE_NAISSANCE} désignent la même colonne.
+ * Une cellule vide vaut null.
+ */
+public final class PatientCsvMapping {
+
+    private static final List<String> FIELDS = List.of("nom", "prenom", "dateNaissance", "telephone", "adresse",
+            "email", "genre", "antecedentsMedicaux", "numeroSecuriteSociale", "groupeSanguin");
+    private static final List<String> REQUIRED = List.of("nom", "prenom", "dateNaissance", "adresse", "genre");
+
+    private final int columnCount;
+    private final int[] indexes = new int[FIELDS.size()];
+
+    private PatientCsvMapping(String[] header) {
+        this.columnCount = header.length;
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            positions.putIfAbsent(normalize(header[i]), i);
+        }
+        List<String> missing = new ArrayList<>();
+        for (int f = 0; f < FIELDS.size(); f++) {
+            Integer position = positions.get(normalize(FIELDS.get(f)));
+            indexes[f] = position == null ? -1 : position;
+            if (position == null && REQUIRED.contains(FIELDS.get(f))) {
+                missing.add(FIELDS.get(f));
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new BadRequestException("Colonnes obligatoires absentes de l'en-tête CSV: " + String.join(", ", missing));
+        }
+    }
+
+    /**
+     * @param header la ligne d'en-tête du fichier
+     * @return la correspondance des colonnes
+     * @throws BadRequestException si une colonne obligatoire est absente
+     */
+    public static PatientCsvMapping fromHeader(String[] header) {
+        if (header == null) {
+            throw new BadRequestException("Le fichier CSV est vide");
+        }
+        return new PatientCsvMapping(header);
+    }
+
+    /**
+     * @param record les champs d'un enregistrement
+     * @return vrai pour une ligne vide, à ignorer
+     */
+    public static boolean isBlank(String[] record) {
+        return record.length == 1 && record[0].isBlank();
+    }
+
+    /**
+     * Convertir un enregistrement en patient
+     * @param record les champs de l'enregistrement
+     * @param errors reçoit les erreurs de format (nombre de colonnes, date, genre)
+     * @return le patient, ou null si l'enregistrement est inexploitable
+     */
+    public PatientDTO toDto(String[] record, List<String> errors) {
+        if (record.length != columnCount) {
+            errors.add("Nombre de colonnes incorrect: " + record.length + " au lieu de " + columnCount);
+            return null;
+        }
+        PatientDTO dto = PatientDTO.builder()
+                .nom(value(record, 0))
+                .prenom(value(record, 1))
+                .telephone(value(record, 3))
+                .adresse(value(record, 4))
+                .email(value(record, 5))
+                .antecedentsMedicaux(value(record, 7))
+                .numeroSecuriteSociale(value(record, 8))
+                .groupeSanguin(value(record, 9))
+                .build();
+
+        String dateNaissance = value(record, 2);
+        if (dateNaissance != null) {
+            try {
+                dto.setDateNaissance(LocalDate.parse(dateNaissance));
+            } catch (DateTimeParseException ex) {
+                errors.add("dateNaissance: format attendu AAAA-MM-JJ");
+            }
+        }
+        String genre = value(record, 6);
+        if (genre != null) {
+            try {
+                dto.setGenre(GenreSexe.valueOf(genre.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException ex) {
+                errors.add("genre: valeur inconnue " + genre);
+            }
+        }
+        return dto;
+    }
+
+    private String value(String[] record, int field) {
+        int index = indexes[field];
+        if (index < 0) {
+            return null;
+        }
+        String value = record[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String normalize(String header) {
+        return header.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,107 @@
+package com.exemple.patient_service.importer;
+
+import com.exemple.patient_service.dto.ImportRejectDTO;
+import com.exemple.patient_service.dto.PatientImportDTO;
+import com.exemple.patient_service.enums.ImportConflictMode;
+import com.exemple.patient_service.enums.ImportStatus;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Avancement d'un import, mis à jour par les threads du pipeline et lu par les consultations
+ */
+public class PatientImportJob {
+
+    @Getter
+    private final String id;
+    private final ImportConflictMode conflictMode;
+    private final int maxReportedRejects;
+    private final Instant startedAt = Instant.now();
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsLoaded = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final List<ImportRejectDTO> rejects = new ArrayList<>();
+
+    private volatile ImportStatus status = ImportStatus.LOADING;
+    private volatile Instant finishedAt;
+    private volatile MergeResult mergeResult;
+    private volatile String error;
+
+    public PatientImportJob(String id, ImportConflictMode conflictMode, int maxReportedRejects) {
+        this.id = id;
+        this.conflictMode = conflictMode;
+        this.maxReportedRejects = maxReportedRejects;
+    }
+
+    public void recordRead(long rows) {
+        rowsRead.addAndGet(rows);
+    }
+
+    public void recordLoaded(long rows) {
+        rowsLoaded.addAndGet(rows);
+    }
+
+    public void recordReject(long line, String numeroSecuriteSociale, List<String> messages) {
+        rowsRejected.incrementAndGet();
+        synchronized (rejects) {
+            if (rejects.size() < maxReportedRejects) {
+                rejects.add(new ImportRejectDTO(line, numeroSecuriteSociale, messages));
+            }
+        }
+    }
+
+    public void merging() {
+        status = ImportStatus.MERGING;
+    }
+
+    public void completed(MergeResult result) {
+        mergeResult = result;
+        finishedAt = Instant.now();
+        status = ImportStatus.COMPLETED;
+    }
+
+    public void failed(String cause) {
+        error = cause;
+        finishedAt = Instant.now();
+        status = ImportStatus.FAILED;
+    }
+
+    /**
+     * @return vrai une fois l'import terminé, avec succès ou non
+     */
+    public boolean isFinished() {
+        return status == ImportStatus.COMPLETED || status == ImportStatus.FAILED;
+    }
+
+    /**
+     * @return l'état courant de l'import
+     */
+    public PatientImportDTO toDto() {
+        MergeResult result = mergeResult;
+        List<ImportRejectDTO> reportedRejects;
+        synchronized (rejects) {
+            reportedRejects = List.copyOf(rejects);
+        }
+        return PatientImportDTO.builder()
+                .id(id)
+                .status(status)
+                .conflictMode(conflictMode)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .rowsRead(rowsRead.get())
+                .rowsLoaded(rowsLoaded.get())
+                .rowsRejected(rowsRejected.get())
+                .duplicatesInFile(result == null ? 0 : result.duplicatesInFile())
+                .inserted(result == null ? 0 : result.inserted())
+                .updated(result == null ? 0 : result.updated())
+                .skipped(result == null ? 0 : result.skipped())
+                .error(error)
+                .rejects(reportedRejects)
+                .build();
+    }
+}
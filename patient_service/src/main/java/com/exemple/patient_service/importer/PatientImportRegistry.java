@@ -0,0 +1,66 @@
+package com.exemple.patient_service.importer;
+
+import com.exemple.patient_service.config.ImportProperties;
+import com.exemple.patient_service.enums.ImportConflictMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Imports en cours et derniers imports terminés (nombre borné par {@code patient.import.history})
+ */
+@Component
+@RequiredArgsConstructor
+public class PatientImportRegistry {
+
+    private final ImportProperties importProperties;
+
+    private final LinkedHashMap<String, PatientImportJob> jobs = new LinkedHashMap<>();
+
+    /**
+     * Enregistrer un nouvel import
+     * @param conflictMode le traitement des NSS déjà présents en base
+     * @return l'import, à l'état LOADING
+     */
+    public synchronized PatientImportJob start(ImportConflictMode conflictMode) {
+        PatientImportJob job = new PatientImportJob(UUID.randomUUID().toString(), conflictMode,
+                importProperties.getMaxReportedRejects());
+        jobs.put(job.getId(), job);
+        evictFinished();
+        return job;
+    }
+
+    /**
+     * @param id l'identifiant de l'import
+     * @return l'import, s'il est en cours ou parmi les derniers terminés
+     */
+    public synchronized Optional<PatientImportJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * @return les imports connus, du plus ancien au plus récent
+     */
+    public synchronized List<PatientImportJob> list() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    private void evictFinished() {
+        Collection<PatientImportJob> values = jobs.values();
+        long finished = values.stream().filter(PatientImportJob::isFinished).count();
+        Iterator<PatientImportJob> iterator = values.iterator();
+        while (finished > importProperties.getHistory() && iterator.hasNext()) {
+            if (iterator.next().isFinished()) {
+                iterator.remove();
+                finished--;
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.exemple.patient_service.index;
+
+import com.exemple.patient_service.config.BirthDateIndexProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index en mémoire des dates de naissance : un tableau primitif trié de clés (jour epoch, ID).
+ * <p>
+ * Chaque clé tient dans un {@code long} : le jour epoch dans les bits de poids fort, l'ID dans les
+ * {@value #ID_BITS} bits de poids faible. L'ordre des clés est donc celui de (date de naissance, ID), et
+ * une période se résout par deux recherches dichotomiques ; le comptage n'est qu'une soustraction.
+ * <p>
+ * Pendant la reconstruction, les clés sont ajoutées en fin de tableau puis triées une seule fois à la fin.
+ * Une fois prêt, chaque modification décale la fin du tableau, ce qui reste négligeable devant les lectures.
+ */
+@Component
+@RequiredArgsConstructor
+public class BirthDateIndex implements PatientIndex {
+
+    private static final int ID_BITS = 40;
+    private static final long ID_MASK = (1L << ID_BITS) - 1;
+    private static final long MIN_EPOCH_DAY = -(1L << (Long.SIZE - ID_BITS - 1));
+    private static final long MAX_EPOCH_DAY = (1L << (Long.SIZE - ID_BITS - 1)) - 1;
+
+    private final BirthDateIndexProperties properties;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[] keys = new long[0];
+    private int size;
+    private boolean sorted = true;
+    private volatile boolean ready;
+
+    @Override
+    public String getName() {
+        return "birth-date";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            keys = new long[0];
+            size = 0;
+            sorted = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(PatientIndexEntry entry) {
+        if (entry.dateNaissance() == null) {
+            return;
+        }
+        long key = key(entry.dateNaissance().toEpochDay(), entry.id());
+        lock.writeLock().lock();
+        try {
+            if (!sorted) {
+                append(key);
+                return;
+            }
+            int position = Arrays.binarySearch(keys, 0, size, key);
+            if (position >= 0) {
+                return;
+            }
+            int insertion = -position - 1;
+            ensureCapacity(size + 1);
+            System.arraycopy(keys, insertion, keys, insertion + 1, size - insertion);
+            keys[insertion] = key;
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(PatientIndexEntry entry) {
+        lock.writeLock().lock();
+        try {
+            int position = indexOf(entry);
+            if (position >= 0) {
+                System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+                size--;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        lock.writeLock().lock();
+        try {
+            if (!sorted) {
+                Arrays.sort(keys, 0, size);
+                // Un patient lu par le parcours puis rejoué comme création apparaît deux fois
+                int distinct = 0;
+                for (int i = 0; i < size; i++) {
+                    if (distinct == 0 || keys[distinct - 1] != keys[i]) {
+                        keys[distinct++] = keys[i];
+                    }
+                }
+                size = distinct;
+                sorted = true;
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Compter les patients nés dans une période
+     * @param debut la date de début (incluse)
+     * @param fin la date de fin (incluse)
+     * @return le nombre de patients
+     */
+    public int count(LocalDate debut, LocalDate fin) {
+        lock.readLock().lock();
+        try {
+            return Math.max(0, upperBound(fin) - lowerBound(debut));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lister les patients nés dans une période
+     * @param debut la date de début (incluse)
+     * @param fin la date de fin (incluse)
+     * @return les identifiants, par date de naissance puis ID croissants
+     */
+    public long[] findIds(LocalDate debut, LocalDate fin) {
+        lock.readLock().lock();
+        try {
+            int from = lowerBound(debut);
+            int to = upperBound(fin);
+            long[] ids = new long[Math.max(0, to - from)];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = keys[from + i] & ID_MASK;
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return le nombre de patients indexés
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Position de la première clé dont la date est au moins {@code debut}
+     */
+    private int lowerBound(LocalDate debut) {
+        long epochDay = debut.toEpochDay();
+        if (epochDay > MAX_EPOCH_DAY) {
+            return size;
+        }
+        return insertionPoint(Math.max(MIN_EPOCH_DAY, epochDay) << ID_BITS);
+    }
+
+    /**
+     * Position suivant la dernière clé dont la date est au plus {@code fin}
+     */
+    private int upperBound(LocalDate fin) {
+        long epochDay = fin.toEpochDay();
+        if (epochDay < MIN_EPOCH_DAY) {
+            return 0;
+        }
+        return epochDay >= MAX_EPOCH_DAY ? size : insertionPoint((epochDay + 1) << ID_BITS);
+    }
+
+    private int insertionPoint(long key) {
+        // Les clés cherchées ont un ID nul, absent de la table : la recherche tombe entre deux clés
+        int position = Arrays.binarySearch(keys, 0, size, key);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    private int indexOf(PatientIndexEntry entry) {
+        if (sorted && entry.dateNaissance() != null) {
+            return Arrays.binarySearch(keys, 0, size, key(entry.dateNaissance().toEpochDay(), entry.id()));
+        }
+        // Date inconnue (suppression sans état antérieur) ou reconstruction en cours : recherche de l'ID
+        for (int i = 0; i < size; i++) {
+            if ((keys[i] & ID_MASK) == entry.id()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void append(long key) {
+        ensureCapacity(size + 1);
+        keys[size++] = key;
+        sorted = false;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(capacity, Math.max(16, keys.length + (keys.length >> 1))));
+        }
+    }
+
+    private static long key(long epochDay, Long id) {
+        if (id == null || id < 0 || id > ID_MASK || epochDay < MIN_EPOCH_DAY || epochDay > MAX_EPOCH_DAY) {
+            throw new IllegalArgumentException("Patient hors des limites de l'index des dates de naissance: " + id);
+        }
+        return (epochDay << ID_BITS) | id;
+    }
+}
@@ -0,0 +1,279 @@
+package com.exemple.patient_service.index;
+
+import com.exemple.patient_service.config.BitmapIndexProperties;
+import com.exemple.patient_service.enums.GenreSexe;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index bitmap compressés (Roaring) des colonnes à faible cardinalité : groupe sanguin, genre,
+ * ville (extraite de l'adresse) et décennie de naissance.
+ * <p>
+ * Chaque valeur pointe vers le bitmap des identifiants des patients qui la portent. Un filtre combinant
+ * plusieurs critères se résout par des unions (valeurs d'un même critère) et des intersections (critères
+ * différents) de bitmaps, sans toucher la base ; seuls les patients retenus sont ensuite lus par clé primaire.
+ * Les comptages par valeur d'un ensemble de patients (facettes) sont des cardinalités d'intersection.
+ * <p>
+ * Les bitmaps Roaring adressent des entiers sur 32 bits : un identifiant au-delà de
+ * {@link Integer#MAX_VALUE} fait échouer la reconstruction, et les recherches restent servies par la base.
+ * Les bitmaps renvoyés sont des copies que l'appelant peut modifier.
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryBitmapIndex implements PatientIndex {
+
+    private final BitmapIndexProperties properties;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> byGroupeSanguin = new HashMap<>();
+    private final Map<GenreSexe, RoaringBitmap> byGenre = new EnumMap<>(GenreSexe.class);
+    private final Map<String, RoaringBitmap> byVille = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> byDecennie = new TreeMap<>();
+    private volatile boolean ready;
+
+    @Override
+    public String getName() {
+        return "category-bitmap";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            all.clear();
+            byGroupeSanguin.clear();
+            byGenre.clear();
+            byVille.clear();
+            byDecennie.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(PatientIndexEntry entry) {
+        int id = toInt(entry.id());
+        lock.writeLock().lock();
+        try {
+            removeById(id);
+            all.add(id);
+            if (entry.groupeSanguin() != null) {
+                byGroupeSanguin.computeIfAbsent(entry.groupeSanguin(), key -> new RoaringBitmap()).add(id);
+            }
+            if (entry.genre() != null) {
+                byGenre.computeIfAbsent(entry.genre(), key -> new RoaringBitmap()).add(id);
+            }
+            String ville = Villes.fromAdresse(entry.adresse());
+            if (ville != null) {
+                byVille.computeIfAbsent(ville, key -> new RoaringBitmap()).add(id);
+            }
+            if (entry.dateNaissance() != null) {
+                byDecennie.computeIfAbsent(decennie(entry.dateNaissance().getYear()), key -> new RoaringBitmap()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(PatientIndexEntry entry) {
+        int id = toInt(entry.id());
+        lock.writeLock().lock();
+        try {
+            removeById(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        lock.writeLock().lock();
+        try {
+            // Conversion des plages contiguës en conteneurs "run" après le chargement en masse
+            all.runOptimize();
+            byGroupeSanguin.values().forEach(RoaringBitmap::runOptimize);
+            byGenre.values().forEach(RoaringBitmap::runOptimize);
+            byVille.values().forEach(RoaringBitmap::runOptimize);
+            byDecennie.values().forEach(RoaringBitmap::runOptimize);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return les identifiants de tous les patients indexés
+     */
+    public RoaringBitmap all() {
+        lock.readLock().lock();
+        try {
+            return all.clone();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param groupesSanguins les groupes sanguins acceptés
+     * @return les identifiants des patients de l'un de ces groupes
+     */
+    public RoaringBitmap groupesSanguins(Collection<String> groupesSanguins) {
+        lock.readLock().lock();
+        try {
+            return union(groupesSanguins.stream().map(byGroupeSanguin::get).toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param genres les genres acceptés
+     * @return les identifiants des patients de l'un de ces genres
+     */
+    public RoaringBitmap genres(Collection<GenreSexe> genres) {
+        lock.readLock().lock();
+        try {
+            return union(genres.stream().map(byGenre::get).toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param villes les villes acceptées (comparées après {@link Villes#normalize})
+     * @return les identifiants des patients dont l'adresse est dans l'une de ces villes
+     */
+    public RoaringBitmap villes(Collection<String> villes) {
+        lock.readLock().lock();
+        try {
+            return union(villes.stream().map(Villes::normalize).map(byVille::get).toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Répartir un ensemble de patients par valeur : une cardinalité d'intersection par valeur indexée,
+     * sans matérialiser les intersections
+     * @param patients les identifiants des patients
+     * @return les comptages par groupe sanguin, genre et décennie
+     */
+    public CategoryCounts count(RoaringBitmap patients) {
+        lock.readLock().lock();
+        try {
+            Map<String, Long> groupesSanguins = new TreeMap<>();
+            byGroupeSanguin.forEach((groupe, bitmap) -> putCount(groupesSanguins, groupe, patients, bitmap));
+            Map<GenreSexe, Long> genres = new EnumMap<>(GenreSexe.class);
+            byGenre.forEach((genre, bitmap) -> putCount(genres, genre, patients, bitmap));
+            Map<Integer, Long> decennies = new LinkedHashMap<>();
+            byDecennie.forEach((decennie, bitmap) -> putCount(decennies, decennie, patients, bitmap));
+            return new CategoryCounts(patients.getLongCardinality(), groupesSanguins, genres, decennies);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param year une année de naissance
+     * @return la décennie de cette année (1960 pour 1960 à 1969)
+     */
+    public static int decennie(int year) {
+        return Math.floorDiv(year, 10) * 10;
+    }
+
+    /**
+     * @return le nombre de patients indexés
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return all.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return la mémoire occupée par les bitmaps, en octets
+     */
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = all.getLongSizeInBytes();
+            for (RoaringBitmap bitmap : byGroupeSanguin.values()) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            for (RoaringBitmap bitmap : byGenre.values()) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            for (RoaringBitmap bitmap : byVille.values()) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            for (RoaringBitmap bitmap : byDecennie.values()) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeById(int id) {
+        if (!all.checkedRemove(id)) {
+            return;
+        }
+        // Quelques dizaines de bitmaps : les parcourir tous évite de connaître l'état précédent du patient
+        byGroupeSanguin.values().removeIf(bitmap -> bitmap.checkedRemove(id) && bitmap.isEmpty());
+        byGenre.values().removeIf(bitmap -> bitmap.checkedRemove(id) && bitmap.isEmpty());
+        byVille.values().removeIf(bitmap -> bitmap.checkedRemove(id) && bitmap.isEmpty());
+        byDecennie.values().removeIf(bitmap -> bitmap.checkedRemove(id) && bitmap.isEmpty());
+    }
+
+    private static <K> void putCount(Map<K, Long> counts, K key, RoaringBitmap patients, RoaringBitmap bitmap) {
+        long count = RoaringBitmap.andCardinality(patients, bitmap);
+        if (count > 0) {
+            counts.put(key, count);
+        }
+    }
+
+    private static RoaringBitmap union(List<RoaringBitmap> bitmaps) {
+        List<RoaringBitmap> present = new ArrayList<>(bitmaps.size());
+        for (RoaringBitmap bitmap : bitmaps) {
+            if (bitmap != null) {
+                present.add(bitmap);
+            }
+        }
+        return present.isEmpty() ? new RoaringBitmap() : RoaringBitmap.or(present.iterator());
+    }
+
+    private static int toInt(Long id) {
+        if (id == null || id < 0 || id > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Patient hors des limites des index bitmap: " + id);
+        }
+        return id.intValue();
+    }
+}
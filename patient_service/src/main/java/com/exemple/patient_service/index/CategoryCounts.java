@@ -0,0 +1,21 @@
+package com.exemple.patient_service.index;
+
+import com.exemple.patient_service.enums.GenreSexe;
+
+import java.util.Map;
+
+/**
+ * Répartition d'un ensemble de patients par groupe sanguin, genre et décennie de naissance.
+ * Les valeurs absentes de l'ensemble n'apparaissent pas ; les patients sans valeur ne sont pas comptés.
+ *
+ * @param total le nombre de patients de l'ensemble
+ * @param groupesSanguins le nombre de patients par groupe sanguin
+ * @param genres le nombre de patients par genre
+ * @param decennies le nombre de patients par décennie de naissance (1960 pour 1960 à 1969), croissantes
+ */
+public record CategoryCounts(
+        long total,
+        Map<String, Long> groupesSanguins,
+        Map<GenreSexe, Long> genres,
+        Map<Integer, Long> decennies) {
+}
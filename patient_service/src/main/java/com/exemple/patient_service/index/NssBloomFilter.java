@@ -0,0 +1,182 @@
+package com.exemple.patient_service.index;
+
+import com.exemple.patient_service.config.NssFilterProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtre de Bloom des numéros de sécurité sociale connus, pour éviter la requête d'unicité
+ * quand un numéro n'a jamais été vu.
+ * <p>
+ * Une réponse négative est certaine ; une réponse positive doit être confirmée par la base.
+ * Un filtre de Bloom ne sait pas retirer un élément : les numéros supprimés ou remplacés restent
+ * marqués jusqu'à la prochaine reconstruction, ce qui ne coûte que des faux positifs.
+ * La contrainte d'unicité de la table reste la seule garantie.
+ */
+@Component
+@Slf4j
+public class NssBloomFilter implements PatientIndex {
+
+    private final NssFilterProperties properties;
+    private final int hashFunctions;
+    private final long bitCount;
+
+    private volatile AtomicLongArray bits;
+    private final AtomicLong insertions = new AtomicLong();
+    private volatile boolean ready;
+
+    private final Counter negatives;
+    private final Counter probableHits;
+    private final Counter falsePositives;
+
+    public NssBloomFilter(NssFilterProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        long expected = Math.max(1, properties.getExpectedInsertions());
+        double ln2 = Math.log(2);
+        // m = -n ln(p) / ln(2)², arrondi au mot de 64 bits ; k = m/n ln(2)
+        long words = (long) Math.ceil(-expected * Math.log(properties.getFalsePositiveRate()) / (ln2 * ln2) / Long.SIZE);
+        this.bitCount = Math.max(1, words) * Long.SIZE;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expected * ln2));
+        this.bits = new AtomicLongArray((int) (bitCount / Long.SIZE));
+
+        Gauge.builder("patient.nss.filter.memory", this, filter -> (double) filter.bits.length() * Long.BYTES)
+                .description("Mémoire occupée par le filtre de Bloom des numéros de sécurité sociale")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("patient.nss.filter.fpp", this, NssBloomFilter::expectedFalsePositiveRate)
+                .description("Taux de faux positifs estimé d'après le nombre de numéros insérés")
+                .register(meterRegistry);
+        Gauge.builder("patient.nss.filter.insertions", insertions, AtomicLong::get)
+                .description("Numéros insérés dans le filtre depuis sa dernière reconstruction")
+                .register(meterRegistry);
+        this.negatives = Counter.builder("patient.nss.filter.checks").tag("result", "negative")
+                .description("Vérifications d'unicité, tranchées par le filtre (negative) ou confirmées par la base (probable)")
+                .register(meterRegistry);
+        this.probableHits = Counter.builder("patient.nss.filter.checks").tag("result", "probable")
+                .description("Vérifications d'unicité, tranchées par le filtre (negative) ou confirmées par la base (probable)")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("patient.nss.filter.false.positives")
+                .description("Réponses positives du filtre démenties par la base")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return "nss-bloom";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public void clear() {
+        ready = false;
+        bits = new AtomicLongArray(bits.length());
+        insertions.set(0);
+    }
+
+    @Override
+    public void add(PatientIndexEntry entry) {
+        if (entry.numeroSecuriteSociale() == null) {
+            return;
+        }
+        long hash1 = hash(entry.numeroSecuriteSociale());
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        AtomicLongArray current = bits;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((current.get(word) & mask) == 0) {
+                current.getAndAccumulate(word, mask, (value, m) -> value | m);
+            }
+        }
+        insertions.incrementAndGet();
+    }
+
+    /**
+     * Sans effet : les bits d'un numéro peuvent être partagés avec d'autres numéros
+     */
+    @Override
+    public void remove(PatientIndexEntry entry) {
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+        double fpp = expectedFalsePositiveRate();
+        if (fpp > properties.getFalsePositiveRate() * 2) {
+            log.warn("Filtre de Bloom des NSS saturé ({} numéros, faux positifs estimés à {}), augmenter patient.nss-filter.expected-insertions",
+                    insertions.get(), fpp);
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @param numeroSecuriteSociale le numéro à tester
+     * @return faux si le numéro n'a certainement jamais été enregistré, vrai s'il faut interroger la base
+     */
+    public boolean mightContain(String numeroSecuriteSociale) {
+        if (!ready || !properties.isEnabled()) {
+            return true;
+        }
+        long hash1 = hash(numeroSecuriteSociale);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        AtomicLongArray current = bits;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((current.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                negatives.increment();
+                return false;
+            }
+        }
+        probableHits.increment();
+        return true;
+    }
+
+    /**
+     * Signaler qu'une réponse positive du filtre a été démentie par la base
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    /**
+     * @return le taux de faux positifs attendu pour le nombre de numéros insérés : (1 - e^(-kn/m))^k
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashFunctions * insertions.get() / bitCount), hashFunctions);
+    }
+
+    private static long hash(String value) {
+        // FNV-1a 64 bits sur les octets UTF-8, puis mélange final de MurmurHash3
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB93FE1A85EC9L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
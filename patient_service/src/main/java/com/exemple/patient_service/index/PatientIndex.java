@@ -0,0 +1,48 @@
+package com.exemple.patient_service.index;
+
+/**
+ * Index en mémoire construit à partir de la table des patients.
+ * <p>
+ * Tous les index sont reconstruits ensemble par {@link PatientIndexMaintainer} à partir d'un seul
+ * parcours en flux de la table, puis maintenus par les {@code PatientChangedEvent} publiés par le service.
+ * Tant qu'un index n'est pas prêt, les appelants doivent interroger la base.
+ */
+public interface PatientIndex {
+
+    /**
+     * @return le nom de l'index (journaux et métriques)
+     */
+    String getName();
+
+    /**
+     * @return vrai si l'index doit être construit et maintenu
+     */
+    boolean isEnabled();
+
+    /**
+     * Vider l'index avant une reconstruction (l'index n'est plus prêt)
+     */
+    void clear();
+
+    /**
+     * Ajouter un patient, ou remplacer son entrée s'il est déjà indexé
+     * @param entry l'entrée à indexer
+     */
+    void add(PatientIndexEntry entry);
+
+    /**
+     * Retirer un patient de l'index (sans effet s'il n'est pas indexé)
+     * @param entry la dernière entrée connue du patient
+     */
+    void remove(PatientIndexEntry entry);
+
+    /**
+     * Signaler la fin de la reconstruction
+     */
+    void markReady();
+
+    /**
+     * @return vrai si l'index peut répondre aux requêtes
+     */
+    boolean isReady();
+}
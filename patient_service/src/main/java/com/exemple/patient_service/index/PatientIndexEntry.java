@@ -0,0 +1,40 @@
+package com.exemple.patient_service.index;
+
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.enums.GenreSexe;
+
+import java.time.LocalDate;
+
+/**
+ * Colonnes d'un patient utiles aux index en mémoire.
+ * Lue par projection JPQL lors de la reconstruction, sans hydrater d'entité.
+ */
+public record PatientIndexEntry(
+        Long id,
+        String nom,
+        String prenom,
+        LocalDate dateNaissance,
+        GenreSexe genre,
+        String groupeSanguin,
+        String numeroSecuriteSociale,
+        String adresse) {
+
+    /**
+     * @param patientDTO l'état d'un patient (peut être null)
+     * @return l'entrée d'index correspondante, ou null
+     */
+    public static PatientIndexEntry of(PatientDTO patientDTO) {
+        if (patientDTO == null) {
+            return null;
+        }
+        return new PatientIndexEntry(
+                patientDTO.getId(),
+                patientDTO.getNom(),
+                patientDTO.getPrenom(),
+                patientDTO.getDateNaissance(),
+                patientDTO.getGenre(),
+                patientDTO.getGroupeSanguin(),
+                patientDTO.getNumeroSecuriteSociale(),
+                patientDTO.getAdresse());
+    }
+}
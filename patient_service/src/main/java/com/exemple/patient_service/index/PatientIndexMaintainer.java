@@ -0,0 +1,174 @@
+package com.exemple.patient_service.index;
+
+import com.exemple.patient_service.enums.PatientChangeType;
+import com.exemple.patient_service.event.PatientChangedEvent;
+import com.exemple.patient_service.event.PatientsReloadedEvent;
+import com.exemple.patient_service.repository.PatientRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Construit et maintient les {@link PatientIndex} en mémoire.
+ * <p>
+ * La reconstruction parcourt la table une seule fois en flux et alimente tous les index actifs.
+ * Les modifications validées pendant ce parcours sont mises de côté puis rejouées à la fin,
+ * pour qu'une ligne lue avant sa modification ne l'emporte pas sur la modification.
+ */
+@Component
+@Slf4j
+public class PatientIndexMaintainer {
+
+    private final List<PatientIndex> indexes;
+    private final PatientRepository patientRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TaskExecutor taskExecutor;
+
+    // Verrous explicites plutôt que des moniteurs : un thread virtuel qui attend ou fait une requête
+    // en tenant un moniteur reste épinglé à son thread porteur
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private List<PatientChangedEvent> pendingEvents;
+
+    public PatientIndexMaintainer(List<PatientIndex> indexes,
+                                  PatientRepository patientRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.indexes = indexes;
+        this.patientRepository = patientRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Lance la construction des index en arrière-plan : le service répond depuis la base en attendant
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        taskExecutor.execute(this::rebuild);
+    }
+
+    /**
+     * Écriture en masse hors du service : les index sont reconstruits en arrière-plan
+     * @param event le rechargement
+     */
+    @EventListener
+    public void onPatientsReloaded(PatientsReloadedEvent event) {
+        log.info("{} patients écrits par {}, reconstruction des index en mémoire", event.rows(), event.source());
+        taskExecutor.execute(this::rebuild);
+    }
+
+    /**
+     * Reconstruire tous les index actifs à partir d'un parcours en flux de la table.
+     * Les reconstructions s'exécutent l'une après l'autre.
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            doRebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void doRebuild() {
+        List<PatientIndex> enabled = indexes.stream().filter(PatientIndex::isEnabled).toList();
+        if (enabled.isEmpty()) {
+            return;
+        }
+
+        log.info("Reconstruction des index en mémoire: {}", enabled.stream().map(PatientIndex::getName).toList());
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            pendingEvents = new ArrayList<>();
+            enabled.forEach(PatientIndex::clear);
+        } finally {
+            lock.unlock();
+        }
+
+        Long rows;
+        try {
+            rows = readOnlyTransaction.execute(status -> {
+                long count = 0;
+                try (Stream<PatientIndexEntry> entries = patientRepository.streamIndexEntries()) {
+                    for (PatientIndexEntry entry : (Iterable<PatientIndexEntry>) entries::iterator) {
+                        enabled.forEach(index -> index.add(entry));
+                        count++;
+                    }
+                }
+                return count;
+            });
+        } catch (RuntimeException ex) {
+            log.error("Échec de la reconstruction des index en mémoire, les recherches restent servies par la base", ex);
+            lock.lock();
+            try {
+                pendingEvents = null;
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+
+        lock.lock();
+        try {
+            pendingEvents.forEach(this::apply);
+            log.info("Index en mémoire prêts: {} patients, {} modifications rejouées, {} ms",
+                    rows, pendingEvents.size(), (System.nanoTime() - start) / 1_000_000);
+            pendingEvents = null;
+            enabled.forEach(PatientIndex::markReady);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Répercuter une modification validée sur les index
+     * @param event la modification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientChanged(PatientChangedEvent event) {
+        lock.lock();
+        try {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+                return;
+            }
+            apply(event);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(PatientChangedEvent event) {
+        PatientIndexEntry before = PatientIndexEntry.of(event.before());
+        PatientIndexEntry after = PatientIndexEntry.of(event.after());
+        if (before == null && event.type() == PatientChangeType.DELETED) {
+            // État antérieur inconnu : les index retrouvent le patient par son identifiant
+            before = new PatientIndexEntry(event.patientId(), null, null, null, null, null, null, null);
+        }
+        for (PatientIndex index : indexes) {
+            if (!index.isEnabled()) {
+                continue;
+            }
+            if (before != null) {
+                index.remove(before);
+            }
+            if (after != null) {
+                index.add(after);
+            }
+        }
+    }
+}
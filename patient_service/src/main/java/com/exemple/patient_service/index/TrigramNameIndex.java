@@ -0,0 +1,250 @@
+package com.exemple.patient_service.index;
+
+import com.exemple.patient_service.config.PatientSchemaInitializer;
+import com.exemple.patient_service.enums.NameSearchMode;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index n-gramme en mémoire des noms et prénoms, utilisé quand la base ne dispose pas de pg_trgm.
+ * <p>
+ * Chaque trigramme pointe vers la liste triée des patients dont le nom ou le prénom le contient.
+ * Une recherche intersecte les listes des trigrammes du terme, vérifie la sous-chaîne sur les candidats
+ * puis les classe par similarité : son coût dépend du nombre de candidats, pas de la taille de la table.
+ */
+@Component
+@RequiredArgsConstructor
+public class TrigramNameIndex implements PatientIndex {
+
+    /**
+     * Longueur minimale d'un terme pour être servi par l'index
+     */
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    private final PatientSchemaInitializer schemaInitializer;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, LongPostingList> postings = new HashMap<>();
+    private final Map<Long, String[]> namesById = new HashMap<>();
+    private volatile boolean ready;
+
+    @Override
+    public String getName() {
+        return "trigram-name";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return schemaInitializer.getEffectiveNameSearchMode() == NameSearchMode.MEMORY;
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            postings.clear();
+            namesById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(PatientIndexEntry entry) {
+        String[] names = {Trigrams.normalize(entry.nom()), Trigrams.normalize(entry.prenom())};
+        lock.writeLock().lock();
+        try {
+            removeById(entry.id());
+            namesById.put(entry.id(), names);
+            for (Long trigram : trigramsOf(names)) {
+                postings.computeIfAbsent(trigram, key -> new LongPostingList()).add(entry.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(PatientIndexEntry entry) {
+        lock.writeLock().lock();
+        try {
+            removeById(entry.id());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @param query le terme de recherche
+     * @return vrai si le terme est assez long pour être servi par l'index
+     */
+    public boolean supports(String query) {
+        return Trigrams.normalize(query).length() >= MIN_QUERY_LENGTH;
+    }
+
+    /**
+     * Rechercher les patients dont le nom ou le prénom contient le terme
+     * @param query le terme de recherche (au moins {@link #MIN_QUERY_LENGTH} caractères)
+     * @param limit le nombre maximal de résultats
+     * @return les identifiants, du plus similaire au moins similaire
+     */
+    public List<Long> search(String query, int limit) {
+        String term = Trigrams.normalize(query);
+        Set<Long> queryTrigrams = Trigrams.substringTrigrams(term);
+        Set<Long> queryWordTrigrams = Trigrams.wordTrigrams(term);
+
+        // Tas borné des meilleurs résultats : le moins bon en tête
+        Comparator<ScoredId> ranking = Comparator.comparingDouble(ScoredId::score)
+                .thenComparing(ScoredId::id, Comparator.reverseOrder());
+        PriorityQueue<ScoredId> best = new PriorityQueue<>(limit + 1, ranking);
+
+        lock.readLock().lock();
+        try {
+            List<LongPostingList> lists = postingListsOf(queryTrigrams);
+            if (lists.isEmpty()) {
+                return List.of();
+            }
+
+            LongPostingList smallest = lists.get(0);
+            for (int i = 0; i < smallest.size(); i++) {
+                long id = smallest.get(i);
+                if (!containedInAll(lists, id)) {
+                    continue;
+                }
+                String[] names = namesById.get(id);
+                if (!containsTerm(names, term)) {
+                    continue;
+                }
+                double score = Math.max(
+                        Trigrams.similarity(Trigrams.wordTrigrams(names[0]), queryWordTrigrams),
+                        Trigrams.similarity(Trigrams.wordTrigrams(names[1]), queryWordTrigrams));
+                best.add(new ScoredId(id, score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> ids = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            ids.add(best.poll().id());
+        }
+        return ids.reversed();
+    }
+
+    /**
+     * Tous les patients dont le nom ou le prénom contient le terme, sans classement
+     * @param query le terme de recherche (au moins {@link #MIN_QUERY_LENGTH} caractères)
+     * @return les identifiants correspondants
+     */
+    public RoaringBitmap matchingIds(String query) {
+        String term = Trigrams.normalize(query);
+        RoaringBitmap matches = new RoaringBitmap();
+        lock.readLock().lock();
+        try {
+            List<LongPostingList> lists = postingListsOf(Trigrams.substringTrigrams(term));
+            if (lists.isEmpty()) {
+                return matches;
+            }
+            LongPostingList smallest = lists.get(0);
+            for (int i = 0; i < smallest.size(); i++) {
+                long id = smallest.get(i);
+                if (containedInAll(lists, id) && containsTerm(namesById.get(id), term)) {
+                    matches.add((int) id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    /**
+     * @return le nombre de patients indexés
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return namesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeById(Long id) {
+        String[] names = namesById.remove(id);
+        if (names == null) {
+            return;
+        }
+        for (Long trigram : trigramsOf(names)) {
+            LongPostingList list = postings.get(trigram);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    private static Set<Long> trigramsOf(String[] names) {
+        Set<Long> trigrams = Trigrams.substringTrigrams(names[0]);
+        trigrams.addAll(Trigrams.substringTrigrams(names[1]));
+        return trigrams;
+    }
+
+    /**
+     * Listes des trigrammes du terme, de la plus courte à la plus longue ; vide si un trigramme est inconnu
+     */
+    private List<LongPostingList> postingListsOf(Set<Long> trigrams) {
+        List<LongPostingList> lists = new ArrayList<>(trigrams.size());
+        for (Long trigram : trigrams) {
+            LongPostingList list = postings.get(trigram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(LongPostingList::size));
+        return lists;
+    }
+
+    private static boolean containsTerm(String[] names, String term) {
+        return names[0].contains(term) || names[1].contains(term);
+    }
+
+    private static boolean containedInAll(List<LongPostingList> lists, long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record ScoredId(long id, double score) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.exemple.patient_service.index;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Découpage en trigrammes et similarité, sur le modèle de l'extension PostgreSQL pg_trgm.
+ */
+public final class Trigrams {
+
+    private Trigrams() {
+    }
+
+    /**
+     * Normaliser un texte pour l'indexation et la recherche
+     * @param text le texte
+     * @return le texte en minuscules, sans espaces de début et de fin
+     */
+    public static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Trigrammes d'une sous-chaîne, sans remplissage : tout texte contenant {@code text}
+     * contient aussi chacun de ces trigrammes
+     * @param text le texte normalisé
+     * @return les trigrammes codés sur 48 bits
+     */
+    public static Set<Long> substringTrigrams(String text) {
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(encode(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2)));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Trigrammes au sens de pg_trgm : chaque mot est précédé de deux espaces et suivi d'un espace
+     * @param text le texte normalisé
+     * @return les trigrammes codés sur 48 bits
+     */
+    public static Set<Long> wordTrigrams(String text) {
+        Set<Long> trigrams = new HashSet<>();
+        for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(encode(padded.charAt(i), padded.charAt(i + 1), padded.charAt(i + 2)));
+            }
+        }
+        return trigrams;
+    }
+
+    /**
+     * Similarité de Jaccard entre deux ensembles de trigrammes, comme {@code similarity()} de pg_trgm
+     * @param a les trigrammes du premier texte
+     * @param b les trigrammes du second texte
+     * @return une valeur entre 0 et 1
+     */
+    public static double similarity(Set<Long> a, Set<Long> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        Set<Long> smaller = a.size() <= b.size() ? a : b;
+        Set<Long> larger = smaller == a ? b : a;
+        int common = 0;
+        for (Long trigram : smaller) {
+            if (larger.contains(trigram)) {
+                common++;
+            }
+        }
+        return (double) common / (a.size() + b.size() - common);
+    }
+
+    private static long encode(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+}
@@ -0,0 +1,43 @@
+package com.exemple.patient_service.index;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extraction de la ville d'une adresse : le texte qui suit le premier code postal à cinq chiffres,
+ * jusqu'à la virgule suivante ("12 Rue Al Qods, 20000 Casablanca, Maroc" donne "casablanca").
+ * La même règle est appliquée en SQL par {@link #SQL_EXPRESSION}.
+ */
+public final class Villes {
+
+    /**
+     * Expression PostgreSQL équivalente à {@link #fromAdresse(String)} sur la colonne {@code adresse}
+     */
+    public static final String SQL_EXPRESSION = "lower(trim(substring(adresse from '\\d{5} ([^,]+)')))";
+
+    private static final Pattern VILLE = Pattern.compile("\\d{5} ([^,]+)");
+
+    private Villes() {
+    }
+
+    /**
+     * @param adresse l'adresse (peut être null)
+     * @return la ville normalisée, ou null si l'adresse ne contient pas de code postal
+     */
+    public static String fromAdresse(String adresse) {
+        if (adresse == null) {
+            return null;
+        }
+        Matcher matcher = VILLE.matcher(adresse);
+        return matcher.find() ? normalize(matcher.group(1)) : null;
+    }
+
+    /**
+     * @param ville un nom de ville saisi
+     * @return le nom comparable aux villes extraites des adresses
+     */
+    public static String normalize(String ville) {
+        return ville == null ? null : ville.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -34,6 +34,7 @@ public class PatientMapper {
                 .groupeSanguin(patient.getGroupeSanguin())
                 .createdAt(patient.getCreatedAt())
                 .updatedAt(patient.getUpdatedAt())
+                .version(patient.getVersion())
                 .build();
     }
     
@@ -0,0 +1,94 @@
+package com.exemple.patient_service.monitoring;
+
+import com.exemple.patient_service.config.VirtualThreadsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Compte les épinglages de threads virtuels sur leur thread porteur : un thread virtuel qui bloque
+ * dans un bloc {@code synchronized} (ou un appel natif) ne libère pas son porteur, et quelques
+ * épinglages longs suffisent à bloquer tous les porteurs (autant que de cœurs).
+ * <p>
+ * Les événements JFR {@code jdk.VirtualThreadPinned} plus longs que le seuil configuré sont lus en
+ * flux et alimentent le timer {@code jvm.threads.virtual.pinned} ; la pile de l'épinglage est écrite
+ * au niveau DEBUG pour en retrouver l'origine.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final VirtualThreadsProperties properties;
+    private final Timer pinned;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(VirtualThreadsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Épinglages de threads virtuels sur leur thread porteur plus longs que le seuil configuré")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isPinningMonitorEnabled()) {
+            return;
+        }
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(properties.getPinnedThreshold()).withStackTrace();
+            recording.onEvent(PINNED_EVENT, this::onPinned);
+            recording.startAsync();
+            stream = recording;
+            log.info("Surveillance des épinglages de threads virtuels active (seuil {} ms)",
+                    properties.getPinnedThreshold().toMillis());
+        } catch (RuntimeException e) {
+            // JFR absent ou désactivé dans la JVM : l'application fonctionne sans la métrique
+            log.warn("Surveillance des épinglages de threads virtuels indisponible: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        if (log.isDebugEnabled()) {
+            log.debug("Thread virtuel épinglé {} ms:{}", event.getDuration().toMillis(), frames(event.getStackTrace()));
+        }
+    }
+
+    private static String frames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return " (pile indisponible)";
+        }
+        StringBuilder builder = new StringBuilder();
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (int i = 0; i < Math.min(LOGGED_FRAMES, frames.size()); i++) {
+            RecordedFrame frame = frames.get(i);
+            builder.append("\n\tat ").append(frame.getMethod().getType().getName())
+                    .append('.').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber());
+        }
+        return builder.toString();
+    }
+}
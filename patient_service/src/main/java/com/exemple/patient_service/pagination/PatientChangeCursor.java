@@ -0,0 +1,54 @@
+package com.exemple.patient_service.pagination;
+
+import com.exemple.patient_service.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position dans le journal des modifications de patients.
+ * <p>
+ * Les modifications sont ordonnées par transaction puis par numéro de séquence : une modification n'est publiée
+ * qu'une fois terminées toutes les transactions plus anciennes que la sienne, si bien qu'aucune modification
+ * validée tardivement ne peut apparaître avant une position déjà renvoyée.
+ *
+ * @param txId l'identifiant de la transaction PostgreSQL qui a écrit la modification
+ * @param id le numéro de séquence de la modification
+ */
+public record PatientChangeCursor(long txId, long id) implements Comparable<PatientChangeCursor> {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * Encode la position sous forme de jeton opaque (Base64 URL-safe)
+     * @return le jeton
+     */
+    public String encode() {
+        return ENCODER.encodeToString(("C:" + txId + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un jeton produit par {@link #encode()}
+     * @param token le jeton opaque
+     * @return la position décodée
+     * @throws BadRequestException si le jeton est invalide
+     */
+    public static PatientChangeCursor decode(String token) {
+        try {
+            String[] parts = new String(DECODER.decode(token), StandardCharsets.UTF_8).split(":", 3);
+            if (parts.length != 3 || !"C".equals(parts[0])) {
+                throw new BadRequestException("Curseur du journal des modifications invalide");
+            }
+            return new PatientChangeCursor(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Curseur du journal des modifications invalide", ex);
+        }
+    }
+
+    @Override
+    public int compareTo(PatientChangeCursor other) {
+        int byTx = Long.compare(txId, other.txId);
+        return byTx != 0 ? byTx : Long.compare(id, other.id);
+    }
+}
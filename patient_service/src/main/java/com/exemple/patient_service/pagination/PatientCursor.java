@@ -0,0 +1,84 @@
+package com.exemple.patient_service.pagination;
+
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.enums.PatientSort;
+import com.exemple.patient_service.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position de reprise d'une pagination par clé ("keyset").
+ * Le curseur encode la clé de tri et l'identifiant de la dernière ligne renvoyée,
+ * ce qui permet de reprendre par {@code WHERE (cle, id) > (:cle, :id)} au lieu d'un OFFSET.
+ *
+ * @param sort la clé de tri utilisée pour produire la page
+ * @param id l'identifiant de la dernière ligne de la page
+ * @param key la valeur de la clé de tri de la dernière ligne (null pour un tri par ID)
+ */
+public record PatientCursor(PatientSort sort, Long id, String key) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * Construit le curseur pointant après le patient donné
+     * @param sort la clé de tri
+     * @param patient le dernier patient de la page
+     * @return le curseur correspondant
+     */
+    public static PatientCursor after(PatientSort sort, PatientDTO patient) {
+        String key = switch (sort) {
+            case ID -> null;
+            case NOM -> patient.getNom();
+            case DATE_NAISSANCE -> patient.getDateNaissance().toString();
+        };
+        return new PatientCursor(sort, patient.getId(), key);
+    }
+
+    /**
+     * Encode le curseur sous forme de jeton opaque (Base64 URL-safe)
+     * @return le jeton
+     */
+    public String encode() {
+        String raw = sort.name() + ":" + id + ":" + (key == null ? "" : key);
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un jeton produit par {@link #encode()}
+     * @param token le jeton opaque
+     * @return le curseur décodé
+     * @throws BadRequestException si le jeton est invalide
+     */
+    public static PatientCursor decode(String token) {
+        try {
+            String raw = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            if (parts.length != 3) {
+                throw new BadRequestException("Curseur de pagination invalide");
+            }
+            PatientSort sort = PatientSort.valueOf(parts[0]);
+            Long id = Long.valueOf(parts[1]);
+            String key = parts[2].isEmpty() ? null : parts[2];
+            if (sort != PatientSort.ID && key == null) {
+                throw new BadRequestException("Curseur de pagination invalide");
+            }
+            if (sort == PatientSort.DATE_NAISSANCE) {
+                LocalDate.parse(key);
+            }
+            return new PatientCursor(sort, id, key);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BadRequestException("Curseur de pagination invalide", ex);
+        }
+    }
+
+    /**
+     * @return la clé de tri interprétée comme date de naissance
+     */
+    public LocalDate dateKey() {
+        return LocalDate.parse(key);
+    }
+}
@@ -1,31 +1,126 @@
 package com.exemple.patient_service.repository;
 
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.dto.PatientVersion;
 import com.exemple.patient_service.entity.Patient;
+import com.exemple.patient_service.index.PatientIndexEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, Long> {
     
+    /**
+     * Projection JPQL d'un patient directement en {@link PatientDTO} (constructeur complet, dans l'ordre des
+     * champs du DTO) : les lectures ne chargent pas d'entité gérée, donc ni copie d'état pour la détection des
+     * modifications ni seconde copie par le mapper. Les écritures continuent de charger l'entité.
+     */
+    String SELECT_DTO = "select new com.exemple.patient_service.dto.PatientDTO(p.id, p.nom, p.prenom, p.dateNaissance, "
+            + "p.telephone, p.adresse, p.email, p.genre, p.antecedentsMedicaux, p.numeroSecuriteSociale, p.groupeSanguin, "
+            + "p.createdAt, p.updatedAt, p.version) from Patient p";
+    
     // Trouver un patient par numéro de sécurité sociale
     Optional<Patient> findByNumeroSecuriteSociale(String numeroSecuriteSociale);
     
     // Vérifier si un numéro de sécurité sociale existe déjà
     boolean existsByNumeroSecuriteSociale(String numeroSecuriteSociale);
     
-    // Recherche de patients par nom ou prénom (insensible à la casse)
-    List<Patient> findByNomContainingIgnoreCaseOrPrenomContainingIgnoreCase(String nom, String prenom);
+    // Numéros déjà enregistrés parmi un lot : vérification d'unicité ensembliste de la création en masse
+    @Query("select p.numeroSecuriteSociale from Patient p where p.numeroSecuriteSociale in :numeros")
+    List<String> findExistingNumerosSecuriteSociale(@Param("numeros") Collection<String> numeros);
+    
+    // Recherche de patients par nom ou prénom (insensible à la casse, motif LIKE échappé), sans index dédié
+    @Query(SELECT_DTO + " where lower(p.nom) like :pattern or lower(p.prenom) like :pattern")
+    List<PatientDTO> findDtosByNameContaining(@Param("pattern") String pattern, Limit limit);
+    
+    // Recherche par nom ou prénom servie par les index GIN pg_trgm, classée par similarité
+    @Query(SELECT_DTO + " where lower(p.nom) like :pattern or lower(p.prenom) like :pattern"
+            + " order by greatest(function('similarity', lower(p.nom), :query), function('similarity', lower(p.prenom), :query)) desc, p.id")
+    List<PatientDTO> searchByNameTrigram(@Param("query") String query, @Param("pattern") String pattern, Limit limit);
+    
+    // Identifiants de tous les patients dont le nom ou le prénom correspond au motif (index GIN pg_trgm)
+    @Query(value = "select p.id from patients p where lower(p.nom) like :pattern or lower(p.prenom) like :pattern", nativeQuery = true)
+    List<Long> findIdsByNameContaining(@Param("pattern") String pattern);
+    
+    // Lecture d'un patient par ID
+    @Query(SELECT_DTO + " where p.id = :id")
+    Optional<PatientDTO> findDtoById(@Param("id") Long id);
+    
+    // Version seule d'un patient (validation d'ETag sans hydrater le DTO)
+    @Query("select new com.exemple.patient_service.dto.PatientVersion(p.id, p.version) from Patient p where p.id = :id")
+    Optional<PatientVersion> findVersionById(@Param("id") Long id);
+    
+    // Version seule d'un patient par numéro de sécurité sociale
+    @Query("select new com.exemple.patient_service.dto.PatientVersion(p.id, p.version) from Patient p "
+            + "where p.numeroSecuriteSociale = :numero")
+    Optional<PatientVersion> findVersionByNumeroSecuriteSociale(@Param("numero") String numeroSecuriteSociale);
+    
+    // Lecture d'un patient par numéro de sécurité sociale
+    @Query(SELECT_DTO + " where p.numeroSecuriteSociale = :numero")
+    Optional<PatientDTO> findDtoByNumeroSecuriteSociale(@Param("numero") String numeroSecuriteSociale);
+    
+    // Lecture de patients par identifiants (ordre non garanti)
+    @Query(SELECT_DTO + " where p.id in :ids")
+    List<PatientDTO> findDtosByIdIn(@Param("ids") Collection<Long> ids);
     
     // Recherche de patients nés entre deux dates
-    List<Patient> findByDateNaissanceBetween(LocalDate debut, LocalDate fin);
+    @Query(SELECT_DTO + " where p.dateNaissance between :debut and :fin")
+    List<PatientDTO> findDtosByDateNaissanceBetween(@Param("debut") LocalDate debut, @Param("fin") LocalDate fin);
+    
+    // Comptage des patients nés entre deux dates
+    long countByDateNaissanceBetween(LocalDate debut, LocalDate fin);
     
     // Recherche de patients par groupe sanguin
-    List<Patient> findByGroupeSanguin(String groupeSanguin);
+    @Query(SELECT_DTO + " where p.groupeSanguin = :groupeSanguin")
+    List<PatientDTO> findDtosByGroupeSanguin(@Param("groupeSanguin") String groupeSanguin);
     
     // Recherche de patients par nom, prénom et date de naissance
     Optional<Patient> findByNomAndPrenomAndDateNaissance(String nom, String prenom, LocalDate dateNaissance);
-} 
\ No newline at end of file
+    
+    // Pagination par clé : première page triée par ID
+    @Query(SELECT_DTO + " order by p.id")
+    List<PatientDTO> findFirstPageOrderById(Limit limit);
+    
+    // Pagination par clé : page suivant l'ID donné (WHERE id > :id ORDER BY id LIMIT n)
+    @Query(SELECT_DTO + " where p.id > :id order by p.id")
+    List<PatientDTO> findPageAfterId(@Param("id") Long id, Limit limit);
+    
+    // Pagination par clé : première page triée par nom puis ID
+    @Query(SELECT_DTO + " order by p.nom, p.id")
+    List<PatientDTO> findFirstPageOrderByNom(Limit limit);
+    
+    // Pagination par clé : page suivant le couple (nom, id) donné
+    @Query(SELECT_DTO + " where (p.nom, p.id) > (:nom, :id) order by p.nom, p.id")
+    List<PatientDTO> findPageAfterNom(@Param("nom") String nom, @Param("id") Long id, Limit limit);
+    
+    // Pagination par clé : première page triée par date de naissance puis ID
+    @Query(SELECT_DTO + " order by p.dateNaissance, p.id")
+    List<PatientDTO> findFirstPageOrderByDateNaissance(Limit limit);
+    
+    // Pagination par clé : page suivant le couple (date de naissance, id) donné
+    @Query(SELECT_DTO + " where (p.dateNaissance, p.id) > (:dateNaissance, :id) order by p.dateNaissance, p.id")
+    List<PatientDTO> findPageAfterDateNaissance(@Param("dateNaissance") LocalDate dateNaissance, @Param("id") Long id, Limit limit);
+    
+    // Parcours en flux de toute la table en DTO (curseur JDBC), à consommer dans une transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_DTO + " order by p.id")
+    Stream<PatientDTO> streamDtosOrderById();
+    
+    // Parcours en flux des colonnes utiles aux index en mémoire, sans hydrater d'entité
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.exemple.patient_service.index.PatientIndexEntry(p.id, p.nom, p.prenom, p.dateNaissance, "
+            + "p.genre, p.groupeSanguin, p.numeroSecuriteSociale, p.adresse) from Patient p")
+    Stream<PatientIndexEntry> streamIndexEntries();
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.exemple.patient_service.search;
+
+import com.exemple.patient_service.enums.GenreSexe;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Critères combinés d'un filtre de patients : les valeurs d'un même critère sont alternatives (OU),
+ * les critères renseignés doivent tous être satisfaits (ET). Un critère vide ou null ne filtre pas.
+ *
+ * @param groupesSanguins les groupes sanguins acceptés
+ * @param genres les genres acceptés
+ * @param debut la date de naissance minimale (incluse)
+ * @param fin la date de naissance maximale (incluse)
+ * @param query un terme contenu dans le nom ou le prénom
+ * @param villes les villes acceptées (extraites de l'adresse)
+ */
+public record PatientFilter(Set<String> groupesSanguins, Set<GenreSexe> genres, LocalDate debut, LocalDate fin,
+                            String query, Set<String> villes) {
+
+    public PatientFilter {
+        groupesSanguins = groupesSanguins == null ? Set.of() : Set.copyOf(groupesSanguins);
+        genres = genres == null ? Set.of() : Set.copyOf(genres);
+        query = query == null || query.isBlank() ? null : query;
+        villes = villes == null ? Set.of() : Set.copyOf(villes);
+    }
+
+    /**
+     * Filtre sans critère de nom ni de ville
+     */
+    public PatientFilter(Set<String> groupesSanguins, Set<GenreSexe> genres, LocalDate debut, LocalDate fin) {
+        this(groupesSanguins, genres, debut, fin, null, null);
+    }
+
+    /**
+     * @return vrai si une borne de date de naissance est renseignée
+     */
+    public boolean hasBirthDateRange() {
+        return debut != null || fin != null;
+    }
+}
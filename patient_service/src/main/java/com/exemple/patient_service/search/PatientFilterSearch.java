@@ -0,0 +1,250 @@
+package com.exemple.patient_service.search;
+
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.enums.GenreSexe;
+import com.exemple.patient_service.exception.BadRequestException;
+import com.exemple.patient_service.index.BirthDateIndex;
+import com.exemple.patient_service.index.CategoryBitmapIndex;
+import com.exemple.patient_service.index.CategoryCounts;
+import com.exemple.patient_service.index.TrigramNameIndex;
+import com.exemple.patient_service.index.Trigrams;
+import com.exemple.patient_service.index.Villes;
+import com.exemple.patient_service.repository.PatientRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Filtre combiné de patients par groupe sanguin, genre, période de naissance, nom et ville, trié par ID,
+ * avec en option la répartition des patients retenus par groupe sanguin, genre et décennie (facettes).
+ * <p>
+ * Une fois les index en mémoire construits, le filtre est évalué par opérations sur bitmaps (la période
+ * de naissance venant de l'index des dates, le nom de l'index trigramme ou des index GIN pg_trgm) et
+ * les facettes sont des cardinalités d'intersection : le coût ne dépend que de la taille des bitmaps,
+ * quelle que soit la combinaison de critères. Seule la page retenue est lue en base.
+ * Avant, le filtre est traduit en requêtes SQL : une pour la page, une seule passe {@code GROUPING SETS}
+ * pour les facettes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PatientFilterSearch {
+
+    private static final String DECENNIE_SQL = "(extract(year from date_naissance)::int / 10) * 10";
+
+    private static final String COUNT_SQL = """
+            SELECT grouping(groupe_sanguin) AS g_groupe, grouping(genre) AS g_genre, grouping(decennie) AS g_decennie,
+                   groupe_sanguin, genre, decennie, count(*) AS patients
+            FROM (SELECT groupe_sanguin, genre, %s AS decennie FROM patients WHERE %s) matched
+            GROUP BY GROUPING SETS ((groupe_sanguin), (genre), (decennie), ())""";
+
+    private final PatientRepository patientRepository;
+    private final CategoryBitmapIndex categoryBitmapIndex;
+    private final BirthDateIndex birthDateIndex;
+    private final PatientNameSearch patientNameSearch;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Page de patients et, si demandée, répartition de l'ensemble des patients retenus
+     *
+     * @param patients les patients de la page, par ID croissant
+     * @param counts les facettes, ou null si elles n'ont pas été demandées
+     */
+    public record FilterPage(List<PatientDTO> patients, CategoryCounts counts) {
+    }
+
+    /**
+     * @param filter les critères
+     * @param afterId l'identifiant après lequel reprendre (null pour la première page)
+     * @param limit le nombre maximal de patients
+     * @return les patients correspondants, par ID croissant
+     */
+    public List<PatientDTO> findPage(PatientFilter filter, Long afterId, int limit) {
+        return search(filter, afterId, limit, false).patients();
+    }
+
+    /**
+     * @param filter les critères
+     * @param afterId l'identifiant après lequel reprendre (null pour la première page)
+     * @param limit le nombre maximal de patients
+     * @param withCounts calculer aussi les facettes de l'ensemble des patients retenus
+     * @return la page et les facettes
+     */
+    public FilterPage search(PatientFilter filter, Long afterId, int limit, boolean withCounts) {
+        if (filter.query() != null && Trigrams.normalize(filter.query()).length() < TrigramNameIndex.MIN_QUERY_LENGTH) {
+            throw new BadRequestException("Le terme de recherche doit contenir au moins "
+                    + TrigramNameIndex.MIN_QUERY_LENGTH + " caractères");
+        }
+
+        RoaringBitmap matches = evaluate(filter);
+        if (matches == null) {
+            log.debug("Index en mémoire indisponibles, filtre évalué par la base");
+            return searchWithSql(filter, afterId, limit, withCounts);
+        }
+
+        List<Long> ids = new ArrayList<>(limit);
+        PeekableIntIterator iterator = matches.getIntIterator();
+        if (afterId != null) {
+            if (afterId >= Integer.MAX_VALUE) {
+                iterator = new RoaringBitmap().getIntIterator();
+            } else {
+                iterator.advanceIfNeeded((int) Math.max(0, afterId + 1));
+            }
+        }
+        while (iterator.hasNext() && ids.size() < limit) {
+            ids.add((long) iterator.next());
+        }
+        return new FilterPage(fetchInOrder(ids), withCounts ? categoryBitmapIndex.count(matches) : null);
+    }
+
+    /**
+     * Évaluer le filtre sur les index en mémoire
+     * @param filter les critères
+     * @return les identifiants retenus, ou null si un index nécessaire n'est pas prêt
+     */
+    RoaringBitmap evaluate(PatientFilter filter) {
+        if (!categoryBitmapIndex.isReady() || (filter.hasBirthDateRange() && !birthDateIndex.isReady())) {
+            return null;
+        }
+
+        RoaringBitmap result = null;
+        if (!filter.groupesSanguins().isEmpty()) {
+            result = categoryBitmapIndex.groupesSanguins(filter.groupesSanguins());
+        }
+        if (!filter.genres().isEmpty()) {
+            result = intersect(result, categoryBitmapIndex.genres(filter.genres()));
+        }
+        if (!filter.villes().isEmpty()) {
+            result = intersect(result, categoryBitmapIndex.villes(filter.villes()));
+        }
+        if (filter.hasBirthDateRange() && (result == null || !result.isEmpty())) {
+            LocalDate debut = filter.debut() != null ? filter.debut() : LocalDate.MIN;
+            LocalDate fin = filter.fin() != null ? filter.fin() : LocalDate.MAX;
+            // Identifiants triés par date : construction du bitmap par partition des clés plutôt qu'ajout un à un
+            long[] bornIds = birthDateIndex.findIds(debut, fin);
+            int[] ids = new int[bornIds.length];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = (int) bornIds[i];
+            }
+            result = intersect(result, RoaringBitmap.bitmapOfUnordered(ids));
+        }
+        // Le nom en dernier : c'est le seul critère qui peut interroger la base
+        if (filter.query() != null && (result == null || !result.isEmpty())) {
+            result = intersect(result, patientNameSearch.findMatchingIds(filter.query()));
+        }
+        return result != null ? result : categoryBitmapIndex.all();
+    }
+
+    private static RoaringBitmap intersect(RoaringBitmap current, RoaringBitmap other) {
+        if (current == null) {
+            return other;
+        }
+        current.and(other);
+        return current;
+    }
+
+    private FilterPage searchWithSql(PatientFilter filter, Long afterId, int limit, boolean withCounts) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = toSql(filter, params);
+
+        params.addValue("limit", limit);
+        String pageSql = "SELECT id FROM patients WHERE " + where
+                + (afterId != null ? " AND id > :afterId" : "") + " ORDER BY id LIMIT :limit";
+        params.addValue("afterId", afterId);
+        List<Long> ids = jdbcTemplate.queryForList(pageSql, params, Long.class);
+
+        CategoryCounts counts = withCounts ? countWithSql(where, params) : null;
+        return new FilterPage(fetchInOrder(ids), counts);
+    }
+
+    private CategoryCounts countWithSql(String where, MapSqlParameterSource params) {
+        long[] total = {0};
+        Map<String, Long> groupesSanguins = new TreeMap<>();
+        Map<GenreSexe, Long> genres = new EnumMap<>(GenreSexe.class);
+        Map<Integer, Long> decennies = new TreeMap<>();
+        jdbcTemplate.query(COUNT_SQL.formatted(DECENNIE_SQL, where), params, rs -> {
+            long patients = rs.getLong("patients");
+            if (rs.getInt("g_groupe") == 0) {
+                String groupe = rs.getString("groupe_sanguin");
+                if (groupe != null) {
+                    groupesSanguins.put(groupe, patients);
+                }
+            } else if (rs.getInt("g_genre") == 0) {
+                String genre = rs.getString("genre");
+                if (genre != null) {
+                    genres.put(GenreSexe.valueOf(genre), patients);
+                }
+            } else if (rs.getInt("g_decennie") == 0) {
+                int decennie = rs.getInt("decennie");
+                if (!rs.wasNull()) {
+                    decennies.put(decennie, patients);
+                }
+            } else {
+                total[0] = patients;
+            }
+        });
+        return new CategoryCounts(total[0], groupesSanguins, genres, new LinkedHashMap<>(decennies));
+    }
+
+    /**
+     * Traduire les critères en clause WHERE, appliquant les mêmes règles que les index en mémoire
+     */
+    private static String toSql(PatientFilter filter, MapSqlParameterSource params) {
+        List<String> predicates = new ArrayList<>();
+        predicates.add("TRUE");
+        if (!filter.groupesSanguins().isEmpty()) {
+            predicates.add("groupe_sanguin IN (:groupes)");
+            params.addValue("groupes", filter.groupesSanguins());
+        }
+        if (!filter.genres().isEmpty()) {
+            predicates.add("genre IN (:genres)");
+            params.addValue("genres", filter.genres().stream().map(GenreSexe::name).toList());
+        }
+        if (filter.debut() != null) {
+            predicates.add("date_naissance >= :debut");
+            params.addValue("debut", filter.debut());
+        }
+        if (filter.fin() != null) {
+            predicates.add("date_naissance <= :fin");
+            params.addValue("fin", filter.fin());
+        }
+        if (!filter.villes().isEmpty()) {
+            predicates.add(Villes.SQL_EXPRESSION + " IN (:villes)");
+            params.addValue("villes", filter.villes().stream().map(Villes::normalize).toList());
+        }
+        if (filter.query() != null) {
+            predicates.add("(lower(nom) LIKE :pattern OR lower(prenom) LIKE :pattern)");
+            params.addValue("pattern", PatientNameSearch.likePattern(filter.query()));
+        }
+        return String.join(" AND ", predicates);
+    }
+
+    private List<PatientDTO> fetchInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, PatientDTO> byId = new HashMap<>();
+        patientRepository.findDtosByIdIn(ids).forEach(patient -> byId.put(patient.getId(), patient));
+        List<PatientDTO> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            PatientDTO patient = byId.get(id);
+            if (patient != null) {
+                ordered.add(patient);
+            }
+        }
+        return ordered;
+    }
+}
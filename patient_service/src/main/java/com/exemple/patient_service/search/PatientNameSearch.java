@@ -0,0 +1,137 @@
+package com.exemple.patient_service.search;
+
+import com.exemple.patient_service.config.PatientSchemaInitializer;
+import com.exemple.patient_service.config.SearchProperties;
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.enums.NameSearchMode;
+import com.exemple.patient_service.exception.BadRequestException;
+import com.exemple.patient_service.index.TrigramNameIndex;
+import com.exemple.patient_service.index.Trigrams;
+import com.exemple.patient_service.repository.PatientRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Recherche de patients par sous-chaîne du nom ou du prénom, classée par similarité.
+ * <p>
+ * Selon le mode effectif, la recherche est servie par les index GIN pg_trgm ou par l'index n-gramme
+ * en mémoire. Les termes trop courts pour un index trigramme, et les recherches arrivant avant la fin
+ * de la construction de l'index en mémoire, sont servis par une requête LIKE bornée.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PatientNameSearch {
+
+    private final PatientRepository patientRepository;
+    private final TrigramNameIndex trigramNameIndex;
+    private final PatientSchemaInitializer schemaInitializer;
+    private final SearchProperties searchProperties;
+
+    /**
+     * @param query le terme de recherche
+     * @param limit le nombre maximal de résultats (null pour la valeur par défaut)
+     * @return les patients correspondants, du plus similaire au moins similaire
+     */
+    public List<PatientDTO> search(String query, Integer limit) {
+        String term = Trigrams.normalize(query);
+        if (term.isEmpty()) {
+            throw new BadRequestException("Le terme de recherche est obligatoire");
+        }
+        int maxResults = resolveLimit(limit);
+
+        boolean indexable = term.length() >= TrigramNameIndex.MIN_QUERY_LENGTH;
+        NameSearchMode mode = schemaInitializer.getEffectiveNameSearchMode();
+        if (indexable && mode == NameSearchMode.DATABASE) {
+            return patientRepository.searchByNameTrigram(term, likePattern(term), Limit.of(maxResults));
+        }
+        if (indexable && trigramNameIndex.isReady()) {
+            return fetchInOrder(trigramNameIndex.search(term, maxResults));
+        }
+
+        log.debug("Recherche par nom sans index trigramme pour le terme de {} caractères", term.length());
+        List<PatientDTO> patients = new ArrayList<>(patientRepository
+                .findDtosByNameContaining(likePattern(term), Limit.of(maxResults)));
+        patients.sort(bySimilarityTo(term));
+        return patients;
+    }
+
+    /**
+     * Tous les patients dont le nom ou le prénom contient le terme, pour un filtre combiné
+     * @param query le terme de recherche (au moins {@link TrigramNameIndex#MIN_QUERY_LENGTH} caractères,
+     *              pour que le coût reste borné par les index trigrammes)
+     * @return les identifiants correspondants
+     */
+    public RoaringBitmap findMatchingIds(String query) {
+        String term = Trigrams.normalize(query);
+        if (term.length() < TrigramNameIndex.MIN_QUERY_LENGTH) {
+            throw new BadRequestException("Le terme de recherche doit contenir au moins "
+                    + TrigramNameIndex.MIN_QUERY_LENGTH + " caractères");
+        }
+        if (schemaInitializer.getEffectiveNameSearchMode() == NameSearchMode.MEMORY && trigramNameIndex.isReady()) {
+            return trigramNameIndex.matchingIds(term);
+        }
+        RoaringBitmap ids = new RoaringBitmap();
+        for (Long id : patientRepository.findIdsByNameContaining(likePattern(term))) {
+            ids.add(id.intValue());
+        }
+        return ids;
+    }
+
+    /**
+     * @param query le terme de recherche
+     * @return le motif LIKE insensible à la casse équivalent à {@link #findMatchingIds(String)}
+     */
+    public static String likePattern(String query) {
+        return "%" + escapeLike(Trigrams.normalize(query)) + "%";
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return searchProperties.getDefaultLimit();
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Le nombre de résultats doit être strictement positif");
+        }
+        return Math.min(limit, searchProperties.getMaxLimit());
+    }
+
+    private List<PatientDTO> fetchInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, PatientDTO> byId = new HashMap<>();
+        patientRepository.findDtosByIdIn(ids).forEach(patient -> byId.put(patient.getId(), patient));
+        List<PatientDTO> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            PatientDTO patient = byId.get(id);
+            if (patient != null) {
+                ordered.add(patient);
+            }
+        }
+        return ordered;
+    }
+
+    private static Comparator<PatientDTO> bySimilarityTo(String term) {
+        Set<Long> termTrigrams = Trigrams.wordTrigrams(term);
+        Function<PatientDTO, Double> score = patient -> Math.max(
+                Trigrams.similarity(Trigrams.wordTrigrams(Trigrams.normalize(patient.getNom())), termTrigrams),
+                Trigrams.similarity(Trigrams.wordTrigrams(Trigrams.normalize(patient.getPrenom())), termTrigrams));
+        return Comparator.comparing(score).reversed().thenComparing(PatientDTO::getId);
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
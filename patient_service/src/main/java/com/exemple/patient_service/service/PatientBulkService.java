@@ -0,0 +1,21 @@
+package com.exemple.patient_service.service;
+
+import com.exemple.patient_service.dto.BulkCreateResultDTO;
+import com.exemple.patient_service.dto.PatientDTO;
+
+import java.util.List;
+
+/**
+ * Service de création de patients en masse
+ */
+public interface PatientBulkService {
+
+    /**
+     * Créer une liste de patients par lots : chaque patient est validé, l'unicité des numéros
+     * de sécurité sociale est vérifiée par une requête par lot et les insertions sont regroupées en lots JDBC.
+     * Un patient refusé n'empêche pas la création des autres.
+     * @param patients les patients à créer
+     * @return le compte rendu, avec la position de chaque patient refusé
+     */
+    BulkCreateResultDTO createPatients(List<PatientDTO> patients);
+}
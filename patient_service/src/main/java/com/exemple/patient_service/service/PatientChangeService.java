@@ -0,0 +1,25 @@
+package com.exemple.patient_service.service;
+
+import com.exemple.patient_service.dto.CursorPageDTO;
+import com.exemple.patient_service.dto.PatientChangeDTO;
+
+/**
+ * Service de lecture du journal des modifications de patients (synchronisation incrémentale)
+ */
+public interface PatientChangeService {
+
+    /**
+     * Lire les modifications publiées après une position, par position croissante
+     * @param since le curseur renvoyé par l'appel précédent (null pour lire depuis le début du journal)
+     * @param limit le nombre maximal de modifications (null pour la valeur par défaut)
+     * @return les modifications, avec l'état actuel de chaque patient, et le curseur à transmettre à l'appel suivant
+     */
+    CursorPageDTO<PatientChangeDTO> getChanges(String since, Integer limit);
+
+    /**
+     * Position de la dernière modification publiée, à relever avant une synchronisation complète
+     * (export) pour suivre ensuite le journal à partir de cette position
+     * @return une page vide dont le curseur est la position courante du journal
+     */
+    CursorPageDTO<PatientChangeDTO> getHead();
+}
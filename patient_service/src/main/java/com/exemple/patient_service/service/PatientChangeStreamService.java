@@ -0,0 +1,21 @@
+package com.exemple.patient_service.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collection;
+
+/**
+ * Service de diffusion en direct des modifications de patients (Server-Sent Events)
+ */
+public interface PatientChangeStreamService {
+
+    /**
+     * Abonner un client aux modifications de patients validées après une position du journal
+     * @param since le curseur de reprise (Last-Event-ID ou curseur de GET /patients/changes), null pour ne recevoir
+     *              que les modifications à venir
+     * @param patientIds les patients suivis (tous si vide ou null)
+     * @param groupesSanguins les groupes sanguins suivis (tous si vide ou null)
+     * @return le flux d'événements du client
+     */
+    SseEmitter subscribe(String since, Collection<Long> patientIds, Collection<String> groupesSanguins);
+}
@@ -0,0 +1,19 @@
+package com.exemple.patient_service.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service d'export en masse des patients
+ */
+public interface PatientExportService {
+
+    /**
+     * Écrire toute la table des patients au format NDJSON (un objet JSON par ligne),
+     * au fil de la lecture et avec une mémoire constante
+     * @param out le flux de sortie (il n'est pas fermé par le service)
+     * @return le nombre de patients exportés
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    long exportNdjson(OutputStream out) throws IOException;
+}
@@ -0,0 +1,36 @@
+package com.exemple.patient_service.service;
+
+import com.exemple.patient_service.dto.PatientImportDTO;
+import com.exemple.patient_service.enums.ImportConflictMode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Service d'import de fichiers CSV volumineux par le protocole COPY de PostgreSQL
+ */
+public interface PatientImportService {
+
+    /**
+     * Importer un fichier CSV en flux et en mémoire constante : les lignes sont validées en parallèle,
+     * copiées dans une table de transit puis fusionnées dans la table des patients en une seule transaction
+     * @param input le contenu CSV (UTF-8, ligne d'en-tête obligatoire), lu jusqu'au bout mais pas fermé
+     * @param separator le séparateur de champs
+     * @param conflictMode le traitement des NSS déjà présents en base
+     * @return le compte rendu de l'import, terminé avec succès ou en échec
+     * @throws IOException si l'en-tête du fichier ne peut pas être lu
+     */
+    PatientImportDTO importCsv(InputStream input, char separator, ImportConflictMode conflictMode) throws IOException;
+
+    /**
+     * @return les imports en cours et les derniers imports terminés
+     */
+    List<PatientImportDTO> getImports();
+
+    /**
+     * @param id l'identifiant de l'import
+     * @return l'avancement ou le compte rendu de l'import
+     */
+    PatientImportDTO getImport(String id);
+}
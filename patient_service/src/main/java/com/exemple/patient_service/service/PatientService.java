@@ -1,6 +1,12 @@
 package com.exemple.patient_service.service;
 
+import com.exemple.patient_service.dto.CursorPageDTO;
+import com.exemple.patient_service.dto.FacetedSearchResultDTO;
 import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.dto.PatientStatsDTO;
+import com.exemple.patient_service.dto.PatientVersion;
+import com.exemple.patient_service.enums.PatientSort;
+import com.exemple.patient_service.search.PatientFilter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -25,10 +31,21 @@ public interface PatientService {
     PatientDTO getPatientById(Long id);
     
     /**
-     * Obtenir tous les patients
-     * @return la liste des patients
+     * Obtenir l'identifiant et la version d'un patient, sans charger ses données
+     * (servi par le cache s'il y est, sinon par une requête sur la seule version)
+     * @param id l'identifiant du patient
+     * @return l'identifiant et la version du patient
+     */
+    PatientVersion getPatientVersion(Long id);
+    
+    /**
+     * Obtenir une page de patients par pagination par curseur
+     * @param cursor le curseur opaque renvoyé par la page précédente (null pour la première page)
+     * @param size la taille de page souhaitée (null pour la taille par défaut)
+     * @param sort la clé de tri (ignorée si un curseur est fourni, le curseur portant son propre tri)
+     * @return la page de patients et le curseur de la page suivante
      */
-    List<PatientDTO> getAllPatients();
+    CursorPageDTO<PatientDTO> getPatientsPage(String cursor, Integer size, PatientSort sort);
     
     /**
      * Mettre à jour un patient existant
@@ -51,12 +68,20 @@ public interface PatientService {
      */
     PatientDTO findByNumeroSecuriteSociale(String numeroSecuriteSociale);
     
+    /**
+     * Obtenir l'identifiant et la version d'un patient par numéro de sécurité sociale, sans charger ses données
+     * @param numeroSecuriteSociale le numéro de sécurité sociale
+     * @return l'identifiant et la version du patient
+     */
+    PatientVersion getPatientVersionByNumeroSecuriteSociale(String numeroSecuriteSociale);
+    
     /**
      * Rechercher les patients par nom ou prénom
-     * @param query le terme de recherche
-     * @return la liste des patients correspondants
+     * @param query le terme de recherche (sous-chaîne, insensible à la casse)
+     * @param limit le nombre maximal de résultats (null pour la valeur par défaut)
+     * @return la liste des patients correspondants, du plus similaire au moins similaire
      */
-    List<PatientDTO> searchPatientsByNameOrFirstname(String query);
+    List<PatientDTO> searchPatientsByNameOrFirstname(String query, Integer limit);
     
     /**
      * Rechercher les patients nés entre deux dates
@@ -66,10 +91,44 @@ public interface PatientService {
      */
     List<PatientDTO> findPatientsByBirthDateRange(LocalDate debut, LocalDate fin);
     
+    /**
+     * Compter les patients nés entre deux dates
+     * @param debut la date de début
+     * @param fin la date de fin
+     * @return le nombre de patients
+     */
+    long countPatientsByBirthDateRange(LocalDate debut, LocalDate fin);
+    
     /**
      * Rechercher les patients par groupe sanguin
      * @param groupeSanguin le groupe sanguin
      * @return la liste des patients correspondants
      */
     List<PatientDTO> findPatientsByGroupeSanguin(String groupeSanguin);
-} 
\ No newline at end of file
+    
+    /**
+     * Filtrer les patients sur plusieurs critères combinés, page par page
+     * @param filter les critères (groupes sanguins, genres, période de naissance)
+     * @param cursor le curseur de la page précédente (null pour la première page)
+     * @param size la taille de page (null pour la taille par défaut)
+     * @return la page de patients, par ID croissant
+     */
+    CursorPageDTO<PatientDTO> filterPatients(PatientFilter filter, String cursor, Integer size);
+    
+    /**
+     * Rechercher les patients sur plusieurs critères combinés, avec la répartition de tous les résultats
+     * par groupe sanguin, genre et décennie de naissance
+     * @param filter les critères (nom, période de naissance, groupes sanguins, genres, villes)
+     * @param cursor le curseur de la page précédente (null pour la première page)
+     * @param size la taille de page (null pour la taille par défaut)
+     * @return la page de patients, par ID croissant, et les facettes
+     */
+    FacetedSearchResultDTO facetedSearch(PatientFilter filter, String cursor, Integer size);
+    
+    /**
+     * Répartition de l'ensemble des patients par groupe sanguin, genre, tranche d'âge et ville,
+     * servie par les compteurs en mémoire une fois initialisés
+     * @return les statistiques de patients
+     */
+    PatientStatsDTO getStatistics();
+} 
@@ -0,0 +1,179 @@
+package com.exemple.patient_service.service.impl;
+
+import com.exemple.patient_service.config.BulkProperties;
+import com.exemple.patient_service.dto.BulkCreateResultDTO;
+import com.exemple.patient_service.dto.BulkItemErrorDTO;
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.entity.Patient;
+import com.exemple.patient_service.event.PatientChangedEvent;
+import com.exemple.patient_service.exception.BadRequestException;
+import com.exemple.patient_service.index.NssBloomFilter;
+import com.exemple.patient_service.mapper.PatientMapper;
+import com.exemple.patient_service.repository.PatientRepository;
+import com.exemple.patient_service.service.PatientBulkService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@Slf4j
+public class PatientBulkServiceImpl implements PatientBulkService {
+
+    static final String DUPLICATE_NSS_MESSAGE = "Un patient avec ce numéro de sécurité sociale existe déjà";
+
+    private final PatientRepository patientRepository;
+    private final PatientMapper patientMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NssBloomFilter nssBloomFilter;
+    private final BulkProperties bulkProperties;
+    private final EntityManager entityManager;
+    private final TransactionTemplate chunkTransaction;
+
+    public PatientBulkServiceImpl(PatientRepository patientRepository,
+                                  PatientMapper patientMapper,
+                                  Validator validator,
+                                  ApplicationEventPublisher eventPublisher,
+                                  NssBloomFilter nssBloomFilter,
+                                  BulkProperties bulkProperties,
+                                  EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager) {
+        this.patientRepository = patientRepository;
+        this.patientMapper = patientMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.nssBloomFilter = nssBloomFilter;
+        this.bulkProperties = bulkProperties;
+        this.entityManager = entityManager;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public BulkCreateResultDTO createPatients(List<PatientDTO> patients) {
+        if (patients == null || patients.isEmpty()) {
+            throw new BadRequestException("La liste des patients à créer est vide");
+        }
+        if (patients.size() > bulkProperties.getMaxItems()) {
+            throw new BadRequestException("Une création en masse est limitée à " + bulkProperties.getMaxItems() + " patients");
+        }
+
+        log.info("Création en masse de {} patients", patients.size());
+        long start = System.nanoTime();
+        List<BulkItemErrorDTO> errors = new ArrayList<>();
+        Set<String> seenNumeros = new HashSet<>();
+        int created = 0;
+        for (int from = 0; from < patients.size(); from += bulkProperties.getChunkSize()) {
+            int to = Math.min(from + bulkProperties.getChunkSize(), patients.size());
+            created += createChunk(patients, from, to, seenNumeros, errors);
+        }
+        errors.sort(Comparator.comparingInt(BulkItemErrorDTO::getIndex));
+
+        log.info("Création en masse terminée: {} créés, {} refusés, {} ms",
+                created, errors.size(), (System.nanoTime() - start) / 1_000_000);
+        return BulkCreateResultDTO.builder()
+                .received(patients.size())
+                .created(created)
+                .failed(errors.size())
+                .errors(errors)
+                .build();
+    }
+
+    /**
+     * Valider, vérifier puis insérer les patients [from, to) dans une seule transaction
+     * @return le nombre de patients créés
+     */
+    private int createChunk(List<PatientDTO> patients, int from, int to, Set<String> seenNumeros, List<BulkItemErrorDTO> errors) {
+        List<Integer> accepted = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            PatientDTO dto = patients.get(i);
+            if (dto == null) {
+                errors.add(error(i, null, List.of("Le patient est absent")));
+                continue;
+            }
+            Set<ConstraintViolation<PatientDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                errors.add(error(i, dto.getNumeroSecuriteSociale(), violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .toList()));
+                continue;
+            }
+            if (dto.getNumeroSecuriteSociale() != null && !seenNumeros.add(dto.getNumeroSecuriteSociale())) {
+                errors.add(error(i, dto.getNumeroSecuriteSociale(),
+                        List.of("Numéro de sécurité sociale en double dans la requête")));
+                continue;
+            }
+            accepted.add(i);
+        }
+
+        // Une seule requête pour le lot, limitée aux numéros que le filtre de Bloom ne peut pas écarter
+        List<String> toCheck = accepted.stream()
+                .map(i -> patients.get(i).getNumeroSecuriteSociale())
+                .filter(numero -> numero != null && nssBloomFilter.mightContain(numero))
+                .toList();
+        Set<String> existing = toCheck.isEmpty()
+                ? Set.of()
+                : new HashSet<>(patientRepository.findExistingNumerosSecuriteSociale(toCheck));
+        if (!existing.isEmpty()) {
+            accepted.removeIf(i -> {
+                String numero = patients.get(i).getNumeroSecuriteSociale();
+                if (numero != null && existing.contains(numero)) {
+                    errors.add(error(i, numero, List.of(DUPLICATE_NSS_MESSAGE)));
+                    return true;
+                }
+                return false;
+            });
+        }
+        if (accepted.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            Integer created = chunkTransaction.execute(status -> {
+                List<Patient> entities = new ArrayList<>(accepted.size());
+                for (Integer i : accepted) {
+                    Patient patient = patientMapper.toEntity(patients.get(i));
+                    patient.setId(null);
+                    entities.add(patient);
+                }
+                // Identifiants tirés de la séquence par blocs : les INSERT partent en lots JDBC au flush
+                List<Patient> saved = patientRepository.saveAll(entities);
+                patientRepository.flush();
+                saved.forEach(patient -> eventPublisher.publishEvent(PatientChangedEvent.created(patientMapper.toDto(patient))));
+                // Le contexte de persistance peut être celui de la requête (open-in-view) : sans ce vidage,
+                // chaque flush revérifierait toutes les entités des lots précédents
+                entityManager.clear();
+                return saved.size();
+            });
+            return created == null ? 0 : created;
+        } catch (DataIntegrityViolationException ex) {
+            // Numéro enregistré entre la vérification et l'insertion par une écriture concurrente : le lot est annulé
+            log.warn("Lot [{}, {}) annulé: {}", from, to, ex.getMostSpecificCause().getMessage());
+            for (Integer i : accepted) {
+                errors.add(error(i, patients.get(i).getNumeroSecuriteSociale(),
+                        List.of("Lot annulé suite à un conflit d'intégrité, patient à renvoyer")));
+            }
+            return 0;
+        }
+    }
+
+    private static BulkItemErrorDTO error(int index, String numeroSecuriteSociale, List<String> messages) {
+        return BulkItemErrorDTO.builder()
+                .index(index)
+                .numeroSecuriteSociale(numeroSecuriteSociale)
+                .messages(messages)
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.exemple.patient_service.service.impl;
+
+import com.exemple.patient_service.changelog.PatientChange;
+import com.exemple.patient_service.changelog.PatientChangeLog;
+import com.exemple.patient_service.config.PatientChangesProperties;
+import com.exemple.patient_service.dto.CursorPageDTO;
+import com.exemple.patient_service.dto.PatientChangeDTO;
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.exception.BadRequestException;
+import com.exemple.patient_service.exception.CursorExpiredException;
+import com.exemple.patient_service.exception.ResourceNotFoundException;
+import com.exemple.patient_service.pagination.PatientChangeCursor;
+import com.exemple.patient_service.repository.PatientRepository;
+import com.exemple.patient_service.service.PatientChangeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PatientChangeServiceImpl implements PatientChangeService {
+
+    private static final PatientChangeCursor START = new PatientChangeCursor(0, 0);
+
+    private final PatientChangeLog patientChangeLog;
+    private final PatientRepository patientRepository;
+    private final PatientChangesProperties changesProperties;
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PatientChangeDTO> getChanges(String since, Integer limit) {
+        checkEnabled();
+        int size = resolveLimit(limit);
+        PatientChangeCursor after = (since == null || since.isBlank()) ? null : PatientChangeCursor.decode(since);
+        if (after != null) {
+            patientChangeLog.findHorizon()
+                    .filter(horizon -> after.compareTo(horizon) < 0)
+                    .ifPresent(horizon -> {
+                        throw new CursorExpiredException("Curseur antérieur à la purge du journal des modifications : "
+                                + "resynchroniser par GET /patients/export puis reprendre depuis GET /patients/changes/head");
+                    });
+        }
+
+        // Une ligne de plus que demandé indique s'il reste des modifications
+        List<PatientChange> changes = patientChangeLog.findAfter(after != null ? after : START, size + 1);
+        boolean hasNext = changes.size() > size;
+        if (hasNext) {
+            changes = changes.subList(0, size);
+        }
+
+        // État actuel des patients en une requête : O(modifications), quelle que soit la taille de la table
+        Map<Long, PatientDTO> patients = new HashMap<>();
+        if (!changes.isEmpty()) {
+            List<Long> ids = changes.stream().map(PatientChange::patientId).distinct().toList();
+            patientRepository.findDtosByIdIn(ids).forEach(patient -> patients.put(patient.getId(), patient));
+        }
+        List<PatientChangeDTO> content = changes.stream()
+                .map(change -> PatientChangeDTO.builder()
+                        .sequence(change.id())
+                        .cursor(change.position().encode())
+                        .type(change.type())
+                        .patientId(change.patientId())
+                        .version(change.version())
+                        .changedAt(change.changedAt())
+                        .patient(patients.get(change.patientId()))
+                        .build())
+                .toList();
+
+        // Sans nouvelle modification, le consommateur garde sa position
+        PatientChangeCursor next = changes.isEmpty() ? after : changes.get(changes.size() - 1).position();
+        log.debug("Journal des modifications: {} modifications lues", content.size());
+        return CursorPageDTO.<PatientChangeDTO>builder()
+                .content(content)
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(next != null ? next.encode() : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PatientChangeDTO> getHead() {
+        checkEnabled();
+        // Journal vide : la position de départ suit aussi toute modification future
+        PatientChangeCursor head = patientChangeLog.findHead()
+                .or(patientChangeLog::findHorizon)
+                .orElse(START);
+        return CursorPageDTO.<PatientChangeDTO>builder()
+                .content(List.of())
+                .size(0)
+                .hasNext(false)
+                .nextCursor(head.encode())
+                .build();
+    }
+
+    private void checkEnabled() {
+        if (!patientChangeLog.isEnabled()) {
+            throw new ResourceNotFoundException("Journal des modifications désactivé (patient.changes.enabled ou base non PostgreSQL)");
+        }
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return changesProperties.getDefaultLimit();
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Le nombre de modifications doit être strictement positif");
+        }
+        return Math.min(limit, changesProperties.getMaxLimit());
+    }
+}
@@ -0,0 +1,403 @@
+package com.exemple.patient_service.service.impl;
+
+import com.exemple.patient_service.config.ChangeStreamProperties;
+import com.exemple.patient_service.config.PatientChangesProperties;
+import com.exemple.patient_service.config.WorkerThreads;
+import com.exemple.patient_service.dto.CursorPageDTO;
+import com.exemple.patient_service.dto.PatientChangeDTO;
+import com.exemple.patient_service.event.PatientChangedEvent;
+import com.exemple.patient_service.event.PatientsReloadedEvent;
+import com.exemple.patient_service.exception.CursorExpiredException;
+import com.exemple.patient_service.pagination.PatientChangeCursor;
+import com.exemple.patient_service.service.PatientChangeService;
+import com.exemple.patient_service.service.PatientChangeStreamService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Diffusion des modifications de patients aux abonnés SSE, à partir du journal des modifications.
+ * <p>
+ * Un seul thread lit le journal (réveillé à chaque validation dans ce service, et au plus tard toutes les
+ * {@code patient.change-stream.poll-interval}) et répartit chaque lot entre les abonnés dont le filtre correspond.
+ * Chaque abonné a sa file bornée et son propre thread d'envoi : un client lent ne ralentit ni la lecture ni les
+ * autres abonnés.
+ * <p>
+ * Un nouvel abonné rattrape d'abord le journal depuis son curseur avec son propre thread, puis rejoint la diffusion
+ * commune dès qu'il a atteint la position du dernier lot distribué. Un abonné dont la file déborde (client lent,
+ * import volumineux) perd la suite du lot : il est retiré de la diffusion commune, envoie ce qui reste dans sa file
+ * puis rattrape de nouveau le journal à son propre rythme. L'identifiant de chaque événement étant sa position dans
+ * le journal, un client déconnecté reprend de même sans perte depuis Last-Event-ID.
+ */
+@Service
+@Slf4j
+public class PatientChangeStreamServiceImpl implements PatientChangeStreamService {
+
+    static final String EVENT_NAME = "patient-change";
+
+    private final PatientChangeService patientChangeService;
+    private final ChangeStreamProperties properties;
+    private final int batchSize;
+    private final ThreadFactory threads;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Semaphore wakeups = new Semaphore(0);
+    private final Counter overflows;
+    private final Counter sent;
+
+    /**
+     * Protège {@link #position} et l'entrée des abonnés dans la diffusion commune
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Position du dernier lot distribué, null tant que personne n'est abonné
+     */
+    private PatientChangeCursor position;
+
+    private Thread poller;
+    private volatile boolean running = true;
+
+    public PatientChangeStreamServiceImpl(PatientChangeService patientChangeService, ChangeStreamProperties properties,
+                                          PatientChangesProperties changesProperties, WorkerThreads workerThreads,
+                                          MeterRegistry meterRegistry) {
+        this.patientChangeService = patientChangeService;
+        this.properties = properties;
+        this.batchSize = changesProperties.getMaxLimit();
+        this.threads = workerThreads.factory("patient-change-stream-");
+
+        Gauge.builder("patient.change.stream.subscribers", subscribers, Set::size)
+                .description("Abonnés au flux SSE des modifications recevant la diffusion commune")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("patient.change.stream.overflows")
+                .description("Débordements de file d'abonnés trop lents, renvoyés à la relecture du journal")
+                .register(meterRegistry);
+        this.sent = Counter.builder("patient.change.stream.events")
+                .description("Modifications envoyées aux abonnés du flux SSE")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public SseEmitter subscribe(String since, Collection<Long> patientIds, Collection<String> groupesSanguins) {
+        String start = (since == null || since.isBlank()) ? patientChangeService.getHead().getNextCursor() : since;
+        // Première page lue dans la requête : curseur invalide (400), expiré (410) ou journal désactivé (404)
+        // sont signalés par le statut HTTP, ce qui arrête les reconnexions automatiques d'EventSource
+        CursorPageDTO<PatientChangeDTO> first = patientChangeService.getChanges(start, batchSize);
+
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, PatientChangeCursor.decode(start),
+                patientIds == null ? Set.of() : Set.copyOf(patientIds),
+                groupesSanguins == null ? Set.of() : Set.copyOf(groupesSanguins),
+                new ArrayBlockingQueue<>(properties.getBufferSize()));
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(ex -> close(subscriber));
+
+        ensurePollerStarted();
+        subscriber.thread = threads.newThread(() -> run(subscriber, first));
+        subscriber.thread.start();
+        return emitter;
+    }
+
+    /**
+     * Réveiller la lecture du journal après la validation d'une modification
+     * @param event la modification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientChanged(PatientChangedEvent event) {
+        wakeUp();
+    }
+
+    /**
+     * Réveiller la lecture du journal après un import
+     * @param event le rechargement
+     */
+    @EventListener
+    public void onPatientsReloaded(PatientsReloadedEvent event) {
+        wakeUp();
+    }
+
+    private void wakeUp() {
+        if (!subscribers.isEmpty()) {
+            wakeups.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (poller != null) {
+            poller.interrupt();
+        }
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    // ---- Envoi à un abonné ----
+
+    private void run(Subscriber subscriber, CursorPageDTO<PatientChangeDTO> first) {
+        try {
+            // Confirme l'abonnement au client (et aux mandataires) avant la première modification
+            subscriber.emitter.send(SseEmitter.event()
+                    .reconnectTime(properties.getReconnectDelay().toMillis())
+                    .comment("abonnement"));
+            CursorPageDTO<PatientChangeDTO> page = first;
+            while (true) {
+                catchUp(subscriber, page);
+                deliverLive(subscriber);
+                page = patientChangeService.getChanges(subscriber.position.encode(), batchSize);
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // Client déconnecté : l'émetteur est terminé par le conteneur
+            log.debug("Abonné au flux des modifications déconnecté: {}", ex.getMessage());
+        } catch (CursorExpiredException ex) {
+            // Abonné en retard au-delà de la rétention : la reconnexion reçoit 410
+            subscriber.emitter.complete();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException ex) {
+            log.warn("Échec de l'envoi du flux des modifications", ex);
+            subscriber.emitter.completeWithError(ex);
+        } finally {
+            subscribers.remove(subscriber);
+        }
+    }
+
+    /**
+     * Lire le journal depuis la position de l'abonné jusqu'à rejoindre la diffusion commune
+     */
+    private void catchUp(Subscriber subscriber, CursorPageDTO<PatientChangeDTO> first) throws IOException {
+        CursorPageDTO<PatientChangeDTO> page = first;
+        subscriber.overflowed = false;
+        while (true) {
+            for (PatientChangeDTO change : page.getContent()) {
+                if (subscriber.matches(change)) {
+                    send(subscriber, change);
+                }
+            }
+            subscriber.position = PatientChangeCursor.decode(page.getNextCursor());
+            if (!page.isHasNext() && join(subscriber)) {
+                return;
+            }
+            page = patientChangeService.getChanges(subscriber.position.encode(), batchSize);
+        }
+    }
+
+    /**
+     * Faire entrer l'abonné dans la diffusion commune s'il a lu le journal au moins jusqu'au dernier lot distribué ;
+     * sinon les modifications de ce lot lui manqueraient et il doit poursuivre sa lecture
+     */
+    private boolean join(Subscriber subscriber) {
+        lock.lock();
+        try {
+            if (position == null) {
+                position = subscriber.position;
+            } else if (subscriber.position.compareTo(position) < 0) {
+                return false;
+            }
+            subscribers.add(subscriber);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Envoyer les modifications distribuées à l'abonné, jusqu'à ce que sa file ait débordé et soit vidée
+     */
+    private void deliverLive(Subscriber subscriber) throws IOException, InterruptedException {
+        long heartbeat = properties.getHeartbeat().toMillis();
+        while (true) {
+            Delivery delivery = subscriber.overflowed
+                    ? subscriber.buffer.poll()
+                    : subscriber.buffer.poll(heartbeat, TimeUnit.MILLISECONDS);
+            if (delivery == null) {
+                if (subscriber.overflowed) {
+                    // La file contient un début de lot sans trou : la suite est relue depuis la dernière position envoyée
+                    return;
+                }
+                // Le commentaire maintient la connexion ouverte à travers les mandataires, l'identifiant fait avancer
+                // le Last-Event-ID du client même quand son filtre écarte toutes les modifications
+                subscriber.emitter.send(SseEmitter.event().id(subscriber.position.encode()).comment("keep-alive"));
+                continue;
+            }
+            // Modification déjà envoyée pendant le rattrapage
+            if (delivery.position().compareTo(subscriber.position) <= 0) {
+                continue;
+            }
+            subscriber.position = delivery.position();
+            send(subscriber, delivery.change());
+        }
+    }
+
+    private void send(Subscriber subscriber, PatientChangeDTO change) throws IOException {
+        subscriber.emitter.send(SseEmitter.event()
+                .id(change.getCursor())
+                .name(EVENT_NAME)
+                .data(change, MediaType.APPLICATION_JSON));
+        sent.increment();
+    }
+
+    private void close(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        if (subscriber.thread != null) {
+            subscriber.thread.interrupt();
+        }
+    }
+
+    // ---- Lecture du journal et diffusion commune ----
+
+    private void ensurePollerStarted() {
+        lock.lock();
+        try {
+            if (poller == null && running) {
+                poller = threads.newThread(this::poll);
+                poller.start();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void poll() {
+        long interval = properties.getPollInterval().toMillis();
+        while (running) {
+            try {
+                wakeups.tryAcquire(interval, TimeUnit.MILLISECONDS);
+                // Plusieurs validations rapprochées ne déclenchent qu'une lecture
+                wakeups.drainPermits();
+            } catch (InterruptedException ex) {
+                return;
+            }
+            try {
+                pollOnce();
+            } catch (CursorExpiredException ex) {
+                // Position purgée (lecture interrompue au-delà de la rétention) : chaque abonné relit le journal
+                // depuis sa propre position, et se termine si elle est purgée elle aussi
+                log.warn("Position du flux des modifications purgée du journal, abonnés renvoyés à la relecture");
+                lock.lock();
+                try {
+                    position = null;
+                    subscribers.forEach(this::overflow);
+                } finally {
+                    lock.unlock();
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Échec de la lecture du journal des modifications pour le flux SSE: {}", ex.getMessage());
+            }
+        }
+    }
+
+    void pollOnce() {
+        CursorPageDTO<PatientChangeDTO> page;
+        do {
+            PatientChangeCursor from;
+            lock.lock();
+            try {
+                if (subscribers.isEmpty()) {
+                    // Personne à servir : le prochain abonné fixera la position
+                    position = null;
+                    return;
+                }
+                from = position;
+            } finally {
+                lock.unlock();
+            }
+
+            page = patientChangeService.getChanges(from.encode(), batchSize);
+            List<Delivery> deliveries = new ArrayList<>(page.getContent().size());
+            for (PatientChangeDTO change : page.getContent()) {
+                deliveries.add(new Delivery(PatientChangeCursor.decode(change.getCursor()), change));
+            }
+
+            lock.lock();
+            try {
+                // Tous les abonnés sont partis (et un nouveau a fixé une autre position) pendant la lecture
+                if (position == null || !position.equals(from)) {
+                    return;
+                }
+                for (Subscriber subscriber : subscribers) {
+                    for (Delivery delivery : deliveries) {
+                        if (subscriber.matches(delivery.change()) && !subscriber.buffer.offer(delivery)) {
+                            overflow(subscriber);
+                            break;
+                        }
+                    }
+                }
+                position = PatientChangeCursor.decode(page.getNextCursor());
+            } finally {
+                lock.unlock();
+            }
+        } while (page.isHasNext());
+    }
+
+    /**
+     * Retirer un abonné de la diffusion commune ; son thread envoie ce qui reste dans sa file puis relit le journal
+     */
+    private void overflow(Subscriber subscriber) {
+        subscriber.overflowed = true;
+        subscribers.remove(subscriber);
+        overflows.increment();
+        log.debug("File d'un abonné au flux des modifications pleine ({} modifications), relecture du journal",
+                subscriber.buffer.size());
+    }
+
+    private record Delivery(PatientChangeCursor position, PatientChangeDTO change) {
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<Long> patientIds;
+        private final Set<String> groupesSanguins;
+        private final BlockingQueue<Delivery> buffer;
+
+        /**
+         * Position de la dernière modification lue pour cet abonné, modifiée par son seul thread d'envoi
+         */
+        private volatile PatientChangeCursor position;
+        private volatile boolean overflowed;
+        private Thread thread;
+
+        private Subscriber(SseEmitter emitter, PatientChangeCursor position, Set<Long> patientIds,
+                           Set<String> groupesSanguins, BlockingQueue<Delivery> buffer) {
+            this.emitter = emitter;
+            this.position = position;
+            this.patientIds = patientIds;
+            this.groupesSanguins = groupesSanguins;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Critères combinés par ET, valeurs d'un critère par OU. Un patient supprimé n'a plus de groupe sanguin connu :
+         * sa suppression est transmise à tous les abonnés filtrés par groupe
+         */
+        private boolean matches(PatientChangeDTO change) {
+            if (!patientIds.isEmpty() && !patientIds.contains(change.getPatientId())) {
+                return false;
+            }
+            return groupesSanguins.isEmpty()
+                    || change.getPatient() == null
+                    || groupesSanguins.contains(change.getPatient().getGroupeSanguin());
+        }
+    }
+}
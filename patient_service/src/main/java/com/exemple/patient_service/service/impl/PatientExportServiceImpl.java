@@ -0,0 +1,62 @@
+package com.exemple.patient_service.service.impl;
+
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.repository.PatientRepository;
+import com.exemple.patient_service.service.PatientExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PatientExportServiceImpl implements PatientExportService {
+
+    /**
+     * Nombre de lignes écrites entre deux vidages du flux de sortie
+     */
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private final PatientRepository patientRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream out) throws IOException {
+        log.info("Export NDJSON de la table des patients");
+
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        // Projection en DTO : aucune entité n'entre dans le contexte de persistance, qui ne grossit pas avec la table
+        try (Stream<PatientDTO> patients = patientRepository.streamDtosOrderById();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            Iterator<PatientDTO> iterator = patients.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+
+                count++;
+                // Premier vidage immédiat pour que le client reçoive le premier octet sans attendre
+                if (count == 1 || count % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+
+        log.info("Export NDJSON terminé: {} patients", count);
+        return count;
+    }
+}
@@ -0,0 +1,250 @@
+package com.exemple.patient_service.service.impl;
+
+import com.exemple.patient_service.changelog.PatientChangeLog;
+import com.exemple.patient_service.config.ImportProperties;
+import com.exemple.patient_service.config.WorkerThreads;
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.dto.PatientImportDTO;
+import com.exemple.patient_service.enums.ImportConflictMode;
+import com.exemple.patient_service.event.PatientsReloadedEvent;
+import com.exemple.patient_service.exception.ResourceNotFoundException;
+import com.exemple.patient_service.importer.CsvRecordReader;
+import com.exemple.patient_service.importer.MergeResult;
+import com.exemple.patient_service.importer.PatientCopyEncoder;
+import com.exemple.patient_service.importer.PatientCopyLoader;
+import com.exemple.patient_service.importer.PatientCsvMapping;
+import com.exemple.patient_service.importer.PatientImportJob;
+import com.exemple.patient_service.importer.PatientImportRegistry;
+import com.exemple.patient_service.service.PatientImportService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.copy.CopyIn;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pipeline d'import : un thread lit le fichier et le découpe en lots, des threads de validation
+ * encodent les lignes valides au format COPY, et le thread appelant les écrit dans la table de transit.
+ * Les files entre les étapes sont bornées : la mémoire ne dépend pas de la taille du fichier.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PatientImportServiceImpl implements PatientImportService {
+
+    private static final List<CsvRow> END_OF_INPUT = new ArrayList<>();
+    private static final EncodedBatch END_OF_BATCHES = new EncodedBatch("", 0);
+
+    private final DataSource dataSource;
+    private final Validator validator;
+    private final PatientCopyLoader copyLoader;
+    private final PatientImportRegistry importRegistry;
+    private final ImportProperties importProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WorkerThreads workerThreads;
+    private final PatientChangeLog patientChangeLog;
+
+    @Override
+    public PatientImportDTO importCsv(InputStream input, char separator, ImportConflictMode conflictMode) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new InputStreamReader(input, StandardCharsets.UTF_8), separator);
+        PatientCsvMapping mapping = PatientCsvMapping.fromHeader(reader.next());
+
+        PatientImportJob job = importRegistry.start(conflictMode);
+        log.info("Import CSV {} démarré (conflits: {})", job.getId(), conflictMode);
+        long start = System.nanoTime();
+        try {
+            MergeResult result = load(reader, mapping, job, conflictMode);
+            job.completed(result);
+            log.info("Import CSV {} terminé en {} ms: {} créés, {} mis à jour, {} ignorés, {} refusés",
+                    job.getId(), (System.nanoTime() - start) / 1_000_000,
+                    result.inserted(), result.updated(), result.skipped(), job.toDto().getRowsRejected());
+            eventPublisher.publishEvent(new PatientsReloadedEvent("import " + job.getId(), result.inserted() + result.updated()));
+        } catch (Exception ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("Échec de l'import CSV {}", job.getId(), ex);
+            job.failed(ex.getMessage());
+        }
+        return job.toDto();
+    }
+
+    @Override
+    public List<PatientImportDTO> getImports() {
+        return importRegistry.list().stream().map(PatientImportJob::toDto).toList();
+    }
+
+    @Override
+    public PatientImportDTO getImport(String id) {
+        return importRegistry.find(id)
+                .map(PatientImportJob::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Import", "id", id));
+    }
+
+    private MergeResult load(CsvRecordReader reader, PatientCsvMapping mapping, PatientImportJob job,
+                             ImportConflictMode conflictMode) throws Exception {
+        int workers = importProperties.getWorkers();
+        BlockingQueue<List<CsvRow>> rawBatches = new ArrayBlockingQueue<>(importProperties.getQueueCapacity());
+        BlockingQueue<EncodedBatch> encodedBatches = new ArrayBlockingQueue<>(importProperties.getQueueCapacity());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(workers + 1, workerThreads.factory("patient-import-"));
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                CopyIn copyIn = copyLoader.beginCopy(connection);
+                executor.execute(guarded(failure, () -> read(reader, rawBatches, workers, job)));
+                for (int i = 0; i < workers; i++) {
+                    executor.execute(guarded(failure, () -> validate(mapping, rawBatches, encodedBatches, job)));
+                }
+
+                try {
+                    int finishedWorkers = 0;
+                    while (finishedWorkers < workers) {
+                        EncodedBatch batch = encodedBatches.poll(1, TimeUnit.SECONDS);
+                        if (failure.get() != null) {
+                            throw new IllegalStateException("Lecture ou validation interrompue: " + failure.get().getMessage(), failure.get());
+                        }
+                        if (batch == END_OF_BATCHES) {
+                            finishedWorkers++;
+                        } else if (batch != null && batch.rows() > 0) {
+                            byte[] bytes = batch.data().getBytes(StandardCharsets.UTF_8);
+                            copyIn.writeToCopy(bytes, 0, bytes.length);
+                            job.recordLoaded(batch.rows());
+                        }
+                    }
+                    copyIn.endCopy();
+                } finally {
+                    if (copyIn.isActive()) {
+                        copyIn.cancelCopy();
+                    }
+                }
+
+                job.merging();
+                MergeResult result = copyLoader.merge(connection, conflictMode, patientChangeLog.isEnabled());
+                connection.commit();
+                return result;
+            } catch (Exception ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Découper le fichier en lots de lignes, puis signaler la fin à chaque thread de validation
+     */
+    private void read(CsvRecordReader reader, BlockingQueue<List<CsvRow>> rawBatches, int workers,
+                      PatientImportJob job) throws IOException, InterruptedException {
+        int batchSize = importProperties.getBatchSize();
+        List<CsvRow> batch = new ArrayList<>(batchSize);
+        String[] record;
+        while ((record = reader.next()) != null) {
+            if (PatientCsvMapping.isBlank(record)) {
+                continue;
+            }
+            batch.add(new CsvRow(reader.getRecordLine(), record));
+            if (batch.size() == batchSize) {
+                rawBatches.put(batch);
+                job.recordRead(batch.size());
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            rawBatches.put(batch);
+            job.recordRead(batch.size());
+        }
+        for (int i = 0; i < workers; i++) {
+            rawBatches.put(END_OF_INPUT);
+        }
+    }
+
+    /**
+     * Valider les lignes d'après les contraintes de {@link PatientDTO} et encoder les lignes valides au format COPY
+     */
+    private void validate(PatientCsvMapping mapping, BlockingQueue<List<CsvRow>> rawBatches,
+                          BlockingQueue<EncodedBatch> encodedBatches, PatientImportJob job) throws InterruptedException {
+        while (true) {
+            List<CsvRow> batch = rawBatches.take();
+            if (batch == END_OF_INPUT) {
+                encodedBatches.put(END_OF_BATCHES);
+                return;
+            }
+            StringBuilder out = new StringBuilder(batch.size() * 192);
+            int valid = 0;
+            for (CsvRow row : batch) {
+                List<String> errors = new ArrayList<>();
+                PatientDTO patient = mapping.toDto(row.fields(), errors);
+                if (patient != null) {
+                    addViolations(patient, errors);
+                }
+                if (!errors.isEmpty()) {
+                    job.recordReject(row.line(), patient == null ? null : patient.getNumeroSecuriteSociale(), errors);
+                    continue;
+                }
+                PatientCopyEncoder.append(out, row.line(), patient);
+                valid++;
+            }
+            encodedBatches.put(new EncodedBatch(out.toString(), valid));
+        }
+    }
+
+    private void addViolations(PatientDTO patient, List<String> errors) {
+        // Un champ déjà refusé au décodage (date, genre) n'est pas signalé une seconde fois comme absent
+        Set<String> failedFields = new HashSet<>();
+        errors.forEach(error -> failedFields.add(error.substring(0, Math.max(0, error.indexOf(':')))));
+        for (ConstraintViolation<PatientDTO> violation : validator.validate(patient)) {
+            String field = violation.getPropertyPath().toString();
+            if (!failedFields.contains(field)) {
+                errors.add(field + ": " + violation.getMessage());
+            }
+        }
+    }
+
+    private static Runnable guarded(AtomicReference<Throwable> failure, PipelineStep step) {
+        return () -> {
+            try {
+                step.run();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable ex) {
+                failure.compareAndSet(null, ex);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface PipelineStep {
+        void run() throws Exception;
+    }
+
+    private record CsvRow(long line, String[] fields) {
+    }
+
+    private record EncodedBatch(String data, int rows) {
+    }
+}
@@ -1,19 +1,47 @@
 package com.exemple.patient_service.service.impl;
 
+import com.exemple.patient_service.cache.PatientCache;
+import com.exemple.patient_service.config.BirthDateIndexProperties;
+import com.exemple.patient_service.config.BitmapIndexProperties;
+import com.exemple.patient_service.config.PaginationProperties;
+import com.exemple.patient_service.dto.CursorPageDTO;
+import com.exemple.patient_service.dto.FacetedSearchResultDTO;
 import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.dto.PatientFacetsDTO;
+import com.exemple.patient_service.dto.PatientStatsDTO;
+import com.exemple.patient_service.dto.PatientVersion;
 import com.exemple.patient_service.entity.Patient;
+import com.exemple.patient_service.enums.PatientSort;
+import com.exemple.patient_service.event.PatientChangedEvent;
 import com.exemple.patient_service.exception.BadRequestException;
 import com.exemple.patient_service.exception.ResourceNotFoundException;
+import com.exemple.patient_service.index.BirthDateIndex;
+import com.exemple.patient_service.index.CategoryBitmapIndex;
+import com.exemple.patient_service.index.CategoryCounts;
+import com.exemple.patient_service.index.NssBloomFilter;
 import com.exemple.patient_service.mapper.PatientMapper;
+import com.exemple.patient_service.pagination.PatientCursor;
 import com.exemple.patient_service.repository.PatientRepository;
+import com.exemple.patient_service.search.PatientFilter;
+import com.exemple.patient_service.search.PatientFilterSearch;
+import com.exemple.patient_service.search.PatientNameSearch;
 import com.exemple.patient_service.service.PatientService;
+import com.exemple.patient_service.stats.PatientStats;
+import com.exemple.patient_service.stats.PatientStatistics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +50,17 @@ public class PatientServiceImpl implements PatientService {
     
     private final PatientRepository patientRepository;
     private final PatientMapper patientMapper;
+    private final PaginationProperties paginationProperties;
+    private final PatientNameSearch patientNameSearch;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PatientCache patientCache;
+    private final NssBloomFilter nssBloomFilter;
+    private final BirthDateIndex birthDateIndex;
+    private final BirthDateIndexProperties birthDateIndexProperties;
+    private final CategoryBitmapIndex categoryBitmapIndex;
+    private final BitmapIndexProperties bitmapIndexProperties;
+    private final PatientFilterSearch patientFilterSearch;
+    private final PatientStatistics patientStatistics;
     
     @Override
     @Transactional
@@ -30,35 +69,173 @@ public class PatientServiceImpl implements PatientService {
         
         // Vérifier si le numéro de sécurité sociale existe déjà
         if (patientDTO.getNumeroSecuriteSociale() != null && 
-                patientRepository.existsByNumeroSecuriteSociale(patientDTO.getNumeroSecuriteSociale())) {
+                numeroSecuriteSocialeExists(patientDTO.getNumeroSecuriteSociale())) {
             throw new BadRequestException("Un patient avec ce numéro de sécurité sociale existe déjà");
         }
         
         Patient patient = patientMapper.toEntity(patientDTO);
         Patient savedPatient = patientRepository.save(patient);
+        PatientDTO createdPatient = patientMapper.toDto(savedPatient);
+        eventPublisher.publishEvent(PatientChangedEvent.created(createdPatient));
         
         log.info("Patient créé avec l'ID: {}", savedPatient.getId());
-        return patientMapper.toDto(savedPatient);
+        return createdPatient;
     }
     
+    /**
+     * Pas de transaction englobante : une lecture servie par le cache n'emprunte aucune connexion,
+     * le chargement en cas d'absence s'exécute dans la transaction du dépôt
+     */
     @Override
-    @Transactional(readOnly = true)
     public PatientDTO getPatientById(Long id) {
         log.info("Recherche du patient avec l'ID: {}", id);
         
-        Patient patient = patientRepository.findById(id)
+        return patientCache.getById(id, patientId -> patientRepository.findDtoById(patientId)
+                .orElseThrow(() -> new ResourceNotFoundException("Patient", "id", patientId)));
+    }
+    
+    @Override
+    public PatientVersion getPatientVersion(Long id) {
+        PatientDTO cached = patientCache.peekById(id);
+        if (cached != null) {
+            return PatientVersion.of(cached);
+        }
+        return patientRepository.findVersionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Patient", "id", id));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PatientDTO> getPatientsPage(String cursor, Integer size, PatientSort sort) {
+        PatientCursor after = (cursor == null || cursor.isBlank()) ? null : PatientCursor.decode(cursor);
+        PatientSort effectiveSort = after != null ? after.sort() : (sort != null ? sort : PatientSort.ID);
+        if (after != null && sort != null && sort != after.sort()) {
+            throw new BadRequestException("Le tri demandé ne correspond pas au curseur de pagination");
+        }
+        int pageSize = resolvePageSize(size);
+        log.info("Récupération d'une page de {} patients (tri: {})", pageSize, effectiveSort);
+        
+        // Une ligne de plus que la page pour savoir s'il existe une page suivante
+        Limit limit = Limit.of(pageSize + 1);
+        List<PatientDTO> patients = switch (effectiveSort) {
+            case ID -> after == null
+                    ? patientRepository.findFirstPageOrderById(limit)
+                    : patientRepository.findPageAfterId(after.id(), limit);
+            case NOM -> after == null
+                    ? patientRepository.findFirstPageOrderByNom(limit)
+                    : patientRepository.findPageAfterNom(after.key(), after.id(), limit);
+            case DATE_NAISSANCE -> after == null
+                    ? patientRepository.findFirstPageOrderByDateNaissance(limit)
+                    : patientRepository.findPageAfterDateNaissance(after.dateKey(), after.id(), limit);
+        };
         
-        return patientMapper.toDto(patient);
+        boolean hasNext = patients.size() > pageSize;
+        if (hasNext) {
+            patients = patients.subList(0, pageSize);
+        }
+        String nextCursor = hasNext
+                ? PatientCursor.after(effectiveSort, patients.get(patients.size() - 1)).encode()
+                : null;
+        
+        return CursorPageDTO.<PatientDTO>builder()
+                .content(patients)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<PatientDTO> getAllPatients() {
-        log.info("Récupération de tous les patients");
+    public CursorPageDTO<PatientDTO> filterPatients(PatientFilter filter, String cursor, Integer size) {
+        PatientCursor after = decodeFilterCursor(cursor);
+        int pageSize = resolvePageSize(size);
+        log.info("Filtre de patients (groupes: {}, genres: {}, naissance: {} - {})",
+                filter.groupesSanguins(), filter.genres(), filter.debut(), filter.fin());
+        
+        List<PatientDTO> patients = patientFilterSearch.findPage(filter, after == null ? null : after.id(), pageSize + 1);
+        boolean hasNext = patients.size() > pageSize;
+        if (hasNext) {
+            patients = patients.subList(0, pageSize);
+        }
         
-        List<Patient> patients = patientRepository.findAll();
-        return patientMapper.toDtoList(patients);
+        return CursorPageDTO.<PatientDTO>builder()
+                .content(patients)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? PatientCursor.after(PatientSort.ID, patients.get(patients.size() - 1)).encode() : null)
+                .build();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public FacetedSearchResultDTO facetedSearch(PatientFilter filter, String cursor, Integer size) {
+        PatientCursor after = decodeFilterCursor(cursor);
+        int pageSize = resolvePageSize(size);
+        log.info("Recherche multicritère (nom: {}, groupes: {}, genres: {}, villes: {}, naissance: {} - {})",
+                filter.query(), filter.groupesSanguins(), filter.genres(), filter.villes(), filter.debut(), filter.fin());
+        
+        PatientFilterSearch.FilterPage result = patientFilterSearch.search(filter, after == null ? null : after.id(), pageSize + 1, true);
+        List<PatientDTO> patients = result.patients();
+        boolean hasNext = patients.size() > pageSize;
+        if (hasNext) {
+            patients = patients.subList(0, pageSize);
+        }
+        CategoryCounts counts = result.counts();
+        Map<String, Long> genres = new LinkedHashMap<>();
+        counts.genres().forEach((genre, count) -> genres.put(genre.name(), count));
+        
+        return FacetedSearchResultDTO.builder()
+                .content(patients)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? PatientCursor.after(PatientSort.ID, patients.get(patients.size() - 1)).encode() : null)
+                .total(counts.total())
+                .facets(PatientFacetsDTO.builder()
+                        .groupeSanguin(counts.groupesSanguins())
+                        .genre(genres)
+                        .decennie(counts.decennies())
+                        .build())
+                .build();
+    }
+    
+    /**
+     * Les filtres sont paginés par ID : un curseur d'une autre pagination est refusé
+     */
+    private static PatientCursor decodeFilterCursor(String cursor) {
+        PatientCursor after = (cursor == null || cursor.isBlank()) ? null : PatientCursor.decode(cursor);
+        if (after != null && after.sort() != PatientSort.ID) {
+            throw new BadRequestException("Le curseur ne provient pas d'un filtre de patients");
+        }
+        return after;
+    }
+    
+    /**
+     * Applique la taille par défaut et borne la taille demandée à la taille maximale configurée
+     */
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return paginationProperties.getDefaultSize();
+        }
+        if (size < 1) {
+            throw new BadRequestException("La taille de page doit être strictement positive");
+        }
+        return Math.min(size, paginationProperties.getMaxSize());
+    }
+    
+    /**
+     * Vérifie l'unicité du numéro de sécurité sociale : le filtre de Bloom écarte sans requête
+     * les numéros jamais vus, seules ses réponses positives sont confirmées par la base
+     */
+    private boolean numeroSecuriteSocialeExists(String numeroSecuriteSociale) {
+        if (!nssBloomFilter.mightContain(numeroSecuriteSociale)) {
+            return false;
+        }
+        boolean exists = patientRepository.existsByNumeroSecuriteSociale(numeroSecuriteSociale);
+        if (!exists) {
+            nssBloomFilter.recordFalsePositive();
+        }
+        return exists;
     }
     
     @Override
@@ -72,15 +249,19 @@ public class PatientServiceImpl implements PatientService {
         // Vérifier si le numéro de sécurité sociale a changé et existe déjà
         if (patientDTO.getNumeroSecuriteSociale() != null && 
                 !patientDTO.getNumeroSecuriteSociale().equals(existingPatient.getNumeroSecuriteSociale()) && 
-                patientRepository.existsByNumeroSecuriteSociale(patientDTO.getNumeroSecuriteSociale())) {
+                numeroSecuriteSocialeExists(patientDTO.getNumeroSecuriteSociale())) {
             throw new BadRequestException("Un patient avec ce numéro de sécurité sociale existe déjà");
         }
         
+        PatientDTO previousState = patientMapper.toDto(existingPatient);
         patientMapper.updateEntityFromDto(existingPatient, patientDTO);
-        Patient updatedPatient = patientRepository.save(existingPatient);
+        // Flush immédiat : la version et updatedAt du DTO renvoyé (et de son ETag) sont ceux écrits en base
+        Patient updatedPatient = patientRepository.saveAndFlush(existingPatient);
+        PatientDTO result = patientMapper.toDto(updatedPatient);
+        eventPublisher.publishEvent(PatientChangedEvent.updated(previousState, result));
         
         log.info("Patient mis à jour avec succès: {}", id);
-        return patientMapper.toDto(updatedPatient);
+        return result;
     }
     
     @Override
@@ -91,28 +272,36 @@ public class PatientServiceImpl implements PatientService {
         Patient patient = patientRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Patient", "id", id));
         
+        PatientDTO previousState = patientMapper.toDto(patient);
         patientRepository.delete(patient);
+        eventPublisher.publishEvent(PatientChangedEvent.deleted(id, previousState));
         log.info("Patient supprimé avec succès: {}", id);
     }
     
     @Override
-    @Transactional(readOnly = true)
     public PatientDTO findByNumeroSecuriteSociale(String numeroSecuriteSociale) {
         log.info("Recherche du patient avec le numéro de sécurité sociale: {}", numeroSecuriteSociale);
         
-        Patient patient = patientRepository.findByNumeroSecuriteSociale(numeroSecuriteSociale)
+        return patientCache.getByNumeroSecuriteSociale(numeroSecuriteSociale, nss -> patientRepository.findDtoByNumeroSecuriteSociale(nss)
+                .orElseThrow(() -> new ResourceNotFoundException("Patient", "numéro de sécurité sociale", nss)));
+    }
+    
+    @Override
+    public PatientVersion getPatientVersionByNumeroSecuriteSociale(String numeroSecuriteSociale) {
+        PatientDTO cached = patientCache.peekByNumeroSecuriteSociale(numeroSecuriteSociale);
+        if (cached != null) {
+            return PatientVersion.of(cached);
+        }
+        return patientRepository.findVersionByNumeroSecuriteSociale(numeroSecuriteSociale)
                 .orElseThrow(() -> new ResourceNotFoundException("Patient", "numéro de sécurité sociale", numeroSecuriteSociale));
-        
-        return patientMapper.toDto(patient);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<PatientDTO> searchPatientsByNameOrFirstname(String query) {
+    public List<PatientDTO> searchPatientsByNameOrFirstname(String query, Integer limit) {
         log.info("Recherche de patients par nom ou prénom: {}", query);
         
-        List<Patient> patients = patientRepository.findByNomContainingIgnoreCaseOrPrenomContainingIgnoreCase(query, query);
-        return patientMapper.toDtoList(patients);
+        return patientNameSearch.search(query, limit);
     }
     
     @Override
@@ -120,8 +309,63 @@ public class PatientServiceImpl implements PatientService {
     public List<PatientDTO> findPatientsByBirthDateRange(LocalDate debut, LocalDate fin) {
         log.info("Recherche de patients nés entre {} et {}", debut, fin);
         
-        List<Patient> patients = patientRepository.findByDateNaissanceBetween(debut, fin);
-        return patientMapper.toDtoList(patients);
+        // Petite période : l'index donne les identifiants, la base n'est lue que par clé primaire
+        if (birthDateIndex.isReady()) {
+            int count = birthDateIndex.count(debut, fin);
+            if (count == 0) {
+                return List.of();
+            }
+            if (count <= birthDateIndexProperties.getMaxLookupIds()) {
+                return findAllByIdInOrder(birthDateIndex.findIds(debut, fin));
+            }
+        }
+        
+        return patientRepository.findDtosByDateNaissanceBetween(debut, fin);
+    }
+    
+    /**
+     * Pas de transaction : un comptage servi par l'index n'emprunte aucune connexion
+     */
+    @Override
+    public long countPatientsByBirthDateRange(LocalDate debut, LocalDate fin) {
+        log.info("Comptage des patients nés entre {} et {}", debut, fin);
+        
+        if (birthDateIndex.isReady()) {
+            return birthDateIndex.count(debut, fin);
+        }
+        return patientRepository.countByDateNaissanceBetween(debut, fin);
+    }
+    
+    /**
+     * Charger des patients par identifiants en conservant l'ordre donné
+     */
+    private List<PatientDTO> findAllByIdInOrder(long[] ids) {
+        List<Long> idList = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            idList.add(id);
+        }
+        return findAllByIdInOrder(idList);
+    }
+    
+    private List<PatientDTO> findAllByIdInOrder(int[] ids) {
+        List<Long> idList = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            idList.add((long) id);
+        }
+        return findAllByIdInOrder(idList);
+    }
+    
+    private List<PatientDTO> findAllByIdInOrder(List<Long> idList) {
+        Map<Long, PatientDTO> byId = new HashMap<>();
+        patientRepository.findDtosByIdIn(idList).forEach(patient -> byId.put(patient.getId(), patient));
+        List<PatientDTO> ordered = new ArrayList<>(idList.size());
+        for (Long id : idList) {
+            PatientDTO patient = byId.get(id);
+            if (patient != null) {
+                ordered.add(patient);
+            }
+        }
+        return ordered;
     }
     
     @Override
@@ -129,7 +373,37 @@ public class PatientServiceImpl implements PatientService {
     public List<PatientDTO> findPatientsByGroupeSanguin(String groupeSanguin) {
         log.info("Recherche de patients avec le groupe sanguin: {}", groupeSanguin);
         
-        List<Patient> patients = patientRepository.findByGroupeSanguin(groupeSanguin);
-        return patientMapper.toDtoList(patients);
+        // Groupe peu représenté : le bitmap donne les identifiants, la base n'est lue que par clé primaire
+        if (categoryBitmapIndex.isReady()) {
+            RoaringBitmap ids = categoryBitmapIndex.groupesSanguins(List.of(groupeSanguin));
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            if (ids.getCardinality() <= bitmapIndexProperties.getMaxLookupIds()) {
+                return findAllByIdInOrder(ids.toArray());
+            }
+        }
+        
+        return patientRepository.findDtosByGroupeSanguin(groupeSanguin);
+    }
+    
+    @Override
+    public PatientStatsDTO getStatistics() {
+        LocalDate today = LocalDate.now();
+        PatientStats stats = patientStatistics.snapshot(today);
+        if (stats == null) {
+            log.info("Compteurs en mémoire indisponibles, statistiques calculées par la base");
+            stats = patientStatistics.compute(today);
+        }
+        
+        Map<String, Long> genres = new LinkedHashMap<>();
+        stats.genres().forEach((genre, count) -> genres.put(genre.name(), count));
+        return PatientStatsDTO.builder()
+                .total(stats.total())
+                .groupeSanguin(stats.groupesSanguins())
+                .genre(genres)
+                .trancheAge(stats.tranchesAge())
+                .ville(stats.villes())
+                .build();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,294 @@
+package com.exemple.patient_service.stats;
+
+import com.exemple.patient_service.config.StatsProperties;
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.enums.GenreSexe;
+import com.exemple.patient_service.event.PatientChangedEvent;
+import com.exemple.patient_service.event.PatientsReloadedEvent;
+import com.exemple.patient_service.index.Villes;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compteurs de patients par groupe sanguin, genre, date de naissance et ville, tenus en mémoire.
+ * <p>
+ * Les compteurs sont initialisés par une seule requête d'agrégation ({@code GROUPING SETS}) au démarrage
+ * et après chaque écriture en masse, puis tenus à jour par les deltas des {@code PatientChangedEvent} :
+ * une lecture ne touche pas la base et son coût ne dépend pas du nombre de patients.
+ * Chaque compteur est un {@link LongAdder}, réparti en cellules entre les threads qui l'incrémentent :
+ * les écritures concurrentes ne se disputent pas une même variable, mais un instantané pris pendant
+ * des écritures n'est pas atomique (le total est alors approché à quelques unités près).
+ * <p>
+ * Les tranches d'âge sont calculées à la lecture à partir des comptes par date de naissance (quelques
+ * dizaines de milliers de dates au plus), si bien qu'elles restent justes quand les patients vieillissent.
+ * Pendant un recalcul, les compteurs précédents continuent de répondre ; une modification validée pendant
+ * l'exécution de la requête d'agrégation peut y être déjà comptée, l'écart disparaît au recalcul suivant.
+ */
+@Component
+@Slf4j
+public class PatientStatistics {
+
+    static final String SEED_SQL = """
+            SELECT grouping(groupe_sanguin) AS g_groupe, grouping(genre) AS g_genre,
+                   grouping(date_naissance) AS g_date, grouping(ville) AS g_ville,
+                   groupe_sanguin, genre, date_naissance, ville, count(*) AS patients
+            FROM (SELECT groupe_sanguin, genre, date_naissance, %s AS ville FROM patients) p
+            GROUP BY GROUPING SETS ((groupe_sanguin), (genre), (date_naissance), (ville), ())"""
+            .formatted(Villes.SQL_EXPRESSION);
+
+    private final StatsProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskExecutor taskExecutor;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock seedLock = new ReentrantLock();
+    private volatile Counters counters;
+    private Queue<PatientChangedEvent> pendingEvents;
+
+    public PatientStatistics(StatsProperties properties,
+                             JdbcTemplate jdbcTemplate,
+                             @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Initialiser les compteurs en arrière-plan : les statistiques sont calculées par la base en attendant
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isEnabled()) {
+            taskExecutor.execute(this::seed);
+        }
+    }
+
+    /**
+     * Écriture en masse hors du service : les compteurs sont recalculés en arrière-plan
+     * @param event le rechargement
+     */
+    @EventListener
+    public void onPatientsReloaded(PatientsReloadedEvent event) {
+        if (properties.isEnabled()) {
+            taskExecutor.execute(this::seed);
+        }
+    }
+
+    /**
+     * Recalculer les compteurs par une requête d'agrégation, puis rejouer les modifications
+     * validées pendant son exécution. Les recalculs s'exécutent l'un après l'autre.
+     */
+    public void seed() {
+        seedLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                pendingEvents = new ConcurrentLinkedQueue<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            long start = System.nanoTime();
+            Counters seeded;
+            try {
+                seeded = query();
+            } catch (RuntimeException ex) {
+                log.error("Échec de l'initialisation des statistiques de patients", ex);
+                lock.writeLock().lock();
+                try {
+                    pendingEvents = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                return;
+            }
+
+            lock.writeLock().lock();
+            try {
+                int replayed = pendingEvents.size();
+                pendingEvents.forEach(seeded::apply);
+                pendingEvents = null;
+                counters = seeded;
+                log.info("Statistiques de patients initialisées: {} patients, {} modifications rejouées, {} ms",
+                        seeded.total.sum(), replayed, (System.nanoTime() - start) / 1_000_000);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            seedLock.unlock();
+        }
+    }
+
+    /**
+     * Répercuter une modification validée sur les compteurs
+     * @param event la modification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientChanged(PatientChangedEvent event) {
+        // Verrou partagé : les modifications s'appliquent en parallèle, seul le remplacement des compteurs est exclusif
+        lock.readLock().lock();
+        try {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+            Counters current = counters;
+            if (current != null) {
+                current.apply(event);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return vrai si les compteurs en mémoire peuvent répondre
+     */
+    public boolean isReady() {
+        return counters != null;
+    }
+
+    /**
+     * @param today la date de calcul des âges
+     * @return la répartition tenue en mémoire, ou null si les compteurs ne sont pas encore initialisés
+     */
+    public PatientStats snapshot(LocalDate today) {
+        Counters current = counters;
+        return current == null ? null : current.toStats(properties.getAgeBrackets(), today);
+    }
+
+    /**
+     * Calculer la répartition par la base (compteurs désactivés ou pas encore initialisés)
+     * @param today la date de calcul des âges
+     * @return la répartition
+     */
+    public PatientStats compute(LocalDate today) {
+        return query().toStats(properties.getAgeBrackets(), today);
+    }
+
+    private Counters query() {
+        Counters result = new Counters();
+        jdbcTemplate.query(SEED_SQL, (RowCallbackHandler) rs -> {
+            long patients = rs.getLong("patients");
+            if (rs.getInt("g_groupe") == 0) {
+                Counters.add(result.groupesSanguins, rs.getString("groupe_sanguin"), patients);
+            } else if (rs.getInt("g_genre") == 0) {
+                String genre = rs.getString("genre");
+                Counters.add(result.genres, genre == null ? null : GenreSexe.valueOf(genre), patients);
+            } else if (rs.getInt("g_date") == 0) {
+                Counters.add(result.datesNaissance, rs.getObject("date_naissance", LocalDate.class), patients);
+            } else if (rs.getInt("g_ville") == 0) {
+                Counters.add(result.villes, rs.getString("ville"), patients);
+            } else {
+                result.total.add(patients);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @param ageBrackets les âges de début des tranches, par ordre croissant
+     * @return les libellés des tranches ("0-17", "18-29", ..., "75+")
+     */
+    static List<String> bracketLabels(List<Integer> ageBrackets) {
+        List<String> labels = new ArrayList<>(ageBrackets.size() + 1);
+        int lower = 0;
+        for (int bound : ageBrackets) {
+            labels.add(lower + "-" + (bound - 1));
+            lower = bound;
+        }
+        labels.add(lower + "+");
+        return labels;
+    }
+
+    /**
+     * Jeu de compteurs, remplacé en bloc à chaque recalcul
+     */
+    static final class Counters {
+
+        final LongAdder total = new LongAdder();
+        final Map<String, LongAdder> groupesSanguins = new ConcurrentHashMap<>();
+        final Map<GenreSexe, LongAdder> genres = new ConcurrentHashMap<>();
+        final Map<LocalDate, LongAdder> datesNaissance = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> villes = new ConcurrentHashMap<>();
+
+        void apply(PatientChangedEvent event) {
+            if (event.before() != null) {
+                update(event.before(), -1);
+            }
+            if (event.after() != null) {
+                update(event.after(), 1);
+            }
+        }
+
+        private void update(PatientDTO patient, long delta) {
+            total.add(delta);
+            add(groupesSanguins, patient.getGroupeSanguin(), delta);
+            add(genres, patient.getGenre(), delta);
+            add(datesNaissance, patient.getDateNaissance(), delta);
+            add(villes, Villes.fromAdresse(patient.getAdresse()), delta);
+        }
+
+        static <K> void add(Map<K, LongAdder> counters, K key, long delta) {
+            if (key != null) {
+                counters.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+            }
+        }
+
+        PatientStats toStats(List<Integer> ageBrackets, LocalDate today) {
+            List<String> labels = bracketLabels(ageBrackets);
+            long[] brackets = new long[labels.size()];
+            datesNaissance.forEach((date, count) -> {
+                int age = Math.max(0, Period.between(date, today).getYears());
+                int bracket = 0;
+                while (bracket < ageBrackets.size() && age >= ageBrackets.get(bracket)) {
+                    bracket++;
+                }
+                brackets[bracket] += count.sum();
+            });
+            Map<String, Long> tranchesAge = new LinkedHashMap<>();
+            for (int i = 0; i < labels.size(); i++) {
+                tranchesAge.put(labels.get(i), brackets[i]);
+            }
+
+            return new PatientStats(
+                    total.sum(),
+                    sums(groupesSanguins, new TreeMap<>()),
+                    sums(genres, new EnumMap<>(GenreSexe.class)),
+                    tranchesAge,
+                    sums(villes, new TreeMap<>()));
+        }
+
+        // Les valeurs retombées à zéro après des suppressions sont omises
+        private static <K> Map<K, Long> sums(Map<K, LongAdder> counters, Map<K, Long> target) {
+            counters.forEach((key, count) -> {
+                long sum = count.sum();
+                if (sum > 0) {
+                    target.put(key, sum);
+                }
+            });
+            return target;
+        }
+    }
+}
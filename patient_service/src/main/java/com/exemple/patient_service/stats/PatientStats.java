@@ -0,0 +1,23 @@
+package com.exemple.patient_service.stats;
+
+import com.exemple.patient_service.enums.GenreSexe;
+
+import java.util.Map;
+
+/**
+ * Répartition des patients à un instant donné.
+ * Les valeurs inconnues (colonne vide, adresse sans code postal) ne sont comptées que dans le total.
+ *
+ * @param total le nombre de patients
+ * @param groupesSanguins le nombre de patients par groupe sanguin, par ordre alphabétique
+ * @param genres le nombre de patients par genre, dans l'ordre de l'énumération
+ * @param tranchesAge le nombre de patients par tranche d'âge, de la plus jeune à la plus âgée (tranches vides incluses)
+ * @param villes le nombre de patients par ville normalisée, par ordre alphabétique
+ */
+public record PatientStats(
+        long total,
+        Map<String, Long> groupesSanguins,
+        Map<GenreSexe, Long> genres,
+        Map<String, Long> tranchesAge,
+        Map<String, Long> villes) {
+}
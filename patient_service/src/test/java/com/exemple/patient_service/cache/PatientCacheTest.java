@@ -0,0 +1,122 @@
+package com.exemple.patient_service.cache;
+
+import com.exemple.patient_service.config.PatientCacheProperties;
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.event.PatientChangedEvent;
+import com.exemple.patient_service.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PatientCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PatientCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new PatientCache(new PatientCacheProperties(), meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void getById_ShouldLoadOnceAndServeFromCache() {
+        PatientDTO first = cache.getById(1L, loader("111"));
+        PatientDTO second = cache.getById(1L, loader("111"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "patients.byId").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void getByNumeroSecuriteSociale_ShouldShareEntryWithId() {
+        PatientDTO byNss = cache.getByNumeroSecuriteSociale("111", nss -> loader(nss).apply(1L));
+        PatientDTO byId = cache.getById(1L, loader("111"));
+        PatientDTO byNssAgain = cache.getByNumeroSecuriteSociale("111", nss -> loader(nss).apply(1L));
+
+        assertThat(byId).isSameAs(byNss);
+        assertThat(byNssAgain).isSameAs(byNss);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void onPatientChanged_ShouldInvalidateBothKeys() {
+        PatientDTO before = cache.getById(1L, loader("111"));
+        cache.getByNumeroSecuriteSociale("111", nss -> loader(nss).apply(1L));
+
+        cache.onPatientChanged(PatientChangedEvent.updated(before, PatientDTO.builder().id(1L).numeroSecuriteSociale("222").build()));
+
+        cache.getById(1L, loader("222"));
+        cache.getByNumeroSecuriteSociale("111", nss -> loader(nss).apply(2L));
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void getByNumeroSecuriteSociale_ShouldNotServeStaleMapping_WhenNssMovedToAnotherPatient() {
+        cache.getById(1L, loader("111"));
+        // Le patient 1 change de NSS sans invalidation explicite de l'ancien NSS
+        cache.invalidate(1L);
+        cache.getById(1L, loader("222"));
+
+        PatientDTO result = cache.getByNumeroSecuriteSociale("111", nss -> loader(nss).apply(2L));
+
+        assertThat(result.getId()).isEqualTo(2L);
+    }
+
+    @Test
+    void getById_ShouldNotCacheLoadedValue_WhenInvalidatedDuringLoad() {
+        // L'écriture est validée et invalidée pendant la lecture en base, qui rapporte l'ancienne version
+        PatientDTO stale = cache.getById(1L, id -> {
+            PatientDTO loaded = loader("111").apply(id);
+            cache.invalidate(id);
+            return loaded;
+        });
+
+        PatientDTO fresh = cache.getById(1L, loader("222"));
+
+        assertThat(stale.getNumeroSecuriteSociale()).isEqualTo("111");
+        assertThat(fresh.getNumeroSecuriteSociale()).isEqualTo("222");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void getById_ShouldNotCacheFailedLoads() {
+        Function<Long, PatientDTO> missing = id -> {
+            loads.incrementAndGet();
+            throw new ResourceNotFoundException("Patient", "id", id);
+        };
+
+        assertThatThrownBy(() -> cache.getById(1L, missing)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> cache.getById(1L, missing)).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void disabledCache_ShouldAlwaysDelegateToLoader() {
+        PatientCacheProperties properties = new PatientCacheProperties();
+        properties.setEnabled(false);
+        PatientCache disabled = new PatientCache(properties, meterRegistry);
+
+        disabled.getById(1L, loader("111"));
+        disabled.getById(1L, loader("111"));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private Function<Long, PatientDTO> loader(String nss) {
+        return id -> {
+            loads.incrementAndGet();
+            return PatientDTO.builder().id(id).nom("Alaoui").numeroSecuriteSociale(nss).build();
+        };
+    }
+}
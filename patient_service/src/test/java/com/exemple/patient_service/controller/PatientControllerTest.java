@@ -1,9 +1,29 @@
 package com.exemple.patient_service.controller;
 
+import com.exemple.patient_service.dto.BulkCreateResultDTO;
+import com.exemple.patient_service.dto.BulkItemErrorDTO;
+import com.exemple.patient_service.dto.CursorPageDTO;
+import com.exemple.patient_service.dto.FacetedSearchResultDTO;
+import com.exemple.patient_service.dto.PatientChangeDTO;
 import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.dto.PatientFacetsDTO;
+import com.exemple.patient_service.dto.PatientImportDTO;
+import com.exemple.patient_service.dto.PatientStatsDTO;
+import com.exemple.patient_service.dto.PatientVersion;
+import com.exemple.patient_service.enums.ImportConflictMode;
+import com.exemple.patient_service.enums.ImportStatus;
 import com.exemple.patient_service.enums.GenreSexe;
+import com.exemple.patient_service.enums.PatientChangeType;
+import com.exemple.patient_service.enums.PatientSort;
 import com.exemple.patient_service.exception.BadRequestException;
+import com.exemple.patient_service.exception.CursorExpiredException;
 import com.exemple.patient_service.exception.ResourceNotFoundException;
+import com.exemple.patient_service.search.PatientFilter;
+import com.exemple.patient_service.service.PatientBulkService;
+import com.exemple.patient_service.service.PatientChangeService;
+import com.exemple.patient_service.service.PatientChangeStreamService;
+import com.exemple.patient_service.service.PatientExportService;
+import com.exemple.patient_service.service.PatientImportService;
 import com.exemple.patient_service.service.PatientService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,12 +31,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,6 +64,21 @@ class PatientControllerTest {
     @MockBean
     private PatientService patientService;
 
+    @MockBean
+    private PatientExportService patientExportService;
+
+    @MockBean
+    private PatientBulkService patientBulkService;
+
+    @MockBean
+    private PatientImportService patientImportService;
+
+    @MockBean
+    private PatientChangeService patientChangeService;
+
+    @MockBean
+    private PatientChangeStreamService patientChangeStreamService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -52,8 +97,9 @@ class PatientControllerTest {
                 .genre(GenreSexe.HOMME)
                 .numeroSecuriteSociale("123456789012345")
                 .groupeSanguin("A+")
-                .createdAt(LocalDate.now())
-                .updatedAt(LocalDate.now())
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .version(3L)
                 .build();
     }
 
@@ -109,6 +155,85 @@ class PatientControllerTest {
         verify(patientService).createPatient(any(PatientDTO.class));
     }
 
+    @Test
+    void createPatients_ShouldReturnReportWithFailedIndexes() throws Exception {
+        // Given
+        BulkCreateResultDTO result = BulkCreateResultDTO.builder()
+                .received(2)
+                .created(1)
+                .failed(1)
+                .errors(List.of(BulkItemErrorDTO.builder()
+                        .index(1)
+                        .numeroSecuriteSociale("123456789012345")
+                        .messages(List.of("Un patient avec ce numéro de sécurité sociale existe déjà"))
+                        .build()))
+                .build();
+        when(patientBulkService.createPatients(anyList())).thenReturn(result);
+
+        // When & Then
+        mockMvc.perform(post("/patients/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(patientDTO, patientDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(2)))
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.errors[0].index", is(1)))
+                .andExpect(jsonPath("$.errors[0].messages[0]", is("Un patient avec ce numéro de sécurité sociale existe déjà")));
+
+        verify(patientBulkService).createPatients(argThat(patients -> patients.size() == 2));
+    }
+
+    @Test
+    void importPatients_ShouldStreamCsvBodyToImportService() throws Exception {
+        // Given
+        PatientImportDTO report = PatientImportDTO.builder()
+                .id("import-1")
+                .status(ImportStatus.COMPLETED)
+                .conflictMode(ImportConflictMode.UPDATE)
+                .rowsRead(1)
+                .inserted(1)
+                .build();
+        when(patientImportService.importCsv(any(), eq(';'), eq(ImportConflictMode.UPDATE))).thenReturn(report);
+
+        // When & Then
+        mockMvc.perform(post("/patients/imports")
+                        .param("separator", ";")
+                        .param("onConflict", "UPDATE")
+                        .contentType("text/csv")
+                        .content("nom;prenom;dateNaissance;adresse;genre\nAlaoui;Ahmed;1985-06-15;Casablanca;HOMME\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is("import-1")))
+                .andExpect(jsonPath("$.inserted", is(1)));
+    }
+
+    @Test
+    void importPatients_ShouldReturnServerError_WhenImportFailed() throws Exception {
+        // Given
+        PatientImportDTO report = PatientImportDTO.builder()
+                .id("import-2")
+                .status(ImportStatus.FAILED)
+                .error("connexion perdue")
+                .build();
+        when(patientImportService.importCsv(any(), eq(','), eq(ImportConflictMode.SKIP))).thenReturn(report);
+
+        // When & Then
+        mockMvc.perform(post("/patients/imports")
+                        .contentType("text/csv")
+                        .content("nom,prenom,dateNaissance,adresse,genre\n"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.status", is("FAILED")));
+    }
+
+    @Test
+    void getImport_ShouldReturnNotFound_WhenImportUnknown() throws Exception {
+        // Given
+        when(patientImportService.getImport("inconnu")).thenThrow(new ResourceNotFoundException("Import", "id", "inconnu"));
+
+        // When & Then
+        mockMvc.perform(get("/patients/imports/inconnu"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void getPatientById_ShouldReturnPatient_WhenPatientExists() throws Exception {
         // Given
@@ -117,11 +242,41 @@ class PatientControllerTest {
         // When & Then
         mockMvc.perform(get("/patients/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.nom", is("Alaoui")))
-                .andExpect(jsonPath("$.prenom", is("Ahmed")));
+                .andExpect(jsonPath("$.prenom", is("Ahmed")))
+                .andExpect(jsonPath("$.version", is(3)));
 
         verify(patientService).getPatientById(1L);
+        verify(patientService, never()).getPatientVersion(any());
+    }
+
+    @Test
+    void getPatientById_ShouldReturnNotModified_WithoutLoadingPatient_WhenETagMatches() throws Exception {
+        // Given
+        when(patientService.getPatientVersion(1L)).thenReturn(new PatientVersion(1L, 3L));
+
+        // When & Then
+        mockMvc.perform(get("/patients/1").header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(content().string(""));
+
+        verify(patientService, never()).getPatientById(any());
+    }
+
+    @Test
+    void getPatientById_ShouldReturnPatient_WhenETagIsStale() throws Exception {
+        // Given
+        when(patientService.getPatientVersion(1L)).thenReturn(new PatientVersion(1L, 3L));
+        when(patientService.getPatientById(1L)).thenReturn(patientDTO);
+
+        // When & Then
+        mockMvc.perform(get("/patients/1").header(HttpHeaders.IF_NONE_MATCH, "\"1-2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(jsonPath("$.nom", is("Alaoui")));
     }
 
     @Test
@@ -138,19 +293,197 @@ class PatientControllerTest {
     }
 
     @Test
-    void getAllPatients_ShouldReturnAllPatients() throws Exception {
+    void getAllPatients_ShouldReturnFirstPage() throws Exception {
         // Given
-        List<PatientDTO> patients = Arrays.asList(patientDTO, patientDTO);
-        when(patientService.getAllPatients()).thenReturn(patients);
+        CursorPageDTO<PatientDTO> page = CursorPageDTO.<PatientDTO>builder()
+                .content(Arrays.asList(patientDTO, patientDTO))
+                .size(2)
+                .hasNext(true)
+                .nextCursor("SUQ6MjA6")
+                .build();
+        when(patientService.getPatientsPage(null, null, null)).thenReturn(page);
 
         // When & Then
         mockMvc.perform(get("/patients"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].nom", is("Alaoui")))
-                .andExpect(jsonPath("$[1].nom", is("Alaoui")));
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].nom", is("Alaoui")))
+                .andExpect(jsonPath("$.content[1].nom", is("Alaoui")))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.nextCursor", is("SUQ6MjA6")))
+                .andExpect(header().string(HttpHeaders.ETAG, matchesPattern("\"p-[A-Za-z0-9_-]{22}\"")));
+
+        verify(patientService).getPatientsPage(null, null, null);
+    }
+
+    @Test
+    void getAllPatients_ShouldReturnNotModified_WhenPageUnchanged() throws Exception {
+        // Given
+        CursorPageDTO<PatientDTO> page = CursorPageDTO.<PatientDTO>builder()
+                .content(List.of(patientDTO))
+                .size(1)
+                .hasNext(false)
+                .build();
+        when(patientService.getPatientsPage(null, null, null)).thenReturn(page);
+        String etag = mockMvc.perform(get("/patients"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        mockMvc.perform(get("/patients").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        patientDTO.setVersion(4L);
+        mockMvc.perform(get("/patients").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void getAllPatients_ShouldForwardCursorSizeAndSort() throws Exception {
+        // Given
+        CursorPageDTO<PatientDTO> page = CursorPageDTO.<PatientDTO>builder()
+                .content(List.of(patientDTO))
+                .size(10)
+                .hasNext(false)
+                .build();
+        when(patientService.getPatientsPage("abc", 10, PatientSort.NOM)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/patients")
+                        .param("cursor", "abc")
+                        .param("size", "10")
+                        .param("sort", "NOM"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+
+        verify(patientService).getPatientsPage("abc", 10, PatientSort.NOM);
+    }
+
+    @Test
+    void getAllPatients_ShouldReturnBadRequest_WhenSortIsUnknown() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/patients").param("sort", "ville"))
+                .andExpect(status().isBadRequest());
+
+        verify(patientService, never()).getPatientsPage(any(), any(), any());
+    }
+
+    @Test
+    void getChanges_ShouldReturnChangesAndNextCursor() throws Exception {
+        // Given
+        CursorPageDTO<PatientChangeDTO> page = CursorPageDTO.<PatientChangeDTO>builder()
+                .content(List.of(PatientChangeDTO.builder()
+                        .sequence(7)
+                        .type(PatientChangeType.UPDATED)
+                        .patientId(1L)
+                        .version(3L)
+                        .patient(patientDTO)
+                        .build()))
+                .size(100)
+                .hasNext(false)
+                .nextCursor("QzoxMjM6Nw")
+                .build();
+        when(patientChangeService.getChanges("QzoxMjA6Ng", 100)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/patients/changes").param("since", "QzoxMjA6Ng").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].type", is("UPDATED")))
+                .andExpect(jsonPath("$.content[0].patient.nom", is("Alaoui")))
+                .andExpect(jsonPath("$.nextCursor", is("QzoxMjM6Nw")));
+    }
+
+    @Test
+    void getChanges_ShouldReturnGone_WhenCursorExpired() throws Exception {
+        // Given
+        when(patientChangeService.getChanges("QzoxOjE", null))
+                .thenThrow(new CursorExpiredException("Curseur antérieur à la purge du journal des modifications"));
+
+        // When & Then
+        mockMvc.perform(get("/patients/changes").param("since", "QzoxOjE"))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void streamChanges_ShouldResumeFromLastEventId() throws Exception {
+        // Given : comme le service, l'émetteur envoie un premier commentaire, qui écrit les en-têtes
+        SseEmitter emitter = new SseEmitter();
+        emitter.send(SseEmitter.event().comment("abonnement"));
+        when(patientChangeStreamService.subscribe("QzoxMjM6Nw", List.of(1L, 2L), List.of("O-"))).thenReturn(emitter);
+
+        // When & Then
+        mockMvc.perform(get("/patients/changes/stream")
+                        .header("Last-Event-ID", "QzoxMjM6Nw")
+                        .param("since", "QzoxOjE")
+                        .param("patientId", "1", "2")
+                        .param("groupeSanguin", "O-"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(header().string("X-Accel-Buffering", "no"))
+                .andExpect(content().string(containsString(":abonnement")));
+        verify(patientChangeStreamService).subscribe("QzoxMjM6Nw", List.of(1L, 2L), List.of("O-"));
+    }
+
+    @Test
+    void streamChanges_ShouldReturnGone_WhenCursorExpired() throws Exception {
+        // Given
+        when(patientChangeStreamService.subscribe("QzoxOjE", null, null))
+                .thenThrow(new CursorExpiredException("Curseur antérieur à la purge du journal des modifications"));
+
+        // When & Then
+        mockMvc.perform(get("/patients/changes/stream").param("since", "QzoxOjE"))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void exportPatients_ShouldStreamNdjson() throws Exception {
+        // Given
+        when(patientExportService.exportNdjson(any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        // When
+        MvcResult result = mockMvc.perform(get("/patients/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
 
-        verify(patientService).getAllPatients();
+        verify(patientExportService).exportNdjson(any(OutputStream.class));
+    }
+
+    @Test
+    void exportPatients_ShouldGzipStream_WhenRequested() throws Exception {
+        // Given
+        when(patientExportService.exportNdjson(any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        // When
+        MvcResult result = mockMvc.perform(get("/patients/export").param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            org.assertj.core.api.Assertions.assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo("{\"id\":1}\n");
+        }
     }
 
     @Test
@@ -234,11 +567,25 @@ class PatientControllerTest {
         mockMvc.perform(get("/patients/search/nss/" + nss))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.numeroSecuriteSociale", is(nss)))
-                .andExpect(jsonPath("$.nom", is("Alaoui")));
+                .andExpect(jsonPath("$.nom", is("Alaoui")))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""));
 
         verify(patientService).findByNumeroSecuriteSociale(nss);
     }
 
+    @Test
+    void getPatientByNumeroSecuriteSociale_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+        // Given
+        String nss = "123456789012345";
+        when(patientService.getPatientVersionByNumeroSecuriteSociale(nss)).thenReturn(new PatientVersion(1L, 3L));
+
+        // When & Then
+        mockMvc.perform(get("/patients/search/nss/" + nss).header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+                .andExpect(status().isNotModified());
+
+        verify(patientService, never()).findByNumeroSecuriteSociale(any());
+    }
+
     @Test
     void getPatientByNumeroSecuriteSociale_ShouldReturnNotFound_WhenPatientNotExists() throws Exception {
         // Given
@@ -258,7 +605,7 @@ class PatientControllerTest {
         // Given
         String query = "Ahmed";
         List<PatientDTO> patients = Arrays.asList(patientDTO);
-        when(patientService.searchPatientsByNameOrFirstname(query)).thenReturn(patients);
+        when(patientService.searchPatientsByNameOrFirstname(query, null)).thenReturn(patients);
 
         // When & Then
         mockMvc.perform(get("/patients/search")
@@ -267,7 +614,7 @@ class PatientControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].prenom", is("Ahmed")));
 
-        verify(patientService).searchPatientsByNameOrFirstname(query);
+        verify(patientService).searchPatientsByNameOrFirstname(query, null);
     }
 
     @Test
@@ -289,6 +636,79 @@ class PatientControllerTest {
         verify(patientService).findPatientsByBirthDateRange(debut, fin);
     }
 
+    @Test
+    void countPatientsByBirthDateRange_ShouldReturnCount() throws Exception {
+        LocalDate debut = LocalDate.of(1980, 1, 1);
+        LocalDate fin = LocalDate.of(1990, 12, 31);
+        when(patientService.countPatientsByBirthDateRange(debut, fin)).thenReturn(42L);
+
+        mockMvc.perform(get("/patients/search/birthdate/count")
+                        .param("debut", "1980-01-01")
+                        .param("fin", "1990-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("42"));
+
+        verify(patientService).countPatientsByBirthDateRange(debut, fin);
+    }
+
+    @Test
+    void filterPatients_ShouldCombineRepeatedParameters() throws Exception {
+        CursorPageDTO<PatientDTO> page = CursorPageDTO.<PatientDTO>builder()
+                .content(List.of(patientDTO)).size(50).hasNext(false).build();
+        PatientFilter filter = new PatientFilter(Set.of("O-", "O+"), Set.of(GenreSexe.FEMME), null, LocalDate.of(1969, 12, 31));
+        when(patientService.filterPatients(filter, null, null)).thenReturn(page);
+
+        mockMvc.perform(get("/patients/search/filter")
+                        .param("groupeSanguin", "O-", "O+")
+                        .param("genre", "FEMME")
+                        .param("fin", "1969-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+
+        verify(patientService).filterPatients(filter, null, null);
+    }
+
+    @Test
+    void facetedSearch_ShouldReturnPageTotalAndFacets() throws Exception {
+        FacetedSearchResultDTO result = FacetedSearchResultDTO.builder()
+                .content(List.of(patientDTO)).size(50).hasNext(false).total(1)
+                .facets(PatientFacetsDTO.builder()
+                        .groupeSanguin(Map.of("A+", 1L)).genre(Map.of("HOMME", 1L)).decennie(Map.of(1980, 1L))
+                        .build())
+                .build();
+        PatientFilter filter = new PatientFilter(null, null, null, null, "alaoui", Set.of("Casablanca"));
+        when(patientService.facetedSearch(filter, null, null)).thenReturn(result);
+
+        mockMvc.perform(get("/patients/search/faceted")
+                        .param("query", "alaoui")
+                        .param("ville", "Casablanca"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.total", is(1)))
+                .andExpect(jsonPath("$.facets.groupeSanguin['A+']", is(1)))
+                .andExpect(jsonPath("$.facets.decennie['1980']", is(1)));
+
+        verify(patientService).facetedSearch(filter, null, null);
+    }
+
+    @Test
+    void getStatistics_ShouldReturnCounters() throws Exception {
+        PatientStatsDTO stats = PatientStatsDTO.builder()
+                .total(2).groupeSanguin(Map.of("A+", 2L)).genre(Map.of("HOMME", 2L))
+                .trancheAge(Map.of("30-44", 2L)).ville(Map.of("casablanca", 2L))
+                .build();
+        when(patientService.getStatistics()).thenReturn(stats);
+
+        mockMvc.perform(get("/patients/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.trancheAge['30-44']", is(2)))
+                .andExpect(jsonPath("$.ville.casablanca", is(2)));
+
+        verify(patientService).getStatistics();
+    }
+
     @Test
     void searchPatientsByBloodGroup_ShouldReturnPatients() throws Exception {
         // Given
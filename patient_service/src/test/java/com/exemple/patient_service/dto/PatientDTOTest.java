@@ -8,6 +8,7 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import jakarta.validation.ValidatorFactory;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Set;
 
@@ -35,8 +36,8 @@ class PatientDTOTest {
                 .antecedentsMedicaux("Diabète")
                 .numeroSecuriteSociale("123456789012345")
                 .groupeSanguin("A+")
-                .createdAt(LocalDate.now())
-                .updatedAt(LocalDate.now())
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
                 .build();
     }
 
@@ -306,13 +307,13 @@ class PatientDTOTest {
     void allArgsConstructor_ShouldCreateDTOWithAllFields() {
         // Given
         LocalDate birthDate = LocalDate.of(1990, 3, 20);
-        LocalDate createdAt = LocalDate.now();
-        LocalDate updatedAt = LocalDate.now();
+        Instant createdAt = Instant.now();
+        Instant updatedAt = Instant.now();
 
         // When
         PatientDTO dto = new PatientDTO(2L, "Bennani", "Fatima", birthDate, "0687654321",
                 "456 Avenue Hassan II, Rabat", "fatima.bennani@gmail.com", GenreSexe.FEMME,
-                "Hypertension", "987654321098765", "B+", createdAt, updatedAt);
+                "Hypertension", "987654321098765", "B+", createdAt, updatedAt, 3L);
 
         // Then
         assertThat(dto.getId()).isEqualTo(2L);
@@ -328,5 +329,6 @@ class PatientDTOTest {
         assertThat(dto.getGroupeSanguin()).isEqualTo("B+");
         assertThat(dto.getCreatedAt()).isEqualTo(createdAt);
         assertThat(dto.getUpdatedAt()).isEqualTo(updatedAt);
+        assertThat(dto.getVersion()).isEqualTo(3L);
     }
 }
\ No newline at end of file
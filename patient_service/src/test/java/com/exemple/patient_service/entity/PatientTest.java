@@ -4,6 +4,7 @@ import com.exemple.patient_service.enums.GenreSexe;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -62,13 +63,13 @@ class PatientTest {
     void allArgsConstructor_ShouldCreatePatientWithAllFields() {
         // Given
         LocalDate birthDate = LocalDate.of(1990, 3, 20);
-        LocalDate createdAt = LocalDate.now();
-        LocalDate updatedAt = LocalDate.now();
+        Instant createdAt = Instant.now();
+        Instant updatedAt = Instant.now();
 
         // When
         Patient patient = new Patient(2L, "Bennani", "Fatima", birthDate, "0687654321",
                 "456 Avenue Hassan II, Rabat", "fatima.bennani@gmail.com", GenreSexe.FEMME,
-                "Hypertension", "987654321098765", "B+", createdAt, updatedAt);
+                "Hypertension", "987654321098765", "B+", createdAt, updatedAt, 3L);
 
         // Then
         assertThat(patient.getId()).isEqualTo(2L);
@@ -84,6 +85,7 @@ class PatientTest {
         assertThat(patient.getGroupeSanguin()).isEqualTo("B+");
         assertThat(patient.getCreatedAt()).isEqualTo(createdAt);
         assertThat(patient.getUpdatedAt()).isEqualTo(updatedAt);
+        assertThat(patient.getVersion()).isEqualTo(3L);
     }
 
     @Test
@@ -123,13 +125,13 @@ class PatientTest {
     void onCreate_ShouldSetCreatedAtAndUpdatedAt() {
         // Given
         Patient newPatient = new Patient();
-        LocalDate beforeCreate = LocalDate.now();
+        Instant beforeCreate = Instant.now();
 
         // When
         newPatient.onCreate();
 
         // Then
-        LocalDate afterCreate = LocalDate.now();
+        Instant afterCreate = Instant.now();
         assertThat(newPatient.getCreatedAt()).isNotNull();
         assertThat(newPatient.getUpdatedAt()).isNotNull();
         assertThat(newPatient.getCreatedAt()).isBetween(beforeCreate, afterCreate);
@@ -142,7 +144,7 @@ class PatientTest {
         // Given
         Patient existingPatient = new Patient();
         existingPatient.onCreate(); // Set initial dates
-        LocalDate originalCreatedAt = existingPatient.getCreatedAt();
+        Instant originalCreatedAt = existingPatient.getCreatedAt();
         
         // Wait a bit to ensure different timestamps
         try {
@@ -151,13 +153,13 @@ class PatientTest {
             Thread.currentThread().interrupt();
         }
         
-        LocalDate beforeUpdate = LocalDate.now();
+        Instant beforeUpdate = Instant.now();
 
         // When
         existingPatient.onUpdate();
 
         // Then
-        LocalDate afterUpdate = LocalDate.now();
+        Instant afterUpdate = Instant.now();
         assertThat(existingPatient.getCreatedAt()).isEqualTo(originalCreatedAt); // Should not change
         assertThat(existingPatient.getUpdatedAt()).isNotNull();
         assertThat(existingPatient.getUpdatedAt()).isBetween(beforeUpdate, afterUpdate);
@@ -2,10 +2,13 @@ package com.exemple.patient_service.exception;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -48,6 +51,52 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().getPath()).isEqualTo("uri=/patients");
     }
 
+    @Test
+    void handleDatabaseUnavailableException_ShouldReturnServiceUnavailableWithRetryAfter() {
+        // Given
+        CannotCreateTransactionException exception = new CannotCreateTransactionException(
+                "Could not open JPA EntityManager for transaction");
+
+        // When
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleDatabaseUnavailableException(exception, webRequest);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getStatus()).isEqualTo(503);
+        assertThat(response.getBody().getPath()).isEqualTo("uri=/patients");
+    }
+
+    @Test
+    void handleDataIntegrityViolationException_ShouldReturnConflictResponse() {
+        // Given
+        DataIntegrityViolationException exception = new DataIntegrityViolationException("duplicate key value violates unique constraint");
+
+        // When
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleDataIntegrityViolationException(exception, webRequest);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getStatus()).isEqualTo(409);
+        assertThat(response.getBody().getMessage()).doesNotContain("duplicate key");
+    }
+
+    @Test
+    void handleOptimisticLockingFailureException_ShouldReturnConflictResponse() {
+        // Given
+        OptimisticLockingFailureException exception = new OptimisticLockingFailureException("Row was updated or deleted by another transaction");
+
+        // When
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleOptimisticLockingFailureException(exception, webRequest);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getStatus()).isEqualTo(409);
+    }
+
     @Test
     void handleBadRequestException_ShouldReturnBadRequestResponse() {
         // Given
@@ -0,0 +1,42 @@
+package com.exemple.patient_service.generator;
+
+import com.exemple.patient_service.dto.PatientDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PatientDataGeneratorTest {
+
+    @Test
+    void generate_ShouldBeReproducibleForSameSeedAndChunk() {
+        SplittableRandom first = PatientDataGenerator.randomForChunk(42, 3);
+        SplittableRandom second = PatientDataGenerator.randomForChunk(42, 3);
+
+        for (long index = 0; index < 100; index++) {
+            assertThat(PatientDataGenerator.generate(first, index))
+                    .isEqualTo(PatientDataGenerator.generate(second, index));
+        }
+    }
+
+    @Test
+    void generate_ShouldProduceDifferentPatientsForDifferentChunks() {
+        PatientDTO first = PatientDataGenerator.generate(PatientDataGenerator.randomForChunk(42, 0), 0);
+        PatientDTO second = PatientDataGenerator.generate(PatientDataGenerator.randomForChunk(42, 1), 0);
+
+        assertThat(first).isNotEqualTo(second);
+    }
+
+    @Test
+    void generate_ShouldEncodeGenderBirthDateAndRankInNumeroSecuriteSociale() {
+        PatientDTO patient = PatientDataGenerator.generate(PatientDataGenerator.randomForChunk(7, 0), 1234);
+
+        String nss = patient.getNumeroSecuriteSociale();
+        assertThat(nss).matches("^[0-9]{15}$");
+        assertThat(nss.charAt(0)).isEqualTo(patient.getGenre().name().equals("HOMME") ? '1' : '2');
+        assertThat(nss.substring(1, 3)).isEqualTo(String.format("%02d", patient.getDateNaissance().getYear() % 100));
+        assertThat(nss.substring(3, 5)).isEqualTo(String.format("%02d", patient.getDateNaissance().getMonthValue()));
+        assertThat(nss).endsWith("00001234");
+    }
+}
@@ -0,0 +1,64 @@
+package com.exemple.patient_service.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void next_ShouldSplitRecordsOnSeparatorAndLineEndings() throws IOException {
+        CsvRecordReader reader = reader("a,b,c\r\n1,2,3\n4,,6");
+
+        assertThat(reader.next()).containsExactly("a", "b", "c");
+        assertThat(reader.next()).containsExactly("1", "2", "3");
+        assertThat(reader.next()).containsExactly("4", "", "6");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void next_ShouldHandleQuotedFieldsWithSeparatorsQuotesAndNewlines() throws IOException {
+        CsvRecordReader reader = reader("nom,adresse\n\"Alaoui\",\"12, rue \"\"Atlas\"\"\nCasablanca\"\nTazi,Rabat\n");
+
+        reader.next();
+        assertThat(reader.next()).containsExactly("Alaoui", "12, rue \"Atlas\"\nCasablanca");
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("Tazi", "Rabat");
+        assertThat(reader.getRecordLine()).isEqualTo(4);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void next_ShouldSkipByteOrderMarkAndUseCustomSeparator() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("\uFEFFnom;prenom\nAlaoui;Ahmed"), ';');
+
+        assertThat(reader.next()).containsExactly("nom", "prenom");
+        assertThat(reader.next()).containsExactly("Alaoui", "Ahmed");
+    }
+
+    @Test
+    void next_ShouldReadRecordsLongerThanBuffer() throws IOException {
+        String longValue = "x".repeat(200_000);
+        CsvRecordReader reader = reader("\"" + longValue + "\",fin\n");
+
+        assertThat(reader.next()).containsExactly(longValue, "fin");
+    }
+
+    @Test
+    void next_ShouldFail_WhenQuoteIsNotClosed() throws IOException {
+        CsvRecordReader reader = reader("nom\n\"Alaoui\n");
+
+        reader.next();
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("ligne 2");
+    }
+
+    private static CsvRecordReader reader(String content) {
+        return new CsvRecordReader(new StringReader(content), ',');
+    }
+}
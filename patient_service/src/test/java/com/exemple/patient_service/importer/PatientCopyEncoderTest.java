@@ -0,0 +1,31 @@
+package com.exemple.patient_service.importer;
+
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.enums.GenreSexe;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PatientCopyEncoderTest {
+
+    @Test
+    void append_ShouldWriteTabSeparatedLineWithNullMarkers() {
+        PatientDTO patient = PatientDTO.builder()
+                .nom("Alaoui")
+                .prenom("Ahmed")
+                .dateNaissance(LocalDate.of(1985, 6, 15))
+                .adresse("12 rue\tAtlas\nCasablanca \\ Maroc")
+                .genre(GenreSexe.HOMME)
+                .numeroSecuriteSociale("123456789012345")
+                .build();
+        StringBuilder out = new StringBuilder();
+
+        PatientCopyEncoder.append(out, 7, patient);
+
+        assertThat(out.toString()).isEqualTo(
+                "7\tAlaoui\tAhmed\t1985-06-15\t\\N\t12 rue\\tAtlas\\nCasablanca \\\\ Maroc\t\\N\tHOMME\t\\N\t123456789012345\t\\N\n");
+        assertThat(out.toString().split("\t")).hasSize(PatientCopyEncoder.COLUMNS.split(",").length);
+    }
+}
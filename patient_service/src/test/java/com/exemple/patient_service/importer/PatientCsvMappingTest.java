@@ -0,0 +1,65 @@
+package com.exemple.patient_service.importer;
+
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.enums.GenreSexe;
+import com.exemple.patient_service.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PatientCsvMappingTest {
+
+    private static final String[] HEADER = {"NOM", "prenom", "date_naissance", "adresse", "Genre", "numero_securite_sociale", "commentaire"};
+
+    @Test
+    void toDto_ShouldMapColumnsByNormalizedHeader() {
+        PatientCsvMapping mapping = PatientCsvMapping.fromHeader(HEADER);
+        List<String> errors = new ArrayList<>();
+
+        PatientDTO patient = mapping.toDto(new String[]{"Alaoui", " Ahmed ", "1985-06-15", "Casablanca", "homme", "", "ignoré"}, errors);
+
+        assertThat(errors).isEmpty();
+        assertThat(patient.getNom()).isEqualTo("Alaoui");
+        assertThat(patient.getPrenom()).isEqualTo("Ahmed");
+        assertThat(patient.getDateNaissance()).isEqualTo(LocalDate.of(1985, 6, 15));
+        assertThat(patient.getGenre()).isEqualTo(GenreSexe.HOMME);
+        assertThat(patient.getNumeroSecuriteSociale()).isNull();
+        assertThat(patient.getTelephone()).isNull();
+    }
+
+    @Test
+    void toDto_ShouldReportFormatErrors() {
+        PatientCsvMapping mapping = PatientCsvMapping.fromHeader(HEADER);
+        List<String> errors = new ArrayList<>();
+
+        PatientDTO patient = mapping.toDto(new String[]{"Alaoui", "Ahmed", "15/06/1985", "Casablanca", "X", "", ""}, errors);
+
+        assertThat(patient).isNotNull();
+        assertThat(errors).containsExactly("dateNaissance: format attendu AAAA-MM-JJ", "genre: valeur inconnue X");
+    }
+
+    @Test
+    void toDto_ShouldRejectRecordsWithWrongColumnCount() {
+        PatientCsvMapping mapping = PatientCsvMapping.fromHeader(HEADER);
+        List<String> errors = new ArrayList<>();
+
+        assertThat(mapping.toDto(new String[]{"Alaoui", "Ahmed"}, errors)).isNull();
+        assertThat(errors).singleElement().asString().startsWith("Nombre de colonnes incorrect");
+    }
+
+    @Test
+    void fromHeader_ShouldRequireMandatoryColumns() {
+        assertThatThrownBy(() -> PatientCsvMapping.fromHeader(new String[]{"nom", "prenom"}))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("dateNaissance")
+                .hasMessageContaining("adresse")
+                .hasMessageContaining("genre");
+        assertThatThrownBy(() -> PatientCsvMapping.fromHeader(null))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,68 @@
+package com.exemple.patient_service.index;
+
+import com.exemple.patient_service.config.BirthDateIndexProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BirthDateIndexTest {
+
+    private BirthDateIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BirthDateIndex(new BirthDateIndexProperties());
+        // Ajouts dans le désordre, comme pendant une reconstruction
+        index.add(entry(4L, LocalDate.of(1990, 1, 1)));
+        index.add(entry(1L, LocalDate.of(1985, 6, 15)));
+        index.add(entry(3L, LocalDate.of(1985, 6, 15)));
+        index.add(entry(2L, LocalDate.of(1940, 3, 2)));
+        index.markReady();
+    }
+
+    @Test
+    void findIds_ShouldReturnIdsInRangeOrderedByDateThenId() {
+        assertThat(index.findIds(LocalDate.of(1980, 1, 1), LocalDate.of(1990, 1, 1))).containsExactly(1L, 3L, 4L);
+        assertThat(index.findIds(LocalDate.of(1985, 6, 15), LocalDate.of(1985, 6, 15))).containsExactly(1L, 3L);
+        assertThat(index.findIds(LocalDate.of(1991, 1, 1), LocalDate.of(2000, 1, 1))).isEmpty();
+    }
+
+    @Test
+    void count_ShouldIncludeBothBounds_AndBeZeroForInvertedRange() {
+        assertThat(index.count(LocalDate.of(1940, 3, 2), LocalDate.of(1990, 1, 1))).isEqualTo(4);
+        assertThat(index.count(LocalDate.of(1940, 3, 3), LocalDate.of(1989, 12, 31))).isEqualTo(2);
+        assertThat(index.count(LocalDate.of(1990, 1, 1), LocalDate.of(1980, 1, 1))).isZero();
+        assertThat(index.count(LocalDate.MIN, LocalDate.MAX)).isEqualTo(4);
+    }
+
+    @Test
+    void addAndRemove_ShouldKeepIndexSortedOnceReady() {
+        index.add(entry(5L, LocalDate.of(1985, 6, 16)));
+        index.remove(entry(1L, LocalDate.of(1985, 6, 15)));
+        // Suppression sans date connue : retrouvée par l'ID
+        index.remove(entry(2L, null));
+
+        assertThat(index.findIds(LocalDate.MIN, LocalDate.MAX)).containsExactly(3L, 5L, 4L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void markReady_ShouldDropEntriesAddedTwiceDuringRebuild() {
+        index.clear();
+        index.add(entry(1L, LocalDate.of(1985, 6, 15)));
+        index.add(entry(1L, LocalDate.of(1985, 6, 15)));
+
+        assertThat(index.isReady()).isFalse();
+        index.markReady();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    private static PatientIndexEntry entry(Long id, LocalDate dateNaissance) {
+        return new PatientIndexEntry(id, "Nom", "Prénom", dateNaissance, null, null, null, null);
+    }
+}
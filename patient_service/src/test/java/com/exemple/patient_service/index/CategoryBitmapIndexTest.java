@@ -0,0 +1,97 @@
+package com.exemple.patient_service.index;
+
+import com.exemple.patient_service.config.BitmapIndexProperties;
+import com.exemple.patient_service.enums.GenreSexe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class CategoryBitmapIndexTest {
+
+    private CategoryBitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CategoryBitmapIndex(new BitmapIndexProperties());
+        index.add(patient(1L, "O-", GenreSexe.FEMME));
+        index.add(patient(2L, "O-", GenreSexe.HOMME));
+        index.add(patient(3L, "A+", GenreSexe.FEMME));
+        index.add(patient(4L, null, GenreSexe.FEMME));
+        index.markReady();
+    }
+
+    @Test
+    void groupesSanguins_ShouldReturnUnionOfRequestedGroups() {
+        assertThat(index.groupesSanguins(List.of("O-")).toArray()).containsExactly(1, 2);
+        assertThat(index.groupesSanguins(List.of("O-", "A+", "B+")).toArray()).containsExactly(1, 2, 3);
+        assertThat(index.groupesSanguins(List.of("AB-")).isEmpty()).isTrue();
+    }
+
+    @Test
+    void genres_ShouldCombineWithGroupsByIntersection() {
+        RoaringBitmap result = index.groupesSanguins(List.of("O-"));
+        result.and(index.genres(List.of(GenreSexe.FEMME)));
+
+        assertThat(result.toArray()).containsExactly(1);
+        // Les bitmaps renvoyés sont des copies
+        assertThat(index.groupesSanguins(List.of("O-")).toArray()).containsExactly(1, 2);
+    }
+
+    @Test
+    void add_ShouldMovePatientToItsNewValues() {
+        index.add(patient(1L, "B+", GenreSexe.HOMME));
+
+        assertThat(index.groupesSanguins(List.of("O-")).toArray()).containsExactly(2);
+        assertThat(index.groupesSanguins(List.of("B+")).toArray()).containsExactly(1);
+        assertThat(index.genres(List.of(GenreSexe.HOMME)).toArray()).containsExactly(1, 2);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void remove_ShouldRemovePatientFromEveryBitmap_EvenWithoutPreviousState() {
+        index.remove(new PatientIndexEntry(3L, null, null, null, null, null, null, null));
+
+        assertThat(index.groupesSanguins(List.of("A+")).isEmpty()).isTrue();
+        assertThat(index.genres(List.of(GenreSexe.FEMME)).toArray()).containsExactly(1, 4);
+        assertThat(index.all().toArray()).containsExactly(1, 2, 4);
+    }
+
+    @Test
+    void villes_ShouldMatchCityExtractedFromAdresse_IgnoringCase() {
+        index.add(new PatientIndexEntry(5L, "Nom", "Prénom", null, GenreSexe.HOMME, "B+", null, "7 Rue Ibn Batouta, 30000 Fès, Maroc"));
+        index.add(new PatientIndexEntry(6L, "Nom", "Prénom", null, GenreSexe.HOMME, "B+", null, "123 Rue de la Paix"));
+
+        assertThat(index.villes(List.of(" FÈS ")).toArray()).containsExactly(5);
+        assertThat(index.villes(List.of("Rue de la Paix")).isEmpty()).isTrue();
+    }
+
+    @Test
+    void count_ShouldCountEachValueWithinGivenPatients() {
+        index.add(new PatientIndexEntry(5L, "Nom", "Prénom", LocalDate.of(1969, 12, 31), GenreSexe.FEMME, "O-", null, null));
+        index.add(new PatientIndexEntry(6L, "Nom", "Prénom", LocalDate.of(1970, 1, 1), GenreSexe.HOMME, "O-", null, null));
+
+        CategoryCounts counts = index.count(RoaringBitmap.bitmapOf(1, 3, 5, 6));
+
+        assertThat(counts.total()).isEqualTo(4);
+        assertThat(counts.groupesSanguins()).containsExactly(entry("A+", 1L), entry("O-", 3L));
+        assertThat(counts.genres()).containsExactly(entry(GenreSexe.HOMME, 1L), entry(GenreSexe.FEMME, 3L));
+        assertThat(counts.decennies()).containsExactly(entry(1960, 1L), entry(1970, 1L));
+    }
+
+    @Test
+    void add_ShouldRejectIdsBeyond32Bits() {
+        assertThatThrownBy(() -> index.add(patient(1L + Integer.MAX_VALUE, "O-", GenreSexe.FEMME)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static PatientIndexEntry patient(Long id, String groupeSanguin, GenreSexe genre) {
+        return new PatientIndexEntry(id, "Nom", "Prénom", null, genre, groupeSanguin, null, null);
+    }
+}
@@ -0,0 +1,93 @@
+package com.exemple.patient_service.index;
+
+import com.exemple.patient_service.config.NssFilterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NssBloomFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private NssBloomFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        NssFilterProperties properties = new NssFilterProperties();
+        properties.setExpectedInsertions(10_000);
+        properties.setFalsePositiveRate(0.01);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new NssBloomFilter(properties, meterRegistry);
+    }
+
+    @Test
+    void mightContain_ShouldAnswerTrue_UntilFilterIsReady() {
+        assertThat(filter.mightContain("123456789012345")).isTrue();
+
+        filter.markReady();
+
+        assertThat(filter.mightContain("123456789012345")).isFalse();
+    }
+
+    @Test
+    void mightContain_ShouldNeverGiveFalseNegatives() {
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(entry(i));
+        }
+        filter.markReady();
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain(nss(i))).isTrue();
+        }
+    }
+
+    @Test
+    void mightContain_ShouldKeepFalsePositivesNearTarget() {
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(entry(i));
+        }
+        filter.markReady();
+
+        int falsePositives = 0;
+        for (int i = 10_000; i < 110_000; i++) {
+            if (filter.mightContain(nss(i))) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveRate()).isBetween(0.005, 0.015);
+    }
+
+    @Test
+    void clear_ShouldForgetNumbersAndRequireRebuild() {
+        filter.add(entry(1));
+        filter.markReady();
+
+        filter.clear();
+
+        assertThat(filter.isReady()).isFalse();
+        filter.markReady();
+        assertThat(filter.mightContain(nss(1))).isFalse();
+        assertThat(filter.expectedFalsePositiveRate()).isZero();
+    }
+
+    @Test
+    void metrics_ShouldExposeMemoryFootprintAndFalsePositiveRate() {
+        filter.add(entry(1));
+        filter.recordFalsePositive();
+
+        assertThat(meterRegistry.get("patient.nss.filter.memory").gauge().value()).isGreaterThan(10_000 / 8.0);
+        assertThat(meterRegistry.get("patient.nss.filter.fpp").gauge().value()).isGreaterThan(0);
+        assertThat(meterRegistry.get("patient.nss.filter.false.positives").counter().count()).isEqualTo(1.0);
+    }
+
+    private static PatientIndexEntry entry(int i) {
+        return new PatientIndexEntry((long) i, "Nom", "Prenom", null, null, null, nss(i), null);
+    }
+
+    private static String nss(int i) {
+        return String.format("1%014d", i);
+    }
+}
@@ -0,0 +1,141 @@
+package com.exemple.patient_service.index;
+
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.event.PatientChangedEvent;
+import com.exemple.patient_service.repository.PatientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PatientIndexMaintainerTest {
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RecordingIndex index;
+    private PatientIndexMaintainer maintainer;
+
+    @BeforeEach
+    void setUp() {
+        index = new RecordingIndex();
+        maintainer = new PatientIndexMaintainer(List.of(index), patientRepository, transactionManager, new SyncTaskExecutor());
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void rebuild_ShouldFeedEveryRowAndMarkIndexReady() {
+        // Given
+        when(patientRepository.streamIndexEntries()).thenReturn(Stream.of(entry(1L), entry(2L)));
+
+        // When
+        maintainer.onApplicationReady();
+
+        // Then
+        assertThat(index.operations).containsExactly("clear", "add:1", "add:2", "ready");
+        assertThat(index.isReady()).isTrue();
+    }
+
+    @Test
+    void onPatientChanged_ShouldBeReplayedAfterScan_WhenReceivedDuringRebuild() {
+        // Given : une modification validée pendant le parcours de la table
+        when(patientRepository.streamIndexEntries()).thenAnswer(invocation -> Stream.of(entry(1L)).onClose(() ->
+                maintainer.onPatientChanged(PatientChangedEvent.updated(dto(1L), dto(1L)))));
+
+        // When
+        maintainer.rebuild();
+
+        // Then
+        assertThat(index.operations).containsExactly("clear", "add:1", "remove:1", "add:1", "ready");
+    }
+
+    @Test
+    void onPatientChanged_ShouldRemoveThenAdd_WhenIndexIsReady() {
+        // When
+        maintainer.onPatientChanged(PatientChangedEvent.created(dto(3L)));
+        maintainer.onPatientChanged(PatientChangedEvent.deleted(3L, null));
+
+        // Then
+        assertThat(index.operations).containsExactly("add:3", "remove:3");
+    }
+
+    @Test
+    void rebuild_ShouldLeaveIndexNotReady_WhenScanFails() {
+        // Given
+        when(patientRepository.streamIndexEntries()).thenThrow(new IllegalStateException("connexion perdue"));
+
+        // When
+        maintainer.rebuild();
+
+        // Then
+        assertThat(index.isReady()).isFalse();
+    }
+
+    private static PatientIndexEntry entry(Long id) {
+        return new PatientIndexEntry(id, "Alaoui", "Ahmed", null, null, null, null, null);
+    }
+
+    private static PatientDTO dto(Long id) {
+        return PatientDTO.builder().id(id).nom("Alaoui").prenom("Ahmed").build();
+    }
+
+    private static class RecordingIndex implements PatientIndex {
+
+        private final List<String> operations = new ArrayList<>();
+        private boolean ready;
+
+        @Override
+        public String getName() {
+            return "recording";
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            ready = false;
+            operations.add("clear");
+        }
+
+        @Override
+        public void add(PatientIndexEntry entry) {
+            operations.add("add:" + entry.id());
+        }
+
+        @Override
+        public void remove(PatientIndexEntry entry) {
+            operations.add("remove:" + entry.id());
+        }
+
+        @Override
+        public void markReady() {
+            ready = true;
+            operations.add("ready");
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+    }
+}
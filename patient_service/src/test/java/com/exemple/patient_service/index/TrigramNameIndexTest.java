@@ -0,0 +1,105 @@
+package com.exemple.patient_service.index;
+
+import com.exemple.patient_service.config.PatientSchemaInitializer;
+import com.exemple.patient_service.enums.NameSearchMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TrigramNameIndexTest {
+
+    @Mock
+    private PatientSchemaInitializer schemaInitializer;
+
+    private TrigramNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramNameIndex(schemaInitializer);
+        index.add(entry(1L, "Alaoui", "Ahmed"));
+        index.add(entry(2L, "Lahlou", "Salma"));
+        index.add(entry(3L, "El Alami", "Karim"));
+        index.add(entry(4L, "Bennani", "Alaa"));
+        index.markReady();
+    }
+
+    @Test
+    void isEnabled_ShouldFollowEffectiveSearchMode() {
+        when(schemaInitializer.getEffectiveNameSearchMode()).thenReturn(NameSearchMode.MEMORY);
+        assertThat(index.isEnabled()).isTrue();
+
+        when(schemaInitializer.getEffectiveNameSearchMode()).thenReturn(NameSearchMode.DATABASE);
+        assertThat(index.isEnabled()).isFalse();
+    }
+
+    @Test
+    void search_ShouldMatchSubstringOfNomOrPrenom_IgnoringCase() {
+        assertThat(index.search("ALA", 10)).containsExactlyInAnyOrder(1L, 3L, 4L);
+        assertThat(index.search("salm", 10)).containsExactly(2L);
+        assertThat(index.search("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    void matchingIds_ShouldReturnEveryMatchWithoutLimit() {
+        assertThat(index.matchingIds("ALA").toArray()).containsExactly(1, 3, 4);
+        assertThat(index.matchingIds("aouiahme").isEmpty()).isTrue();
+    }
+
+    @Test
+    void search_ShouldRequireWholeSubstring_NotOnlyTrigrams() {
+        // "aoui" et "ahme" partagent des trigrammes avec "Alaoui Ahmed" mais "aouiahme" n'est pas une sous-chaîne
+        assertThat(index.search("aouiahme", 10)).isEmpty();
+    }
+
+    @Test
+    void search_ShouldRankBySimilarityAndApplyLimit() {
+        index.add(entry(5L, "Alaouia", "Nour"));
+
+        List<Long> ids = index.search("alaoui", 10);
+        assertThat(ids).containsExactly(1L, 5L);
+        assertThat(index.search("alaoui", 1)).containsExactly(1L);
+    }
+
+    @Test
+    void add_ShouldReplacePreviousNames_WhenPatientAlreadyIndexed() {
+        index.add(entry(1L, "Tazi", "Omar"));
+
+        assertThat(index.search("alaoui", 10)).isEmpty();
+        assertThat(index.search("tazi", 10)).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void remove_ShouldUnindexPatient() {
+        index.remove(new PatientIndexEntry(2L, null, null, null, null, null, null, null));
+
+        assertThat(index.search("lahlou", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void clear_ShouldEmptyIndexAndResetReadiness() {
+        index.clear();
+
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void supports_ShouldRequireThreeCharacters() {
+        assertThat(index.supports(" al ")).isFalse();
+        assertThat(index.supports("ala")).isTrue();
+    }
+
+    private static PatientIndexEntry entry(Long id, String nom, String prenom) {
+        return new PatientIndexEntry(id, nom, prenom, null, null, null, null, null);
+    }
+}
@@ -6,6 +6,7 @@ import com.exemple.patient_service.enums.GenreSexe;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
@@ -34,8 +35,8 @@ class PatientMapperTest {
                 .antecedentsMedicaux("Diabète")
                 .numeroSecuriteSociale("123456789012345")
                 .groupeSanguin("A+")
-                .createdAt(LocalDate.now())
-                .updatedAt(LocalDate.now())
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
                 .build();
 
         patientDTO = PatientDTO.builder()
@@ -50,8 +51,8 @@ class PatientMapperTest {
                 .antecedentsMedicaux("Diabète")
                 .numeroSecuriteSociale("123456789012345")
                 .groupeSanguin("A+")
-                .createdAt(LocalDate.now())
-                .updatedAt(LocalDate.now())
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
                 .build();
     }
 
@@ -0,0 +1,69 @@
+package com.exemple.patient_service.monitoring;
+
+import com.exemple.patient_service.config.VirtualThreadsProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private VirtualThreadPinningMonitor monitor;
+
+    @AfterEach
+    void tearDown() {
+        if (monitor != null) {
+            monitor.stop();
+        }
+    }
+
+    @Test
+    void start_ShouldRecordVirtualThreadPinnedInsideSynchronizedBlock() throws Exception {
+        // Given
+        VirtualThreadsProperties properties = new VirtualThreadsProperties();
+        properties.setPinnedThreshold(Duration.ofMillis(5));
+        monitor = new VirtualThreadPinningMonitor(properties, meterRegistry);
+        monitor.start();
+        Object lock = new Object();
+
+        // When : un sommeil dans un bloc synchronized épingle le thread virtuel sur son porteur
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).join();
+
+        // Then : le flux JFR est vidé environ toutes les secondes
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (pinnedCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(pinnedCount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void start_ShouldDoNothingWhenDisabled() {
+        // Given
+        VirtualThreadsProperties properties = new VirtualThreadsProperties();
+        properties.setPinningMonitorEnabled(false);
+        monitor = new VirtualThreadPinningMonitor(properties, meterRegistry);
+
+        // When
+        monitor.start();
+
+        // Then
+        assertThat(pinnedCount()).isZero();
+    }
+
+    private long pinnedCount() {
+        return meterRegistry.get("jvm.threads.virtual.pinned").timer().count();
+    }
+}
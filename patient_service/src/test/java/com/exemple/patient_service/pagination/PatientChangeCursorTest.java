@@ -0,0 +1,33 @@
+package com.exemple.patient_service.pagination;
+
+import com.exemple.patient_service.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PatientChangeCursorTest {
+
+    @Test
+    void encodeDecode_ShouldRoundTrip() {
+        PatientChangeCursor cursor = new PatientChangeCursor(8_589_934_592L, 1042L);
+
+        assertThat(PatientChangeCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void compareTo_ShouldOrderByTransactionThenSequence() {
+        // Une séquence plus petite écrite par une transaction plus récente vient après
+        assertThat(new PatientChangeCursor(11, 101)).isLessThan(new PatientChangeCursor(12, 99));
+        assertThat(new PatientChangeCursor(12, 99)).isLessThan(new PatientChangeCursor(12, 100));
+    }
+
+    @Test
+    void decode_ShouldRejectInvalidToken() {
+        assertThatThrownBy(() -> PatientChangeCursor.decode("pas un curseur"))
+                .isInstanceOf(BadRequestException.class);
+        // Curseur de pagination des patients (autre format)
+        assertThatThrownBy(() -> PatientChangeCursor.decode("SUQ6NTA6"))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,71 @@
+package com.exemple.patient_service.pagination;
+
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.enums.PatientSort;
+import com.exemple.patient_service.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PatientCursorTest {
+
+    @Test
+    void encodeDecode_ShouldRoundTrip_ForEachSort() {
+        PatientDTO patient = PatientDTO.builder()
+                .id(42L)
+                .nom("El Amrani: fils")
+                .dateNaissance(LocalDate.of(1985, 6, 15))
+                .build();
+
+        for (PatientSort sort : PatientSort.values()) {
+            PatientCursor cursor = PatientCursor.after(sort, patient);
+
+            assertThat(PatientCursor.decode(cursor.encode())).isEqualTo(cursor);
+        }
+    }
+
+    @Test
+    void after_ShouldUseSortKeyOfLastPatient() {
+        PatientDTO patient = PatientDTO.builder()
+                .id(7L)
+                .nom("Alaoui")
+                .dateNaissance(LocalDate.of(1985, 6, 15))
+                .build();
+
+        assertThat(PatientCursor.after(PatientSort.ID, patient).key()).isNull();
+        assertThat(PatientCursor.after(PatientSort.NOM, patient).key()).isEqualTo("Alaoui");
+        assertThat(PatientCursor.after(PatientSort.DATE_NAISSANCE, patient).dateKey()).isEqualTo(LocalDate.of(1985, 6, 15));
+    }
+
+    @Test
+    void encode_ShouldProduceUrlSafeToken() {
+        String token = new PatientCursor(PatientSort.NOM, 1L, "Fès?/+").encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void decode_ShouldThrowBadRequestException_WhenTokenIsGarbage() {
+        assertThatThrownBy(() -> PatientCursor.decode("!!pas-un-curseur!!"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void decode_ShouldThrowBadRequestException_WhenKeyIsMissingForNonIdSort() {
+        String token = new PatientCursor(PatientSort.NOM, 1L, null).encode();
+
+        assertThatThrownBy(() -> PatientCursor.decode(token))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void decode_ShouldThrowBadRequestException_WhenDateKeyIsInvalid() {
+        String token = new PatientCursor(PatientSort.DATE_NAISSANCE, 1L, "pas-une-date").encode();
+
+        assertThatThrownBy(() -> PatientCursor.decode(token))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,163 @@
+package com.exemple.patient_service.search;
+
+import com.exemple.patient_service.config.BirthDateIndexProperties;
+import com.exemple.patient_service.config.BitmapIndexProperties;
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.enums.GenreSexe;
+import com.exemple.patient_service.exception.BadRequestException;
+import com.exemple.patient_service.index.BirthDateIndex;
+import com.exemple.patient_service.index.CategoryBitmapIndex;
+import com.exemple.patient_service.index.CategoryCounts;
+import com.exemple.patient_service.index.PatientIndexEntry;
+import com.exemple.patient_service.repository.PatientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PatientFilterSearchTest {
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private PatientNameSearch patientNameSearch;
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private CategoryBitmapIndex categoryBitmapIndex;
+    private BirthDateIndex birthDateIndex;
+    private PatientFilterSearch patientFilterSearch;
+
+    @BeforeEach
+    void setUp() {
+        categoryBitmapIndex = new CategoryBitmapIndex(new BitmapIndexProperties());
+        birthDateIndex = new BirthDateIndex(new BirthDateIndexProperties());
+        patientFilterSearch = new PatientFilterSearch(patientRepository, categoryBitmapIndex, birthDateIndex,
+                patientNameSearch, jdbcTemplate);
+
+        index(1L, "O-", GenreSexe.FEMME, LocalDate.of(1962, 4, 1));
+        index(2L, "O-", GenreSexe.FEMME, LocalDate.of(1975, 8, 12));
+        index(3L, "O-", GenreSexe.HOMME, LocalDate.of(1958, 1, 20));
+        index(4L, "A+", GenreSexe.FEMME, LocalDate.of(1949, 11, 3));
+        index(5L, "O+", GenreSexe.FEMME, LocalDate.of(1968, 2, 29));
+    }
+
+    @Test
+    void findPage_ShouldIntersectCriteriaOnBitmaps_AndFetchOnlyTheResult() {
+        markReady();
+        PatientDTO patient = PatientDTO.builder().id(1L).build();
+        when(patientRepository.findDtosByIdIn(List.of(1L))).thenReturn(List.of(patient));
+
+        // Femmes O- nées avant 1970
+        List<PatientDTO> result = patientFilterSearch.findPage(
+                new PatientFilter(Set.of("O-"), Set.of(GenreSexe.FEMME), null, LocalDate.of(1969, 12, 31)), null, 10);
+
+        assertThat(result).containsExactly(patient);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void findPage_ShouldUniteValuesOfSameCriterion_AndResumeAfterCursor() {
+        markReady();
+        PatientDTO third = PatientDTO.builder().id(3L).build();
+        PatientDTO fifth = PatientDTO.builder().id(5L).build();
+        when(patientRepository.findDtosByIdIn(List.of(3L, 5L))).thenReturn(List.of(fifth, third));
+
+        List<PatientDTO> result = patientFilterSearch.findPage(
+                new PatientFilter(Set.of("O-", "O+"), null, null, null), 2L, 10);
+
+        assertThat(result).containsExactly(third, fifth);
+    }
+
+    @Test
+    void evaluate_ShouldReturnAllPatients_WhenNoCriterion() {
+        markReady();
+
+        assertThat(patientFilterSearch.evaluate(new PatientFilter(null, null, null, null)).toArray())
+                .containsExactly(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    void findPage_ShouldQueryDatabase_WhenBirthDateIndexNotReady() {
+        categoryBitmapIndex.markReady();
+        when(jdbcTemplate.queryForList(anyString(), any(MapSqlParameterSource.class), eq(Long.class))).thenReturn(List.of());
+
+        patientFilterSearch.findPage(new PatientFilter(Set.of("O-"), null, LocalDate.of(1960, 1, 1), null), null, 10);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).queryForList(sql.capture(), any(MapSqlParameterSource.class), eq(Long.class));
+        assertThat(sql.getValue()).contains("groupe_sanguin IN (:groupes)", "date_naissance >= :debut", "ORDER BY id LIMIT :limit");
+        verify(patientRepository, never()).findDtosByIdIn(any());
+    }
+
+    @Test
+    void search_ShouldCountFacetsOfWholeResult_AndCombineNameAndCity() {
+        markReady();
+        when(patientNameSearch.findMatchingIds("ala")).thenReturn(RoaringBitmap.bitmapOf(1, 2, 4, 5));
+        when(patientRepository.findDtosByIdIn(List.of(1L))).thenReturn(List.of(PatientDTO.builder().id(1L).build()));
+
+        PatientFilterSearch.FilterPage page = patientFilterSearch.search(
+                new PatientFilter(null, Set.of(GenreSexe.FEMME), null, null, "ala", Set.of("casablanca")), null, 1, true);
+
+        assertThat(page.patients()).hasSize(1);
+        CategoryCounts counts = page.counts();
+        // Femmes de Casablanca dont le nom contient "ala" : patients 1 et 5
+        assertThat(counts.total()).isEqualTo(2);
+        assertThat(counts.groupesSanguins()).containsExactly(entry("O+", 1L), entry("O-", 1L));
+        assertThat(counts.genres()).containsExactly(entry(GenreSexe.FEMME, 2L));
+        assertThat(counts.decennies()).containsExactly(entry(1960, 2L));
+    }
+
+    @Test
+    void search_ShouldCountFacetsWithGroupingSets_WhenIndexesNotReady() {
+        when(jdbcTemplate.queryForList(anyString(), any(MapSqlParameterSource.class), eq(Long.class))).thenReturn(List.of());
+
+        patientFilterSearch.search(new PatientFilter(null, null, null, null, "ala", Set.of("Casablanca")), null, 10, true);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(sql.capture(), params.capture(), any(RowCallbackHandler.class));
+        assertThat(sql.getValue()).contains("GROUPING SETS", "LIKE :pattern", "IN (:villes)");
+        assertThat(params.getValue().getValue("villes")).isEqualTo(List.of("casablanca"));
+        assertThat(params.getValue().getValue("pattern")).isEqualTo("%ala%");
+    }
+
+    @Test
+    void search_ShouldRejectNameTermShorterThanThreeCharacters() {
+        assertThatThrownBy(() -> patientFilterSearch.search(new PatientFilter(null, null, null, null, "al", null), null, 10, true))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private void index(Long id, String groupeSanguin, GenreSexe genre, LocalDate dateNaissance) {
+        String adresse = id % 2 == 1 ? "12 Rue Al Qods, 20000 Casablanca, Maroc" : "4 Avenue Ibn Sina, 10000 Rabat, Maroc";
+        PatientIndexEntry entry = new PatientIndexEntry(id, "Nom", "Prénom", dateNaissance, genre, groupeSanguin, null, adresse);
+        categoryBitmapIndex.add(entry);
+        birthDateIndex.add(entry);
+    }
+
+    private void markReady() {
+        categoryBitmapIndex.markReady();
+        birthDateIndex.markReady();
+    }
+}
@@ -0,0 +1,139 @@
+package com.exemple.patient_service.search;
+
+import com.exemple.patient_service.config.PatientSchemaInitializer;
+import com.exemple.patient_service.config.SearchProperties;
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.enums.NameSearchMode;
+import com.exemple.patient_service.exception.BadRequestException;
+import com.exemple.patient_service.index.TrigramNameIndex;
+import com.exemple.patient_service.repository.PatientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PatientNameSearchTest {
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private TrigramNameIndex trigramNameIndex;
+
+    @Mock
+    private PatientSchemaInitializer schemaInitializer;
+
+    @Spy
+    private SearchProperties searchProperties = new SearchProperties();
+
+    @InjectMocks
+    private PatientNameSearch patientNameSearch;
+
+    private PatientDTO alaoui;
+    private PatientDTO bennani;
+
+    @BeforeEach
+    void setUp() {
+        alaoui = PatientDTO.builder().id(1L).nom("Alaoui").prenom("Ahmed").build();
+        bennani = PatientDTO.builder().id(2L).nom("Bennani").prenom("Alaa").build();
+    }
+
+    @Test
+    void search_ShouldUseTrigramQuery_WhenDatabaseModeIsEffective() {
+        // Given
+        when(schemaInitializer.getEffectiveNameSearchMode()).thenReturn(NameSearchMode.DATABASE);
+        when(patientRepository.searchByNameTrigram("ala_%", "%ala\\_\\%%", Limit.of(20))).thenReturn(List.of(alaoui));
+
+        // When
+        List<PatientDTO> result = patientNameSearch.search(" ALA_% ", null);
+
+        // Then
+        assertThat(result).containsExactly(alaoui);
+        verifyNoInteractions(trigramNameIndex);
+    }
+
+    @Test
+    void search_ShouldFetchIndexedIdsInRankOrder_WhenMemoryIndexIsReady() {
+        // Given
+        when(schemaInitializer.getEffectiveNameSearchMode()).thenReturn(NameSearchMode.MEMORY);
+        when(trigramNameIndex.isReady()).thenReturn(true);
+        when(trigramNameIndex.search("ala", 5)).thenReturn(List.of(2L, 1L));
+        when(patientRepository.findDtosByIdIn(List.of(2L, 1L))).thenReturn(List.of(alaoui, bennani));
+
+        // When
+        List<PatientDTO> result = patientNameSearch.search("ala", 5);
+
+        // Then
+        assertThat(result).containsExactly(bennani, alaoui);
+        verify(patientRepository, never()).searchByNameTrigram(anyString(), anyString(), any(Limit.class));
+    }
+
+    @Test
+    void search_ShouldFallBackToLikeQuery_WhenMemoryIndexIsNotReady() {
+        // Given
+        when(schemaInitializer.getEffectiveNameSearchMode()).thenReturn(NameSearchMode.MEMORY);
+        when(trigramNameIndex.isReady()).thenReturn(false);
+        when(patientRepository.findDtosByNameContaining("%ala%", Limit.of(20)))
+                .thenReturn(List.of(bennani, alaoui));
+
+        // When
+        List<PatientDTO> result = patientNameSearch.search("ala", null);
+
+        // Then
+        assertThat(result).hasSize(2);
+    }
+
+    @Test
+    void search_ShouldFallBackToLikeQuery_WhenTermIsTooShortForTrigrams() {
+        // Given
+        when(schemaInitializer.getEffectiveNameSearchMode()).thenReturn(NameSearchMode.DATABASE);
+        when(patientRepository.findDtosByNameContaining("%al%", Limit.of(20)))
+                .thenReturn(List.of(alaoui));
+
+        // When
+        List<PatientDTO> result = patientNameSearch.search("al", null);
+
+        // Then
+        assertThat(result).containsExactly(alaoui);
+        verify(patientRepository, never()).searchByNameTrigram(anyString(), anyString(), any(Limit.class));
+    }
+
+    @Test
+    void search_ShouldCapLimitToConfiguredMaximum() {
+        // Given
+        when(schemaInitializer.getEffectiveNameSearchMode()).thenReturn(NameSearchMode.DATABASE);
+        when(patientRepository.searchByNameTrigram("alaoui", "%alaoui%", Limit.of(100))).thenReturn(List.of());
+
+        // When
+        patientNameSearch.search("alaoui", 10_000);
+
+        // Then
+        verify(patientRepository).searchByNameTrigram("alaoui", "%alaoui%", Limit.of(100));
+    }
+
+    @Test
+    void search_ShouldThrowBadRequestException_WhenTermIsBlank() {
+        assertThatThrownBy(() -> patientNameSearch.search("   ", null))
+                .isInstanceOf(BadRequestException.class);
+
+        verifyNoInteractions(patientRepository);
+    }
+
+    @Test
+    void search_ShouldThrowBadRequestException_WhenLimitIsNotPositive() {
+        assertThatThrownBy(() -> patientNameSearch.search("alaoui", 0))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
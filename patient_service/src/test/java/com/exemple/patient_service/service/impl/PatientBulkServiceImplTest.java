@@ -0,0 +1,202 @@
+package com.exemple.patient_service.service.impl;
+
+import com.exemple.patient_service.config.BulkProperties;
+import com.exemple.patient_service.config.NssFilterProperties;
+import com.exemple.patient_service.dto.BulkCreateResultDTO;
+import com.exemple.patient_service.dto.BulkItemErrorDTO;
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.entity.Patient;
+import com.exemple.patient_service.enums.GenreSexe;
+import com.exemple.patient_service.event.PatientChangedEvent;
+import com.exemple.patient_service.exception.BadRequestException;
+import com.exemple.patient_service.index.NssBloomFilter;
+import com.exemple.patient_service.mapper.PatientMapper;
+import com.exemple.patient_service.repository.PatientRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PatientBulkServiceImplTest {
+
+    private static Validator validator;
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private PatientBulkServiceImpl bulkService;
+    private NssBloomFilter nssBloomFilter;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @BeforeAll
+    static void setUpValidator() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    @BeforeEach
+    void setUp() {
+        BulkProperties properties = new BulkProperties();
+        properties.setChunkSize(2);
+        properties.setMaxItems(10);
+        nssBloomFilter = new NssBloomFilter(new NssFilterProperties(), new SimpleMeterRegistry());
+        bulkService = new PatientBulkServiceImpl(patientRepository, new PatientMapper(), validator, eventPublisher,
+                nssBloomFilter, properties, entityManager, transactionManager);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(patientRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Patient> patients = invocation.getArgument(0);
+            patients.forEach(patient -> patient.setId(sequence.incrementAndGet()));
+            return patients;
+        });
+    }
+
+    @Test
+    void createPatients_ShouldInsertEachChunkWithOneUniquenessQuery() {
+        // Given
+        List<PatientDTO> patients = List.of(patient("100000000000001"), patient("100000000000002"), patient("100000000000003"));
+        when(patientRepository.findExistingNumerosSecuriteSociale(anyCollection())).thenReturn(List.of());
+
+        // When
+        BulkCreateResultDTO result = bulkService.createPatients(patients);
+
+        // Then
+        assertThat(result.getReceived()).isEqualTo(3);
+        assertThat(result.getCreated()).isEqualTo(3);
+        assertThat(result.getErrors()).isEmpty();
+        verify(patientRepository, times(2)).findExistingNumerosSecuriteSociale(anyCollection());
+        verify(patientRepository, times(2)).saveAll(anyList());
+        verify(patientRepository, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(eventPublisher, times(3)).publishEvent(any(PatientChangedEvent.class));
+    }
+
+    @Test
+    void createPatients_ShouldReportInvalidAndDuplicatePatientsByIndex() {
+        // Given
+        PatientDTO invalid = patient("100000000000002");
+        invalid.setNom("");
+        List<PatientDTO> patients = List.of(
+                patient("100000000000001"),
+                invalid,
+                patient("100000000000001"),
+                patient("100000000000003"));
+        when(patientRepository.findExistingNumerosSecuriteSociale(anyCollection()))
+                .thenAnswer(invocation -> {
+                    Collection<String> numeros = invocation.getArgument(0);
+                    return numeros.contains("100000000000003") ? List.of("100000000000003") : List.of();
+                });
+
+        // When
+        BulkCreateResultDTO result = bulkService.createPatients(patients);
+
+        // Then
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(BulkItemErrorDTO::getIndex).containsExactly(1, 2, 3);
+        assertThat(result.getErrors().get(0).getMessages()).anySatisfy(message -> assertThat(message).startsWith("nom:"));
+        assertThat(result.getErrors().get(1).getMessages()).containsExactly("Numéro de sécurité sociale en double dans la requête");
+        assertThat(result.getErrors().get(2).getMessages()).containsExactly(PatientBulkServiceImpl.DUPLICATE_NSS_MESSAGE);
+    }
+
+    @Test
+    void createPatients_ShouldSkipUniquenessQuery_WhenBloomFilterRulesNumbersOut() {
+        // Given
+        nssBloomFilter.markReady();
+
+        // When
+        BulkCreateResultDTO result = bulkService.createPatients(List.of(patient("100000000000001"), patient("100000000000002")));
+
+        // Then
+        assertThat(result.getCreated()).isEqualTo(2);
+        verify(patientRepository, never()).findExistingNumerosSecuriteSociale(anyCollection());
+    }
+
+    @Test
+    void createPatients_ShouldReportWholeChunk_WhenInsertHitsConstraint() {
+        // Given
+        when(patientRepository.findExistingNumerosSecuriteSociale(anyCollection())).thenReturn(List.of());
+        doThrow(new DataIntegrityViolationException("duplicate key")).doNothing().when(patientRepository).flush();
+        List<PatientDTO> patients = List.of(patient("100000000000001"), patient("100000000000002"), patient("100000000000003"));
+
+        // When
+        BulkCreateResultDTO result = bulkService.createPatients(patients);
+
+        // Then
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(BulkItemErrorDTO::getIndex).containsExactly(0, 1);
+        verify(eventPublisher, times(1)).publishEvent(any(PatientChangedEvent.class));
+    }
+
+    @Test
+    void createPatients_ShouldIgnoreClientSuppliedIds() {
+        // Given
+        nssBloomFilter.markReady();
+        PatientDTO withId = patient("100000000000001");
+        withId.setId(42L);
+
+        // When
+        bulkService.createPatients(List.of(withId));
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Patient>> saved = ArgumentCaptor.forClass(List.class);
+        verify(patientRepository).saveAll(saved.capture());
+        assertThat(saved.getValue().get(0).getId()).isNotEqualTo(42L);
+    }
+
+    @Test
+    void createPatients_ShouldRejectEmptyOrOversizedLists() {
+        List<PatientDTO> tooMany = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            tooMany.add(patient(String.format("1%014d", i)));
+        }
+
+        assertThatThrownBy(() -> bulkService.createPatients(List.of())).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> bulkService.createPatients(tooMany)).isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(patientRepository);
+    }
+
+    private static PatientDTO patient(String numeroSecuriteSociale) {
+        return PatientDTO.builder()
+                .nom("Alaoui")
+                .prenom("Ahmed")
+                .dateNaissance(LocalDate.of(1985, 6, 15))
+                .adresse("123 Rue Mohammed V, Casablanca")
+                .genre(GenreSexe.HOMME)
+                .numeroSecuriteSociale(numeroSecuriteSociale)
+                .build();
+    }
+}
@@ -0,0 +1,148 @@
+package com.exemple.patient_service.service.impl;
+
+import com.exemple.patient_service.changelog.PatientChange;
+import com.exemple.patient_service.changelog.PatientChangeLog;
+import com.exemple.patient_service.config.PatientChangesProperties;
+import com.exemple.patient_service.dto.CursorPageDTO;
+import com.exemple.patient_service.dto.PatientChangeDTO;
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.enums.PatientChangeType;
+import com.exemple.patient_service.exception.BadRequestException;
+import com.exemple.patient_service.exception.CursorExpiredException;
+import com.exemple.patient_service.exception.ResourceNotFoundException;
+import com.exemple.patient_service.pagination.PatientChangeCursor;
+import com.exemple.patient_service.repository.PatientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PatientChangeServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    @Mock
+    private PatientChangeLog patientChangeLog;
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    private PatientChangeServiceImpl patientChangeService;
+
+    @BeforeEach
+    void setUp() {
+        PatientChangesProperties properties = new PatientChangesProperties();
+        properties.setDefaultLimit(2);
+        properties.setMaxLimit(10);
+        patientChangeService = new PatientChangeServiceImpl(patientChangeLog, patientRepository, properties);
+        lenient().when(patientChangeLog.isEnabled()).thenReturn(true);
+    }
+
+    @Test
+    void getChanges_ShouldReturnChangesWithCurrentStateAndNextCursor() {
+        // Given
+        when(patientChangeLog.findAfter(new PatientChangeCursor(0, 0), 3)).thenReturn(List.of(
+                new PatientChange(1, 700, 1L, PatientChangeType.UPDATED, 2L, NOW),
+                new PatientChange(2, 701, 2L, PatientChangeType.DELETED, 0L, NOW)));
+        when(patientRepository.findDtosByIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(PatientDTO.builder().id(1L).nom("Alaoui").version(2L).build()));
+
+        // When
+        CursorPageDTO<PatientChangeDTO> page = patientChangeService.getChanges(null, null);
+
+        // Then
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getContent().get(0).getPatient().getNom()).isEqualTo("Alaoui");
+        assertThat(page.getContent().get(0).getCursor()).isEqualTo(new PatientChangeCursor(700, 1).encode());
+        assertThat(page.getContent().get(1).getType()).isEqualTo(PatientChangeType.DELETED);
+        assertThat(page.getContent().get(1).getPatient()).isNull();
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(PatientChangeCursor.decode(page.getNextCursor())).isEqualTo(new PatientChangeCursor(701, 2));
+    }
+
+    @Test
+    void getChanges_ShouldReportNextPage_WhenMoreChangesThanLimit() {
+        // Given
+        PatientChangeCursor since = new PatientChangeCursor(600, 10);
+        when(patientChangeLog.findHorizon()).thenReturn(Optional.empty());
+        when(patientChangeLog.findAfter(since, 2)).thenReturn(List.of(
+                new PatientChange(11, 601, 1L, PatientChangeType.CREATED, 0L, NOW),
+                new PatientChange(12, 602, 2L, PatientChangeType.CREATED, 0L, NOW)));
+
+        // When
+        CursorPageDTO<PatientChangeDTO> page = patientChangeService.getChanges(since.encode(), 1);
+
+        // Then
+        assertThat(page.getContent()).extracting(PatientChangeDTO::getSequence).containsExactly(11L);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(PatientChangeCursor.decode(page.getNextCursor())).isEqualTo(new PatientChangeCursor(601, 11));
+    }
+
+    @Test
+    void getChanges_ShouldKeepCursor_WhenNoNewChange() {
+        // Given
+        PatientChangeCursor since = new PatientChangeCursor(600, 10);
+        when(patientChangeLog.findHorizon()).thenReturn(Optional.of(new PatientChangeCursor(600, 10)));
+        when(patientChangeLog.findAfter(since, 3)).thenReturn(List.of());
+
+        // When
+        CursorPageDTO<PatientChangeDTO> page = patientChangeService.getChanges(since.encode(), null);
+
+        // Then
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getNextCursor()).isEqualTo(since.encode());
+        verify(patientRepository, never()).findDtosByIdIn(any());
+    }
+
+    @Test
+    void getChanges_ShouldFailWithGone_WhenCursorPrecedesPurgeHorizon() {
+        // Given
+        when(patientChangeLog.findHorizon()).thenReturn(Optional.of(new PatientChangeCursor(650, 40)));
+
+        // When & Then
+        assertThatThrownBy(() -> patientChangeService.getChanges(new PatientChangeCursor(600, 10).encode(), null))
+                .isInstanceOf(CursorExpiredException.class);
+        verify(patientChangeLog, never()).findAfter(any(), anyInt());
+    }
+
+    @Test
+    void getChanges_ShouldRejectNonPositiveLimit() {
+        assertThatThrownBy(() -> patientChangeService.getChanges(null, 0))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void getChanges_ShouldFailWithNotFound_WhenChangeLogDisabled() {
+        // Given
+        when(patientChangeLog.isEnabled()).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> patientChangeService.getChanges(null, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void getHead_ShouldFallBackToHorizon_WhenLogIsEmpty() {
+        // Given
+        when(patientChangeLog.findHead()).thenReturn(Optional.empty());
+        when(patientChangeLog.findHorizon()).thenReturn(Optional.of(new PatientChangeCursor(650, 40)));
+
+        // When
+        CursorPageDTO<PatientChangeDTO> head = patientChangeService.getHead();
+
+        // Then
+        assertThat(head.getContent()).isEmpty();
+        assertThat(PatientChangeCursor.decode(head.getNextCursor())).isEqualTo(new PatientChangeCursor(650, 40));
+    }
+}
@@ -0,0 +1,149 @@
+package com.exemple.patient_service.service.impl;
+
+import com.exemple.patient_service.config.ChangeStreamProperties;
+import com.exemple.patient_service.config.PatientChangesProperties;
+import com.exemple.patient_service.config.WorkerThreads;
+import com.exemple.patient_service.dto.CursorPageDTO;
+import com.exemple.patient_service.dto.PatientChangeDTO;
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.enums.PatientChangeType;
+import com.exemple.patient_service.exception.CursorExpiredException;
+import com.exemple.patient_service.pagination.PatientChangeCursor;
+import com.exemple.patient_service.service.PatientChangeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PatientChangeStreamServiceImplTest {
+
+    private static final String HEAD = new PatientChangeCursor(700, 5).encode();
+
+    @Mock
+    private PatientChangeService patientChangeService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PatientChangeStreamServiceImpl streamService;
+
+    @BeforeEach
+    void setUp() {
+        ChangeStreamProperties properties = new ChangeStreamProperties();
+        // Lecture périodique neutralisée : les tests la déclenchent par pollOnce()
+        properties.setPollInterval(Duration.ofHours(1));
+        PatientChangesProperties changesProperties = new PatientChangesProperties();
+        changesProperties.setMaxLimit(10);
+        meterRegistry = new SimpleMeterRegistry();
+        streamService = new PatientChangeStreamServiceImpl(patientChangeService, properties, changesProperties,
+                new WorkerThreads(new MockEnvironment()), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.shutdown();
+    }
+
+    @Test
+    void subscribe_ShouldStartFromHead_WhenNoCursor() throws InterruptedException {
+        // Given
+        when(patientChangeService.getHead()).thenReturn(page(List.of(), HEAD, false));
+        when(patientChangeService.getChanges(anyString(), anyInt())).thenReturn(page(List.of(), HEAD, false));
+
+        // When
+        SseEmitter emitter = streamService.subscribe(null, null, null);
+
+        // Then
+        assertThat(emitter).isNotNull();
+        verify(patientChangeService).getChanges(HEAD, 10);
+        awaitUntil(() -> subscribers() == 1);
+    }
+
+    @Test
+    void subscribe_ShouldPropagateExpiredCursor() {
+        // Given
+        String since = new PatientChangeCursor(1, 1).encode();
+        when(patientChangeService.getChanges(since, 10))
+                .thenThrow(new CursorExpiredException("Curseur antérieur à la purge du journal des modifications"));
+
+        // When & Then
+        assertThatThrownBy(() -> streamService.subscribe(since, null, null))
+                .isInstanceOf(CursorExpiredException.class);
+        verify(patientChangeService, never()).getHead();
+        assertThat(subscribers()).isZero();
+    }
+
+    @Test
+    void pollOnce_ShouldDeliverOnlyChangesMatchingTheFilter() throws InterruptedException {
+        // Given
+        String next = new PatientChangeCursor(701, 7).encode();
+        when(patientChangeService.getChanges(anyString(), anyInt())).thenReturn(page(List.of(), HEAD, false));
+        streamService.subscribe(HEAD, List.of(1L), null);
+        awaitUntil(() -> subscribers() == 1);
+        when(patientChangeService.getChanges(HEAD, 10)).thenReturn(page(List.of(
+                change(6, 1L, "A+"),
+                change(7, 2L, "A+")), next, false));
+
+        // When
+        streamService.pollOnce();
+
+        // Then
+        awaitUntil(() -> meterRegistry.counter("patient.change.stream.events").count() == 1);
+        streamService.pollOnce();
+        verify(patientChangeService).getChanges(next, 10);
+    }
+
+    @Test
+    void pollOnce_ShouldNotReadTheLog_WithoutSubscribers() {
+        // When
+        streamService.pollOnce();
+
+        // Then
+        verifyNoInteractions(patientChangeService);
+    }
+
+    private double subscribers() {
+        return meterRegistry.get("patient.change.stream.subscribers").gauge().value();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition non atteinte en 5 s").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static PatientChangeDTO change(long sequence, Long patientId, String groupeSanguin) {
+        return PatientChangeDTO.builder()
+                .sequence(sequence)
+                .cursor(new PatientChangeCursor(701, sequence).encode())
+                .type(PatientChangeType.UPDATED)
+                .patientId(patientId)
+                .patient(PatientDTO.builder().id(patientId).groupeSanguin(groupeSanguin).build())
+                .build();
+    }
+
+    private static CursorPageDTO<PatientChangeDTO> page(List<PatientChangeDTO> content, String nextCursor, boolean hasNext) {
+        return CursorPageDTO.<PatientChangeDTO>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.exemple.patient_service.service.impl;
+
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.enums.GenreSexe;
+import com.exemple.patient_service.repository.PatientRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PatientExportServiceImplTest {
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    private PatientExportServiceImpl patientExportService;
+
+    private PatientDTO first;
+    private PatientDTO second;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        patientExportService = new PatientExportServiceImpl(patientRepository, objectMapper);
+
+        first = PatientDTO.builder()
+                .id(1L)
+                .nom("Alaoui")
+                .prenom("Ahmed")
+                .dateNaissance(LocalDate.of(1985, 6, 15))
+                .genre(GenreSexe.HOMME)
+                .build();
+        second = PatientDTO.builder()
+                .id(2L)
+                .nom("Bennani")
+                .prenom("Fatima")
+                .dateNaissance(LocalDate.of(1990, 3, 20))
+                .genre(GenreSexe.FEMME)
+                .build();
+    }
+
+    @Test
+    void exportNdjson_ShouldWriteOneJsonObjectPerLine() throws IOException {
+        // Given
+        when(patientRepository.streamDtosOrderById()).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long count = patientExportService.exportNdjson(out);
+
+        // Then
+        assertThat(count).isEqualTo(2);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        ObjectMapper reader = new ObjectMapper().registerModule(new JavaTimeModule());
+        PatientDTO firstDto = reader.readValue(lines[0], PatientDTO.class);
+        assertThat(firstDto.getId()).isEqualTo(1L);
+        assertThat(firstDto.getDateNaissance()).isEqualTo(LocalDate.of(1985, 6, 15));
+        assertThat(reader.readValue(lines[1], PatientDTO.class).getNom()).isEqualTo("Bennani");
+    }
+
+    @Test
+    void exportNdjson_ShouldCloseStream() throws IOException {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        when(patientRepository.streamDtosOrderById())
+                .thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+
+        // When
+        patientExportService.exportNdjson(new ByteArrayOutputStream());
+
+        // Then
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void exportNdjson_ShouldNotCloseOutputStream() throws IOException {
+        // Given
+        when(patientRepository.streamDtosOrderById()).thenReturn(Stream.empty());
+        OutputStream out = spy(new ByteArrayOutputStream());
+
+        // When
+        long count = patientExportService.exportNdjson(out);
+
+        // Then
+        assertThat(count).isZero();
+        verify(out, never()).close();
+    }
+}
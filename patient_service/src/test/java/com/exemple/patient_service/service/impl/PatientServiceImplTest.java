@@ -1,26 +1,59 @@
 package com.exemple.patient_service.service.impl;
 
+import com.exemple.patient_service.cache.PatientCache;
+import com.exemple.patient_service.config.BirthDateIndexProperties;
+import com.exemple.patient_service.config.BitmapIndexProperties;
+import com.exemple.patient_service.config.NssFilterProperties;
+import com.exemple.patient_service.config.PaginationProperties;
+import com.exemple.patient_service.config.PatientCacheProperties;
+import com.exemple.patient_service.dto.CursorPageDTO;
+import com.exemple.patient_service.dto.FacetedSearchResultDTO;
 import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.dto.PatientVersion;
+import com.exemple.patient_service.dto.PatientStatsDTO;
 import com.exemple.patient_service.entity.Patient;
 import com.exemple.patient_service.enums.GenreSexe;
+import com.exemple.patient_service.enums.PatientChangeType;
+import com.exemple.patient_service.enums.PatientSort;
+import com.exemple.patient_service.event.PatientChangedEvent;
 import com.exemple.patient_service.exception.BadRequestException;
 import com.exemple.patient_service.exception.ResourceNotFoundException;
+import com.exemple.patient_service.index.BirthDateIndex;
+import com.exemple.patient_service.index.CategoryCounts;
+import com.exemple.patient_service.index.CategoryBitmapIndex;
+import com.exemple.patient_service.index.NssBloomFilter;
+import com.exemple.patient_service.index.PatientIndexEntry;
 import com.exemple.patient_service.mapper.PatientMapper;
+import com.exemple.patient_service.pagination.PatientCursor;
 import com.exemple.patient_service.repository.PatientRepository;
+import com.exemple.patient_service.search.PatientFilter;
+import com.exemple.patient_service.search.PatientFilterSearch;
+import com.exemple.patient_service.search.PatientNameSearch;
+import com.exemple.patient_service.stats.PatientStatistics;
+import com.exemple.patient_service.stats.PatientStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -34,6 +67,41 @@ class PatientServiceImplTest {
     @Mock
     private PatientMapper patientMapper;
 
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
+
+    @Mock
+    private PatientNameSearch patientNameSearch;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private PatientCache patientCache = new PatientCache(new PatientCacheProperties(), new SimpleMeterRegistry());
+
+    // Filtre pas encore construit : toutes les vérifications d'unicité passent par la base
+    @Spy
+    private NssBloomFilter nssBloomFilter = new NssBloomFilter(new NssFilterProperties(), new SimpleMeterRegistry());
+
+    @Spy
+    private BirthDateIndexProperties birthDateIndexProperties = new BirthDateIndexProperties();
+
+    // Index pas encore construit, sauf dans les tests qui le marquent prêt
+    @Spy
+    private BirthDateIndex birthDateIndex = new BirthDateIndex(birthDateIndexProperties);
+
+    @Spy
+    private BitmapIndexProperties bitmapIndexProperties = new BitmapIndexProperties();
+
+    @Spy
+    private CategoryBitmapIndex categoryBitmapIndex = new CategoryBitmapIndex(bitmapIndexProperties);
+
+    @Mock
+    private PatientFilterSearch patientFilterSearch;
+
+    @Mock
+    private PatientStatistics patientStatistics;
+
     @InjectMocks
     private PatientServiceImpl patientService;
 
@@ -53,8 +121,8 @@ class PatientServiceImplTest {
                 .genre(GenreSexe.HOMME)
                 .numeroSecuriteSociale("123456789012345")
                 .groupeSanguin("A+")
-                .createdAt(LocalDate.now())
-                .updatedAt(LocalDate.now())
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
                 .build();
 
         patientDTO = PatientDTO.builder()
@@ -68,8 +136,8 @@ class PatientServiceImplTest {
                 .genre(GenreSexe.HOMME)
                 .numeroSecuriteSociale("123456789012345")
                 .groupeSanguin("A+")
-                .createdAt(LocalDate.now())
-                .updatedAt(LocalDate.now())
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
                 .build();
     }
 
@@ -92,6 +160,23 @@ class PatientServiceImplTest {
         verify(patientRepository).save(any(Patient.class));
         verify(patientMapper).toEntity(patientDTO);
         verify(patientMapper).toDto(patient);
+        verify(eventPublisher).publishEvent(PatientChangedEvent.created(patientDTO));
+    }
+
+    @Test
+    void createPatient_ShouldSkipUniquenessQuery_WhenBloomFilterRulesNssOut() {
+        // Given
+        nssBloomFilter.markReady();
+        when(patientMapper.toEntity(any(PatientDTO.class))).thenReturn(patient);
+        when(patientRepository.save(any(Patient.class))).thenReturn(patient);
+        when(patientMapper.toDto(any(Patient.class))).thenReturn(patientDTO);
+
+        // When
+        patientService.createPatient(patientDTO);
+
+        // Then
+        verify(patientRepository, never()).existsByNumeroSecuriteSociale(anyString());
+        verify(patientRepository).save(any(Patient.class));
     }
 
     @Test
@@ -106,13 +191,13 @@ class PatientServiceImplTest {
 
         verify(patientRepository).existsByNumeroSecuriteSociale("123456789012345");
         verify(patientRepository, never()).save(any(Patient.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void getPatientById_ShouldReturnPatient_WhenPatientExists() {
         // Given
-        when(patientRepository.findById(1L)).thenReturn(Optional.of(patient));
-        when(patientMapper.toDto(any(Patient.class))).thenReturn(patientDTO);
+        when(patientRepository.findDtoById(1L)).thenReturn(Optional.of(patientDTO));
 
         // When
         PatientDTO result = patientService.getPatientById(1L);
@@ -121,14 +206,45 @@ class PatientServiceImplTest {
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(1L);
         assertThat(result.getNom()).isEqualTo("Alaoui");
-        verify(patientRepository).findById(1L);
-        verify(patientMapper).toDto(patient);
+        verify(patientRepository).findDtoById(1L);
+        verifyNoInteractions(patientMapper);
+    }
+
+    @Test
+    void getPatientById_ShouldServeRepeatedReadsFromCache() {
+        // Given
+        when(patientRepository.findDtoById(1L)).thenReturn(Optional.of(patientDTO));
+
+        // When
+        PatientDTO first = patientService.getPatientById(1L);
+        PatientDTO second = patientService.getPatientById(1L);
+        PatientDTO byNss = patientService.findByNumeroSecuriteSociale("123456789012345");
+
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(patientRepository, times(1)).findDtoById(1L);
+        verify(patientRepository, never()).findDtoByNumeroSecuriteSociale(anyString());
+        assertThat(byNss).isSameAs(first);
+    }
+
+    @Test
+    void getPatientById_ShouldReloadPatient_AfterUpdateEvent() {
+        // Given
+        when(patientRepository.findDtoById(1L)).thenReturn(Optional.of(patientDTO));
+        patientService.getPatientById(1L);
+
+        // When
+        patientCache.onPatientChanged(PatientChangedEvent.updated(patientDTO, patientDTO));
+        patientService.getPatientById(1L);
+
+        // Then
+        verify(patientRepository, times(2)).findDtoById(1L);
     }
 
     @Test
     void getPatientById_ShouldThrowResourceNotFoundException_WhenPatientNotExists() {
         // Given
-        when(patientRepository.findById(1L)).thenReturn(Optional.empty());
+        when(patientRepository.findDtoById(1L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> patientService.getPatientById(1L))
@@ -137,26 +253,118 @@ class PatientServiceImplTest {
                 .hasMessageContaining("id")
                 .hasMessageContaining("1");
 
-        verify(patientRepository).findById(1L);
-        verify(patientMapper, never()).toDto(any(Patient.class));
+        verify(patientRepository).findDtoById(1L);
     }
 
     @Test
-    void getAllPatients_ShouldReturnAllPatients() {
+    void getPatientVersion_ShouldReadVersionOnly_WhenPatientNotCached() {
         // Given
-        List<Patient> patients = Arrays.asList(patient, patient);
-        List<PatientDTO> patientDTOs = Arrays.asList(patientDTO, patientDTO);
-        when(patientRepository.findAll()).thenReturn(patients);
-        when(patientMapper.toDtoList(patients)).thenReturn(patientDTOs);
+        when(patientRepository.findVersionById(1L)).thenReturn(Optional.of(new PatientVersion(1L, 4L)));
 
         // When
-        List<PatientDTO> result = patientService.getAllPatients();
+        PatientVersion result = patientService.getPatientVersion(1L);
 
         // Then
-        assertThat(result).isNotNull();
-        assertThat(result).hasSize(2);
-        verify(patientRepository).findAll();
-        verify(patientMapper).toDtoList(patients);
+        assertThat(result).isEqualTo(new PatientVersion(1L, 4L));
+        verify(patientRepository, never()).findDtoById(anyLong());
+    }
+
+    @Test
+    void getPatientVersion_ShouldBeServedByCache_WhenPatientCached() {
+        // Given
+        patientDTO.setVersion(2L);
+        when(patientRepository.findDtoById(1L)).thenReturn(Optional.of(patientDTO));
+        patientService.getPatientById(1L);
+
+        // When
+        PatientVersion byId = patientService.getPatientVersion(1L);
+        PatientVersion byNss = patientService.getPatientVersionByNumeroSecuriteSociale("123456789012345");
+
+        // Then
+        assertThat(byId).isEqualTo(new PatientVersion(1L, 2L));
+        assertThat(byNss).isEqualTo(byId);
+        verify(patientRepository, never()).findVersionById(anyLong());
+        verify(patientRepository, never()).findVersionByNumeroSecuriteSociale(anyString());
+    }
+
+    @Test
+    void getPatientVersion_ShouldThrowResourceNotFoundException_WhenPatientNotExists() {
+        // Given
+        when(patientRepository.findVersionById(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> patientService.getPatientVersion(1L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void getPatientsPage_ShouldReturnFirstPageWithNextCursor_WhenMoreRowsExist() {
+        // Given
+        paginationProperties.setDefaultSize(2);
+        PatientDTO second = PatientDTO.builder().id(2L).nom("Bennani").dateNaissance(LocalDate.of(1990, 1, 1)).build();
+        PatientDTO third = PatientDTO.builder().id(3L).nom("Cherkaoui").dateNaissance(LocalDate.of(1991, 1, 1)).build();
+        when(patientRepository.findFirstPageOrderById(Limit.of(3))).thenReturn(Arrays.asList(patientDTO, second, third));
+
+        // When
+        CursorPageDTO<PatientDTO> result = patientService.getPatientsPage(null, null, null);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(patientDTO, second);
+        assertThat(result.getSize()).isEqualTo(2);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(PatientCursor.decode(result.getNextCursor()))
+                .isEqualTo(new PatientCursor(PatientSort.ID, 2L, null));
+        verify(patientRepository).findFirstPageOrderById(Limit.of(3));
+    }
+
+    @Test
+    void getPatientsPage_ShouldResumeAfterCursor_WhenCursorProvided() {
+        // Given
+        String cursor = new PatientCursor(PatientSort.NOM, 1L, "Alaoui").encode();
+        when(patientRepository.findPageAfterNom("Alaoui", 1L, Limit.of(11))).thenReturn(List.of(patientDTO));
+
+        // When
+        CursorPageDTO<PatientDTO> result = patientService.getPatientsPage(cursor, 10, null);
+
+        // Then
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+        verify(patientRepository).findPageAfterNom("Alaoui", 1L, Limit.of(11));
+    }
+
+    @Test
+    void getPatientsPage_ShouldCapPageSize_WhenSizeExceedsMaximum() {
+        // Given
+        when(patientRepository.findFirstPageOrderByDateNaissance(Limit.of(501))).thenReturn(List.of());
+
+        // When
+        CursorPageDTO<PatientDTO> result = patientService.getPatientsPage(null, 10_000, PatientSort.DATE_NAISSANCE);
+
+        // Then
+        assertThat(result.getSize()).isEqualTo(500);
+        verify(patientRepository).findFirstPageOrderByDateNaissance(Limit.of(501));
+    }
+
+    @Test
+    void getPatientsPage_ShouldThrowBadRequestException_WhenSortDiffersFromCursor() {
+        // Given
+        String cursor = new PatientCursor(PatientSort.ID, 1L, null).encode();
+
+        // When & Then
+        assertThatThrownBy(() -> patientService.getPatientsPage(cursor, null, PatientSort.NOM))
+                .isInstanceOf(BadRequestException.class);
+
+        verifyNoInteractions(patientRepository);
+    }
+
+    @Test
+    void getPatientsPage_ShouldThrowBadRequestException_WhenSizeIsNotPositive() {
+        // When & Then
+        assertThatThrownBy(() -> patientService.getPatientsPage(null, 0, null))
+                .isInstanceOf(BadRequestException.class);
+
+        verifyNoInteractions(patientRepository);
     }
 
     @Test
@@ -171,7 +379,7 @@ class PatientServiceImplTest {
 
         when(patientRepository.findById(1L)).thenReturn(Optional.of(patient));
         when(patientRepository.existsByNumeroSecuriteSociale("987654321098765")).thenReturn(false);
-        when(patientRepository.save(any(Patient.class))).thenReturn(patient);
+        when(patientRepository.saveAndFlush(any(Patient.class))).thenReturn(patient);
         when(patientMapper.toDto(any(Patient.class))).thenReturn(patientDTO);
 
         // When
@@ -182,8 +390,13 @@ class PatientServiceImplTest {
         verify(patientRepository).findById(1L);
         verify(patientRepository).existsByNumeroSecuriteSociale("987654321098765");
         verify(patientMapper).updateEntityFromDto(patient, updateDTO);
-        verify(patientRepository).save(patient);
-        verify(patientMapper).toDto(patient);
+        verify(patientRepository).saveAndFlush(patient);
+        // État avant modification (événement) puis état après modification
+        verify(patientMapper, times(2)).toDto(patient);
+        ArgumentCaptor<PatientChangedEvent> event = ArgumentCaptor.forClass(PatientChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().type()).isEqualTo(PatientChangeType.UPDATED);
+        assertThat(event.getValue().patientId()).isEqualTo(1L);
     }
 
     @Test
@@ -199,7 +412,7 @@ class PatientServiceImplTest {
                 .hasMessageContaining("1");
 
         verify(patientRepository).findById(1L);
-        verify(patientRepository, never()).save(any(Patient.class));
+        verify(patientRepository, never()).saveAndFlush(any(Patient.class));
     }
 
     @Test
@@ -219,7 +432,7 @@ class PatientServiceImplTest {
 
         verify(patientRepository).findById(1L);
         verify(patientRepository).existsByNumeroSecuriteSociale("987654321098765");
-        verify(patientRepository, never()).save(any(Patient.class));
+        verify(patientRepository, never()).saveAndFlush(any(Patient.class));
     }
 
     @Test
@@ -233,6 +446,7 @@ class PatientServiceImplTest {
         // Then
         verify(patientRepository).findById(1L);
         verify(patientRepository).delete(patient);
+        verify(eventPublisher).publishEvent(PatientChangedEvent.deleted(1L, null));
     }
 
     @Test
@@ -255,8 +469,7 @@ class PatientServiceImplTest {
     void findByNumeroSecuriteSociale_ShouldReturnPatient_WhenPatientExists() {
         // Given
         String nss = "123456789012345";
-        when(patientRepository.findByNumeroSecuriteSociale(nss)).thenReturn(Optional.of(patient));
-        when(patientMapper.toDto(any(Patient.class))).thenReturn(patientDTO);
+        when(patientRepository.findDtoByNumeroSecuriteSociale(nss)).thenReturn(Optional.of(patientDTO));
 
         // When
         PatientDTO result = patientService.findByNumeroSecuriteSociale(nss);
@@ -264,15 +477,15 @@ class PatientServiceImplTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getNumeroSecuriteSociale()).isEqualTo(nss);
-        verify(patientRepository).findByNumeroSecuriteSociale(nss);
-        verify(patientMapper).toDto(patient);
+        verify(patientRepository).findDtoByNumeroSecuriteSociale(nss);
+        verifyNoInteractions(patientMapper);
     }
 
     @Test
     void findByNumeroSecuriteSociale_ShouldThrowResourceNotFoundException_WhenPatientNotExists() {
         // Given
         String nss = "123456789012345";
-        when(patientRepository.findByNumeroSecuriteSociale(nss)).thenReturn(Optional.empty());
+        when(patientRepository.findDtoByNumeroSecuriteSociale(nss)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> patientService.findByNumeroSecuriteSociale(nss))
@@ -281,28 +494,23 @@ class PatientServiceImplTest {
                 .hasMessageContaining("numéro de sécurité sociale")
                 .hasMessageContaining(nss);
 
-        verify(patientRepository).findByNumeroSecuriteSociale(nss);
-        verify(patientMapper, never()).toDto(any(Patient.class));
+        verify(patientRepository).findDtoByNumeroSecuriteSociale(nss);
     }
 
     @Test
     void searchPatientsByNameOrFirstname_ShouldReturnPatients() {
         // Given
         String query = "Ahmed";
-        List<Patient> patients = Arrays.asList(patient);
         List<PatientDTO> patientDTOs = Arrays.asList(patientDTO);
-        when(patientRepository.findByNomContainingIgnoreCaseOrPrenomContainingIgnoreCase(query, query))
-                .thenReturn(patients);
-        when(patientMapper.toDtoList(patients)).thenReturn(patientDTOs);
+        when(patientNameSearch.search(query, 10)).thenReturn(patientDTOs);
 
         // When
-        List<PatientDTO> result = patientService.searchPatientsByNameOrFirstname(query);
+        List<PatientDTO> result = patientService.searchPatientsByNameOrFirstname(query, 10);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result).hasSize(1);
-        verify(patientRepository).findByNomContainingIgnoreCaseOrPrenomContainingIgnoreCase(query, query);
-        verify(patientMapper).toDtoList(patients);
+        verify(patientNameSearch).search(query, 10);
     }
 
     @Test
@@ -310,10 +518,8 @@ class PatientServiceImplTest {
         // Given
         LocalDate debut = LocalDate.of(1980, 1, 1);
         LocalDate fin = LocalDate.of(1990, 12, 31);
-        List<Patient> patients = Arrays.asList(patient);
         List<PatientDTO> patientDTOs = Arrays.asList(patientDTO);
-        when(patientRepository.findByDateNaissanceBetween(debut, fin)).thenReturn(patients);
-        when(patientMapper.toDtoList(patients)).thenReturn(patientDTOs);
+        when(patientRepository.findDtosByDateNaissanceBetween(debut, fin)).thenReturn(patientDTOs);
 
         // When
         List<PatientDTO> result = patientService.findPatientsByBirthDateRange(debut, fin);
@@ -321,18 +527,45 @@ class PatientServiceImplTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result).hasSize(1);
-        verify(patientRepository).findByDateNaissanceBetween(debut, fin);
-        verify(patientMapper).toDtoList(patients);
+        verify(patientRepository).findDtosByDateNaissanceBetween(debut, fin);
+        verifyNoInteractions(patientMapper);
+    }
+
+    @Test
+    void findPatientsByBirthDateRange_ShouldLoadIdsFromIndex_WhenIndexReady() {
+        LocalDate debut = LocalDate.of(1980, 1, 1);
+        LocalDate fin = LocalDate.of(1990, 12, 31);
+        birthDateIndex.add(new PatientIndexEntry(1L, "Alaoui", "Ahmed", patient.getDateNaissance(), null, null, null, null));
+        birthDateIndex.markReady();
+        when(patientRepository.findDtosByIdIn(List.of(1L))).thenReturn(List.of(patientDTO));
+
+        List<PatientDTO> result = patientService.findPatientsByBirthDateRange(debut, fin);
+
+        assertThat(result).containsExactly(patientDTO);
+        verify(patientRepository, never()).findDtosByDateNaissanceBetween(any(), any());
+    }
+
+    @Test
+    void countPatientsByBirthDateRange_ShouldQueryDatabase_UntilIndexReady() {
+        LocalDate debut = LocalDate.of(1980, 1, 1);
+        LocalDate fin = LocalDate.of(1990, 12, 31);
+        when(patientRepository.countByDateNaissanceBetween(debut, fin)).thenReturn(3L);
+
+        assertThat(patientService.countPatientsByBirthDateRange(debut, fin)).isEqualTo(3L);
+
+        birthDateIndex.add(new PatientIndexEntry(1L, "Alaoui", "Ahmed", patient.getDateNaissance(), null, null, null, null));
+        birthDateIndex.markReady();
+
+        assertThat(patientService.countPatientsByBirthDateRange(debut, fin)).isEqualTo(1L);
+        verify(patientRepository, times(1)).countByDateNaissanceBetween(debut, fin);
     }
 
     @Test
     void findPatientsByGroupeSanguin_ShouldReturnPatients() {
         // Given
         String groupeSanguin = "A+";
-        List<Patient> patients = Arrays.asList(patient);
         List<PatientDTO> patientDTOs = Arrays.asList(patientDTO);
-        when(patientRepository.findByGroupeSanguin(groupeSanguin)).thenReturn(patients);
-        when(patientMapper.toDtoList(patients)).thenReturn(patientDTOs);
+        when(patientRepository.findDtosByGroupeSanguin(groupeSanguin)).thenReturn(patientDTOs);
 
         // When
         List<PatientDTO> result = patientService.findPatientsByGroupeSanguin(groupeSanguin);
@@ -340,7 +573,79 @@ class PatientServiceImplTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result).hasSize(1);
-        verify(patientRepository).findByGroupeSanguin(groupeSanguin);
-        verify(patientMapper).toDtoList(patients);
+        verify(patientRepository).findDtosByGroupeSanguin(groupeSanguin);
+        verifyNoInteractions(patientMapper);
+    }
+
+    @Test
+    void findPatientsByGroupeSanguin_ShouldLoadIdsFromBitmap_WhenIndexReady() {
+        categoryBitmapIndex.add(new PatientIndexEntry(1L, "Alaoui", "Ahmed", null, GenreSexe.HOMME, "A+", null, null));
+        categoryBitmapIndex.markReady();
+        when(patientRepository.findDtosByIdIn(List.of(1L))).thenReturn(List.of(patientDTO));
+
+        assertThat(patientService.findPatientsByGroupeSanguin("A+")).containsExactly(patientDTO);
+        assertThat(patientService.findPatientsByGroupeSanguin("B-")).isEmpty();
+        verify(patientRepository, never()).findDtosByGroupeSanguin(anyString());
+    }
+
+    @Test
+    void filterPatients_ShouldReturnPageAndCursor_WhenMoreResults() {
+        PatientFilter filter = new PatientFilter(null, null, null, null);
+        PatientDTO second = PatientDTO.builder().id(2L).build();
+        when(patientFilterSearch.findPage(filter, null, 2)).thenReturn(List.of(patientDTO, second));
+
+        CursorPageDTO<PatientDTO> page = patientService.filterPatients(filter, null, 1);
+
+        assertThat(page.getContent()).containsExactly(patientDTO);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(PatientCursor.decode(page.getNextCursor()).id()).isEqualTo(1L);
+    }
+
+    @Test
+    void filterPatients_ShouldRejectCursorOfAnotherSort() {
+        String cursor = PatientCursor.after(PatientSort.NOM, patientDTO).encode();
+
+        assertThatThrownBy(() -> patientService.filterPatients(new PatientFilter(null, null, null, null), cursor, null))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void facetedSearch_ShouldReturnPageWithCountsOfWholeResult() {
+        PatientFilter filter = new PatientFilter(null, Set.of(GenreSexe.FEMME), null, null, "alaoui", null);
+        CategoryCounts counts = new CategoryCounts(2, Map.of("O-", 2L), Map.of(GenreSexe.FEMME, 2L), Map.of(1960, 2L));
+        when(patientFilterSearch.search(filter, null, 51, true))
+                .thenReturn(new PatientFilterSearch.FilterPage(List.of(patientDTO), counts));
+
+        FacetedSearchResultDTO result = patientService.facetedSearch(filter, null, null);
+
+        assertThat(result.getContent()).containsExactly(patientDTO);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getTotal()).isEqualTo(2);
+        assertThat(result.getFacets().getGenre()).containsExactly(entry("FEMME", 2L));
+        assertThat(result.getFacets().getDecennie()).containsExactly(entry(1960, 2L));
+    }
+
+    @Test
+    void getStatistics_ShouldServeCountersFromMemory_WhenReady() {
+        PatientStats stats = new PatientStats(3, Map.of("O-", 3L), Map.of(GenreSexe.FEMME, 2L, GenreSexe.HOMME, 1L),
+                Map.of("30-44", 3L), Map.of("rabat", 3L));
+        when(patientStatistics.snapshot(any(LocalDate.class))).thenReturn(stats);
+
+        PatientStatsDTO result = patientService.getStatistics();
+
+        assertThat(result.getTotal()).isEqualTo(3);
+        assertThat(result.getGenre()).containsOnly(entry("FEMME", 2L), entry("HOMME", 1L));
+        assertThat(result.getVille()).containsExactly(entry("rabat", 3L));
+        verify(patientStatistics, never()).compute(any());
+        verifyNoInteractions(patientRepository);
+    }
+
+    @Test
+    void getStatistics_ShouldQueryDatabase_WhenCountersNotSeeded() {
+        PatientStats stats = new PatientStats(0, Map.of(), Map.of(), Map.of("0-17", 0L), Map.of());
+        when(patientStatistics.snapshot(any(LocalDate.class))).thenReturn(null);
+        when(patientStatistics.compute(any(LocalDate.class))).thenReturn(stats);
+
+        assertThat(patientService.getStatistics().getTrancheAge()).containsExactly(entry("0-17", 0L));
     }
-}
\ No newline at end of file
+}
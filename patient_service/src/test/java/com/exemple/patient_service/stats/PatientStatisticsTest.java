@@ -0,0 +1,158 @@
+package com.exemple.patient_service.stats;
+
+import com.exemple.patient_service.config.StatsProperties;
+import com.exemple.patient_service.dto.PatientDTO;
+import com.exemple.patient_service.enums.GenreSexe;
+import com.exemple.patient_service.event.PatientChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(MockitoExtension.class)
+class PatientStatisticsTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 1);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private PatientStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new PatientStatistics(new StatsProperties(), jdbcTemplate, new SyncTaskExecutor());
+    }
+
+    @Test
+    void onApplicationReady_ShouldSeedCountersFromOneAggregateQuery() throws SQLException {
+        // Given : deux femmes O- nées en 1990 à Casablanca, un homme A+ né en 2010 sans adresse
+        givenAggregate(null);
+
+        // When
+        statistics.onApplicationReady();
+        PatientStats stats = statistics.snapshot(TODAY);
+
+        // Then
+        assertThat(statistics.isReady()).isTrue();
+        assertThat(stats.total()).isEqualTo(3);
+        assertThat(stats.groupesSanguins()).containsExactly(entry("A+", 1L), entry("O-", 2L));
+        assertThat(stats.genres()).containsExactly(entry(GenreSexe.HOMME, 1L), entry(GenreSexe.FEMME, 2L));
+        assertThat(stats.tranchesAge()).containsExactly(entry("0-17", 1L), entry("18-29", 0L), entry("30-44", 2L),
+                entry("45-59", 0L), entry("60-74", 0L), entry("75+", 0L));
+        assertThat(stats.villes()).containsExactly(entry("casablanca", 2L));
+    }
+
+    @Test
+    void onPatientChanged_ShouldApplyDeltas() throws SQLException {
+        givenAggregate(null);
+        statistics.seed();
+
+        statistics.onPatientChanged(PatientChangedEvent.created(
+                dto(4L, "B+", GenreSexe.HOMME, LocalDate.of(1950, 1, 1), "1 Rue Hassan II, 10000 Rabat, Maroc")));
+        statistics.onPatientChanged(PatientChangedEvent.deleted(3L, dto(3L, "A+", GenreSexe.HOMME, LocalDate.of(2010, 1, 1), null)));
+        statistics.onPatientChanged(PatientChangedEvent.updated(
+                dto(1L, "O-", GenreSexe.FEMME, LocalDate.of(1990, 6, 15), "2 Rue Al Qods, 20000 Casablanca, Maroc"),
+                dto(1L, "AB+", GenreSexe.FEMME, LocalDate.of(1990, 6, 15), "2 Rue Al Qods, 20000 Casablanca, Maroc")));
+        PatientStats stats = statistics.snapshot(TODAY);
+
+        assertThat(stats.total()).isEqualTo(3);
+        // Les valeurs retombées à zéro sont omises
+        assertThat(stats.groupesSanguins()).containsExactly(entry("AB+", 1L), entry("B+", 1L), entry("O-", 1L));
+        assertThat(stats.genres()).containsExactly(entry(GenreSexe.HOMME, 1L), entry(GenreSexe.FEMME, 2L));
+        assertThat(stats.tranchesAge()).containsEntry("0-17", 0L).containsEntry("75+", 1L);
+        assertThat(stats.villes()).containsExactly(entry("casablanca", 2L), entry("rabat", 1L));
+    }
+
+    @Test
+    void seed_ShouldReplayChangesReceivedDuringAggregateQuery() throws SQLException {
+        // Given : une création validée pendant l'exécution de la requête d'agrégation
+        givenAggregate(() -> statistics.onPatientChanged(PatientChangedEvent.created(
+                dto(4L, "O-", GenreSexe.FEMME, LocalDate.of(1990, 1, 1), null))));
+
+        // When
+        statistics.seed();
+
+        // Then
+        PatientStats stats = statistics.snapshot(TODAY);
+        assertThat(stats.total()).isEqualTo(4);
+        assertThat(stats.groupesSanguins()).containsEntry("O-", 3L);
+    }
+
+    @Test
+    void snapshot_ShouldBeNull_UntilSeedSucceeds() {
+        doThrow(new DataAccessResourceFailureException("base indisponible"))
+                .when(jdbcTemplate).query(eq(PatientStatistics.SEED_SQL), any(RowCallbackHandler.class));
+
+        assertThat(statistics.snapshot(TODAY)).isNull();
+        statistics.seed();
+
+        assertThat(statistics.isReady()).isFalse();
+        assertThat(statistics.snapshot(TODAY)).isNull();
+    }
+
+    @Test
+    void bracketLabels_ShouldCoverEveryAge() {
+        assertThat(PatientStatistics.bracketLabels(List.of(18, 65))).containsExactly("0-17", "18-64", "65+");
+        assertThat(PatientStatistics.bracketLabels(List.of())).containsExactly("0+");
+    }
+
+    private void givenAggregate(Runnable duringQuery) throws SQLException {
+        List<ResultSet> rows = List.of(
+                row("groupe", "O-", 2), row("groupe", "A+", 1),
+                row("genre", "FEMME", 2), row("genre", "HOMME", 1),
+                row("date", LocalDate.of(1990, 6, 15), 2), row("date", LocalDate.of(2010, 1, 1), 1),
+                row("ville", "casablanca", 2), row("ville", null, 1),
+                row(null, null, 3));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet rs : rows) {
+                handler.processRow(rs);
+            }
+            if (duringQuery != null) {
+                duringQuery.run();
+            }
+            return null;
+        }).when(jdbcTemplate).query(eq(PatientStatistics.SEED_SQL), any(RowCallbackHandler.class));
+    }
+
+    // Ligne d'un ensemble de regroupement : "groupe", "genre", "date", "ville", ou null pour le total
+    private static ResultSet row(String dimension, Object value, long patients) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        lenient().when(rs.getLong("patients")).thenReturn(patients);
+        for (String grouping : List.of("groupe", "genre", "date", "ville")) {
+            lenient().when(rs.getInt("g_" + grouping)).thenReturn(grouping.equals(dimension) ? 0 : 1);
+        }
+        lenient().when(rs.getString("groupe_sanguin")).thenReturn("groupe".equals(dimension) ? (String) value : null);
+        lenient().when(rs.getString("genre")).thenReturn("genre".equals(dimension) ? (String) value : null);
+        lenient().when(rs.getObject("date_naissance", LocalDate.class)).thenReturn("date".equals(dimension) ? (LocalDate) value : null);
+        lenient().when(rs.getString("ville")).thenReturn("ville".equals(dimension) ? (String) value : null);
+        return rs;
+    }
+
+    private static PatientDTO dto(Long id, String groupeSanguin, GenreSexe genre, LocalDate dateNaissance, String adresse) {
+        return PatientDTO.builder()
+                .id(id).nom("Nom").prenom("Prénom")
+                .groupeSanguin(groupeSanguin).genre(genre).dateNaissance(dateNaissance).adresse(adresse)
+                .build();
+    }
+}